@@ -0,0 +1,165 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.frankframework.frankdoc.AttributeTypeStrategy;
+import org.frankframework.frankdoc.DocWriterNew;
+import org.frankframework.frankdoc.FrankDocElementSummaryFactory;
+import org.frankframework.frankdoc.FrankDocJsonFactory;
+import org.frankframework.frankdoc.Utils;
+import org.frankframework.frankdoc.XsdVersion;
+import org.frankframework.frankdoc.model.FrankDocModel;
+
+/**
+ * Measures the generators of the doclet output files. They all read the same {@link FrankDocModel},
+ * which is populated once per trial. The generators are configured like in the doclet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dlog4j.configurationFile=log4j2-benchmarks.xml"})
+@State(Scope.Benchmark)
+public class OutputBenchmark {
+	private static final String FRANK_FRAMEWORK_VERSION = "1.2.3-SNAPSHOT";
+
+	@Param({"10", "50"})
+	public int elementTypes;
+
+	@Param({"10", "60"})
+	public int elementsPerType;
+
+	@Param({"3"})
+	public int hierarchyDepth;
+
+	@Param({"6"})
+	public int attributesPerClass;
+
+	private FrankDocModel model;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		try(SyntheticFrankDoc input = new SyntheticFrankDoc(new SyntheticSourceTree(elementTypes, elementsPerType, hierarchyDepth, attributesPerClass))) {
+			model = input.populate(input.createRepository());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		model = null;
+	}
+
+	@Benchmark
+	public String strictXsd() {
+		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF, FRANK_FRAMEWORK_VERSION);
+		docWriter.init(XsdVersion.STRICT);
+		return docWriter.getSchema();
+	}
+
+	@Benchmark
+	public void strictXsdStreamed(Blackhole blackhole) throws IOException {
+		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF, FRANK_FRAMEWORK_VERSION);
+		docWriter.init(XsdVersion.STRICT);
+		docWriter.writeSchema(new BlackholeWriter(blackhole));
+	}
+
+	@Benchmark
+	public void strictXsdDeduplicated(Blackhole blackhole) throws IOException {
+		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF, FRANK_FRAMEWORK_VERSION);
+		docWriter.setDeduplicate(true);
+		docWriter.init(XsdVersion.STRICT);
+		docWriter.writeSchema(new BlackholeWriter(blackhole));
+	}
+
+	@Benchmark
+	public void strictXsdLean(Blackhole blackhole) throws IOException {
+		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF, FRANK_FRAMEWORK_VERSION);
+		docWriter.setLean(true);
+		docWriter.init(XsdVersion.STRICT);
+		docWriter.writeSchema(new BlackholeWriter(blackhole));
+	}
+
+	@Benchmark
+	public String compatibilityXsd() {
+		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE, FRANK_FRAMEWORK_VERSION);
+		docWriter.init(XsdVersion.COMPATIBILITY);
+		return docWriter.getSchema();
+	}
+
+	@Benchmark
+	public String jsonInMemory() {
+		FrankDocJsonFactory jsonFactory = new FrankDocJsonFactory(model, FRANK_FRAMEWORK_VERSION);
+		return Utils.jsonPretty(jsonFactory.getJson().toString());
+	}
+
+	@Benchmark
+	public void jsonStreamed(Blackhole blackhole) {
+		FrankDocJsonFactory jsonFactory = new FrankDocJsonFactory(model, FRANK_FRAMEWORK_VERSION);
+		jsonFactory.writeJson(new BlackholeWriter(blackhole));
+	}
+
+	@Benchmark
+	public String elementSummary() {
+		FrankDocElementSummaryFactory elementSummaryFactory = new FrankDocElementSummaryFactory(model);
+		return elementSummaryFactory.getText();
+	}
+
+	private static class BlackholeWriter extends Writer {
+		private final Blackhole blackhole;
+
+		BlackholeWriter(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			blackhole.consume(cbuf);
+		}
+
+		@Override
+		public void write(String str, int off, int len) {
+			blackhole.consume(str);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
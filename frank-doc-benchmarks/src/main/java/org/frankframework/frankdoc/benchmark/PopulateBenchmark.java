@@ -0,0 +1,92 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.wrapper.FrankClassRepository;
+
+/**
+ * Measures the creation of the {@link FrankClassRepository} and {@link FrankDocModel#populate(java.net.URL, String, FrankClassRepository)}.
+ * The {@link com.sun.javadoc.ClassDoc} objects are created once per trial, because parsing the sources
+ * is done by javadoc, not by the doclet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dlog4j.configurationFile=log4j2-benchmarks.xml"})
+@State(Scope.Benchmark)
+public class PopulateBenchmark {
+	@Param({"10", "50"})
+	public int elementTypes;
+
+	@Param({"10", "60"})
+	public int elementsPerType;
+
+	@Param({"3"})
+	public int hierarchyDepth;
+
+	@Param({"6"})
+	public int attributesPerClass;
+
+	private SyntheticFrankDoc input;
+	private FrankClassRepository repository;
+
+	@Setup(Level.Trial)
+	public void setUpInput() throws IOException {
+		input = new SyntheticFrankDoc(new SyntheticSourceTree(elementTypes, elementsPerType, hierarchyDepth, attributesPerClass));
+	}
+
+	// The wrapper classes cache information that is calculated by FrankDocModel.populate().
+	// Give every invocation a fresh repository so that these caches do not leak between invocations.
+	@Setup(Level.Invocation)
+	public void setUpRepository() {
+		repository = input.createRepository();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		input.close();
+	}
+
+	@Benchmark
+	public FrankClassRepository createRepository() {
+		return input.createRepository();
+	}
+
+	@Benchmark
+	public FrankDocModel populate() {
+		return input.populate(repository);
+	}
+}
@@ -0,0 +1,86 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import com.sun.javadoc.ClassDoc;
+
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.model.FrankElementFilters;
+import org.frankframework.frankdoc.testdoclet.EasyDoclet;
+import org.frankframework.frankdoc.wrapper.FrankClassRepository;
+
+import lombok.Getter;
+
+/**
+ * The input of the doclet for a {@link SyntheticSourceTree}: the {@link ClassDoc} array
+ * produced by {@link EasyDoclet} and the URL of the digester rules. Call {@link #close()}
+ * to remove the generated sources.
+ */
+class SyntheticFrankDoc implements AutoCloseable {
+	private final File sourceDirectory;
+	private final @Getter ClassDoc[] classes;
+	private final @Getter URL digesterRules;
+
+	SyntheticFrankDoc(SyntheticSourceTree tree) throws IOException {
+		sourceDirectory = Files.createTempDirectory("frank-doc-benchmark").toFile();
+		tree.writeTo(sourceDirectory);
+		digesterRules = new File(sourceDirectory, SyntheticSourceTree.DIGESTER_RULES_FILE_NAME).toURI().toURL();
+		classes = new EasyDoclet(sourceDirectory, new String[] {SyntheticSourceTree.ROOT_PACKAGE}).getRootDoc().classes();
+	}
+
+	/**
+	 * Creates the {@link FrankClassRepository} the same way as the doclet does.
+	 */
+	FrankClassRepository createRepository() {
+		return FrankClassRepository.getDocletInstance(
+				classes, FrankElementFilters.getIncludeFilter(), FrankElementFilters.getExcludeFilter(), FrankElementFilters.getExcludeFiltersForSuperclass());
+	}
+
+	FrankDocModel populate(FrankClassRepository repository) {
+		FrankDocModel model = FrankDocModel.populate(digesterRules, SyntheticSourceTree.ROOT_CLASS, repository);
+		if(model == null) {
+			throw new IllegalStateException("Could not populate FrankDocModel of synthetic source tree, see the log");
+		}
+		return model;
+	}
+
+	@Override
+	public void close() throws IOException {
+		Files.walkFileTree(sourceDirectory.toPath(), new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+}
@@ -0,0 +1,253 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Writes Java sources of a synthetic Frank!Framework to a directory, to be parsed by
+ * {@link org.frankframework.frankdoc.testdoclet.EasyDoclet}. The size of the produced
+ * {@link org.frankframework.frankdoc.model.FrankDocModel} scales with the number of element types
+ * and the number of elements per type, so that benchmarks can be run on trees of thousands of
+ * Frank elements.
+ *
+ * For every element type there is an interface annotated with {@code @FrankDocGroup}, a chain of
+ * abstract classes that contribute attributes and a number of concrete elements that implement the interface.
+ * Each concrete element has a config child of the next element type, which gives the same recursion
+ * as an adapter with pipes and senders. The root class is {@value #ROOT_CLASS}, because
+ * {@link org.frankframework.frankdoc.DocWriterNew} starts there.
+ */
+public class SyntheticSourceTree {
+	public static final String ROOT_CLASS = "nl.nn.adapterframework.configuration.Configuration";
+	public static final String ROOT_PACKAGE = "nl.nn.adapterframework";
+	public static final String DIGESTER_RULES_FILE_NAME = "synthetic-digester-rules.xml";
+
+	private static final String ELEMENT_PACKAGE = "nl.nn.adapterframework.synthetic";
+	private static final int NUM_GROUPS = 5;
+	private static final int NUM_ENUM_VALUES = 4;
+
+	private final int numElementTypes;
+	private final int elementsPerType;
+	private final int hierarchyDepth;
+	private final int attributesPerClass;
+
+	public SyntheticSourceTree(int numElementTypes, int elementsPerType, int hierarchyDepth, int attributesPerClass) {
+		if((numElementTypes < 1) || (elementsPerType < 1) || (hierarchyDepth < 1) || (attributesPerClass < 0)) {
+			throw new IllegalArgumentException(String.format("Invalid dimensions of synthetic source tree: types [%d], elements per type [%d], depth [%d], attributes [%d]",
+					numElementTypes, elementsPerType, hierarchyDepth, attributesPerClass));
+		}
+		this.numElementTypes = numElementTypes;
+		this.elementsPerType = elementsPerType;
+		this.hierarchyDepth = hierarchyDepth;
+		this.attributesPerClass = attributesPerClass;
+	}
+
+	/**
+	 * The number of concrete Frank elements, including the root element.
+	 */
+	public int getNumFrankElements() {
+		return numElementTypes * elementsPerType + 1;
+	}
+
+	/**
+	 * Writes the Java sources to sourceDirectory and the digester rules to file
+	 * {@value #DIGESTER_RULES_FILE_NAME} in that same directory.
+	 */
+	public void writeTo(File sourceDirectory) throws IOException {
+		writeRootClass(sourceDirectory);
+		for(int type = 0; type < numElementTypes; ++type) {
+			writeInterface(sourceDirectory, type);
+			writeEnum(sourceDirectory, type);
+			for(int level = 0; level < hierarchyDepth; ++level) {
+				writeAbstractClass(sourceDirectory, type, level);
+			}
+			for(int element = 0; element < elementsPerType; ++element) {
+				writeElement(sourceDirectory, type, element);
+			}
+		}
+		writeDigesterRules(new File(sourceDirectory, DIGESTER_RULES_FILE_NAME));
+	}
+
+	private void writeRootClass(File sourceDirectory) throws IOException {
+		StringBuilder b = new StringBuilder();
+		b.append("package nl.nn.adapterframework.configuration;\n\n");
+		for(int type = 0; type < numElementTypes; ++type) {
+			b.append("import ").append(typePackage(type)).append(".").append(interfaceName(type)).append(";\n");
+		}
+		b.append("\n/**\n * Root of the synthetic Frank!Framework.\n */\n");
+		b.append("public class Configuration {\n");
+		b.append("\t/** Name of the configuration. */\n");
+		b.append("\tpublic void setName(String value) {\n\t}\n\n");
+		for(int type = 0; type < numElementTypes; ++type) {
+			appendConfigChildSetter(b, type);
+		}
+		b.append("}\n");
+		write(sourceDirectory, "nl.nn.adapterframework.configuration", "Configuration", b);
+	}
+
+	private void writeInterface(File sourceDirectory, int type) throws IOException {
+		StringBuilder b = new StringBuilder();
+		b.append("package ").append(typePackage(type)).append(";\n\n");
+		b.append("import nl.nn.adapterframework.doc.FrankDocGroup;\n\n");
+		b.append("@FrankDocGroup(name = \"Group").append(type % NUM_GROUPS).append("\")\n");
+		b.append("public interface ").append(interfaceName(type)).append(" {\n}\n");
+		write(sourceDirectory, typePackage(type), interfaceName(type), b);
+	}
+
+	private void writeEnum(File sourceDirectory, int type) throws IOException {
+		StringBuilder b = new StringBuilder();
+		b.append("package ").append(typePackage(type)).append(";\n\n");
+		b.append("public enum ").append(enumName(type)).append(" {\n");
+		for(int value = 0; value < NUM_ENUM_VALUES; ++value) {
+			b.append("\t/** Description of value ").append(value).append(" */\n");
+			b.append("\tVALUE_").append(value).append(value == NUM_ENUM_VALUES - 1 ? ";\n" : ",\n");
+		}
+		b.append("}\n");
+		write(sourceDirectory, typePackage(type), enumName(type), b);
+	}
+
+	private void writeAbstractClass(File sourceDirectory, int type, int level) throws IOException {
+		StringBuilder b = new StringBuilder();
+		b.append("package ").append(typePackage(type)).append(";\n\n");
+		b.append("/**\n * Level ").append(level).append(" of the class hierarchy of element type ").append(type).append(".\n");
+		b.append(" * <p>\n * Provides the attributes that are shared by the elements of this level.\n * </p>\n */\n");
+		b.append("public abstract class ").append(abstractClassName(type, level));
+		if(level >= 1) {
+			b.append(" extends ").append(abstractClassName(type, level - 1));
+		}
+		b.append(" {\n");
+		if(level == 0) {
+			b.append("\t/**\n\t * Mode of operation\n\t * @ff.default VALUE_0\n\t */\n");
+			b.append("\tpublic void setMode(").append(enumName(type)).append(" value) {\n\t}\n\n");
+			b.append("\t/** Shared attribute that is overridden by each element */\n");
+			b.append("\tpublic void setOverriddenAttribute(String value) {\n\t}\n\n");
+		}
+		for(int attribute = 0; attribute < attributesPerClass; ++attribute) {
+			appendAttributeSetter(b, "Level" + level + "Attribute" + attribute, attribute);
+		}
+		b.append("}\n");
+		write(sourceDirectory, typePackage(type), abstractClassName(type, level), b);
+	}
+
+	private void writeElement(File sourceDirectory, int type, int element) throws IOException {
+		int childType = (type + 1) % numElementTypes;
+		StringBuilder b = new StringBuilder();
+		b.append("package ").append(typePackage(type)).append(";\n\n");
+		if(childType != type) {
+			b.append("import ").append(typePackage(childType)).append(".").append(interfaceName(childType)).append(";\n\n");
+		}
+		b.append("/**\n * Synthetic element ").append(element).append(" of element type ").append(type)
+			.append(", see {@link ").append(interfaceName(type)).append("}.\n");
+		if(element % 5 == 4) {
+			b.append(" * @deprecated Use another element.\n");
+		}
+		b.append(" */\n");
+		if(element % 5 == 4) {
+			b.append("@Deprecated\n");
+		}
+		b.append("public class ").append(elementName(type, element))
+			.append(" extends ").append(abstractClassName(type, hierarchyDepth - 1))
+			.append(" implements ").append(interfaceName(type)).append(" {\n");
+		b.append("\t/** Overrides the shared attribute */\n");
+		b.append("\t@Override\n");
+		b.append("\tpublic void setOverriddenAttribute(String value) {\n\t}\n\n");
+		for(int attribute = 0; attribute < attributesPerClass; ++attribute) {
+			appendAttributeSetter(b, "Own" + "Attribute" + attribute, attribute);
+		}
+		appendConfigChildSetter(b, childType);
+		b.append("}\n");
+		write(sourceDirectory, typePackage(type), elementName(type, element), b);
+	}
+
+	private void appendAttributeSetter(StringBuilder b, String attributeName, int attribute) {
+		b.append("\t/**\n\t * Description of attribute <code>").append(attributeName).append("</code>\n");
+		switch(attribute % 3) {
+		case 0:
+			b.append("\t * @ff.default default").append(attribute).append("\n\t */\n");
+			b.append("\tpublic void set").append(attributeName).append("(String value) {\n\t}\n\n");
+			break;
+		case 1:
+			b.append("\t * @ff.default ").append(attribute).append("\n\t */\n");
+			b.append("\tpublic void set").append(attributeName).append("(int value) {\n\t}\n\n");
+			break;
+		default:
+			b.append("\t * @ff.mandatory\n\t */\n");
+			b.append("\tpublic void set").append(attributeName).append("(boolean value) {\n\t}\n\n");
+			break;
+		}
+	}
+
+	private void appendConfigChildSetter(StringBuilder b, int childType) {
+		b.append("\t/** Config child of element type ").append(childType).append(" */\n");
+		b.append("\tpublic void ").append(registerMethodName(childType)).append("(").append(interfaceName(childType)).append(" child) {\n\t}\n\n");
+	}
+
+	private void writeDigesterRules(File file) throws IOException {
+		StringBuilder b = new StringBuilder();
+		b.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+		b.append("<digester-rules>\n");
+		for(int type = 0; type < numElementTypes; ++type) {
+			b.append("  <rule pattern=\"*/").append(roleName(type)).append("\" registerMethod=\"").append(registerMethodName(type)).append("\"/>\n");
+		}
+		b.append("</digester-rules>\n");
+		writeString(file, b);
+	}
+
+	private static void write(File sourceDirectory, String packageName, String simpleClassName, StringBuilder contents) throws IOException {
+		File packageDirectory = new File(sourceDirectory, packageName.replace('.', File.separatorChar));
+		packageDirectory.mkdirs();
+		writeString(new File(packageDirectory, simpleClassName + ".java"), contents);
+	}
+
+	private static void writeString(File file, StringBuilder contents) throws IOException {
+		try(Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			w.append(contents);
+		}
+	}
+
+	private static String typePackage(int type) {
+		return ELEMENT_PACKAGE + ".t" + type;
+	}
+
+	private static String interfaceName(int type) {
+		return "IType" + type;
+	}
+
+	private static String enumName(int type) {
+		return "Type" + type + "Mode";
+	}
+
+	private static String abstractClassName(int type, int level) {
+		return "AbstractType" + type + "Level" + level;
+	}
+
+	private static String elementName(int type, int element) {
+		return "Variant" + element + "Type" + type;
+	}
+
+	private static String roleName(int type) {
+		return "type" + type;
+	}
+
+	private static String registerMethodName(int type) {
+		return "registerType" + type;
+	}
+}
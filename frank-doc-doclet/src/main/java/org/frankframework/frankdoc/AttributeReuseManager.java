@@ -26,6 +26,11 @@ import java.util.stream.Collectors;
 import org.frankframework.frankdoc.model.FrankAttribute;
 import org.frankframework.frankdoc.util.XmlBuilder;
 
+/**
+ * Decides which {@link FrankAttribute}-s are defined once and referenced from their attribute groups. The decisions
+ * are made by the first {@link DocWriterNew} of an {@link XsdSchemaPlan} and reused by the other writers of the plan,
+ * see {@link XsdSchemaDecisions}.
+ */
 class AttributeReuseManager {
 	private static class AttributeReference {
 		FrankAttribute frankAttribute;
@@ -53,6 +58,14 @@ class AttributeReuseManager {
 	private List<Object> attributeSequence = new ArrayList<>();
 	private Map<String, ReferencedFrankAttributeNameGroup> groupedAttributeReferences = new HashMap<>();
 	private Set<FrankAttribute> definedReusableAttributes = new HashSet<>();
+	private final XsdSchemaDecisions decisions;
+	// Null if this manager has to classify the attributes itself
+	private final Set<FrankAttribute> reusedAttributes;
+
+	AttributeReuseManager(XsdSchemaDecisions decisions) {
+		this.decisions = decisions;
+		this.reusedAttributes = decisions.getReusedAttributes();
+	}
 
 	/**
 	 * Call this method when a FrankAttribute is encountered that should appear in an
@@ -62,7 +75,9 @@ class AttributeReuseManager {
 	void addAttribute(FrankAttribute frankAttribute, XmlBuilder xsdGroup, String xsdGroupName) {
 		AttributeReference attributeReference = new AttributeReference(frankAttribute, xsdGroup, xsdGroupName);
 		attributeSequence.add(attributeReference);
-		if(groupedAttributeReferences.containsKey(frankAttribute.getName())) {
+		if(reusedAttributes != null) {
+			attributeReference.reused = reusedAttributes.contains(frankAttribute);
+		} else if(groupedAttributeReferences.containsKey(frankAttribute.getName())) {
 			groupedAttributeReferences.get(frankAttribute.getName()).add(attributeReference);
 		} else {
 			groupedAttributeReferences.put(frankAttribute.getName(), new ReferencedFrankAttributeNameGroup(attributeReference));
@@ -82,12 +97,20 @@ class AttributeReuseManager {
 	 * Call this method to add all the attributes to the XSD.
 	 */
 	void buildAttributes(AttributeReuseManagerCallback callback) {
-		classifyAttributesToBuild();
+		if(reusedAttributes == null) {
+			classifyAttributesToBuild();
+		}
 		buildClassifiedAttributes(callback);
 	}
 
 	private void classifyAttributesToBuild() {
 		groupedAttributeReferences.values().stream().forEach(this::classifyAttributesHavingNameInCommon);
+		decisions.setReusedAttributes(attributeSequence.stream()
+				.filter(item -> item instanceof AttributeReference)
+				.map(item -> (AttributeReference) item)
+				.filter(item -> item.reused)
+				.map(item -> item.frankAttribute)
+				.collect(Collectors.toSet()));
 	}
 
 	private void classifyAttributesHavingNameInCommon(ReferencedFrankAttributeNameGroup nameGroup) {
@@ -0,0 +1,225 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.Logger;
+import org.frankframework.frankdoc.DocWriterNewXmlUtils.AttributeUse;
+import org.frankframework.frankdoc.cmd.ConfigIndex;
+import org.frankframework.frankdoc.cmd.ConfigIndex.Node;
+import org.frankframework.frankdoc.cmd.ConfigIndex.NodeKind;
+import org.frankframework.frankdoc.cmd.ConfigIndex.ValueType;
+import org.frankframework.frankdoc.model.AttributeEnum;
+import org.frankframework.frankdoc.model.ConfigChild;
+import org.frankframework.frankdoc.model.ConfigChildGroupKind;
+import org.frankframework.frankdoc.model.ConfigChildSet;
+import org.frankframework.frankdoc.model.ElementRole;
+import org.frankframework.frankdoc.model.EnumValue;
+import org.frankframework.frankdoc.model.FrankAttribute;
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.model.FrankElement;
+import org.frankframework.frankdoc.model.ObjectConfigChild;
+import org.frankframework.frankdoc.model.TextConfigChild;
+import org.frankframework.frankdoc.util.LogUtil;
+
+/**
+ * Creates the {@link ConfigIndex} of the XSD that {@link DocWriterNew} writes for the same {@link XsdVersion} and
+ * {@link AttributeTypeStrategy}. The XML element names of config children and element group options are chosen
+ * the same way as in {@link DocWriterNew}, and the model-derived facts come from the same {@link XsdSchemaPlan}.
+ */
+public class ConfigIndexFactory {
+	private static Logger log = LogUtil.getLogger(ConfigIndexFactory.class);
+
+	private static final String CLASS_NAME = "className";
+	private static final String ELEMENT_ROLE = "elementRole";
+
+	private final FrankDocModel model;
+	private final XsdSchemaPlan plan;
+	private final XsdVersion version;
+	private final AttributeTypeStrategy attributeTypeStrategy;
+
+	private ConfigIndex index;
+	private Node textNode;
+	private final Map<FrankElement, Node> elementNodes = new HashMap<>();
+	private final Map<Set<ElementRole.Key>, Node> genericNodes = new HashMap<>();
+	// Nodes are filled later, to avoid deep recursion
+	private final Deque<Runnable> nodesToFill = new ArrayDeque<>();
+
+	public ConfigIndexFactory(XsdSchemaPlan.Factory planFactory, XsdVersion version, AttributeTypeStrategy attributeTypeStrategy) {
+		this.model = planFactory.getModel();
+		this.plan = planFactory.get(version);
+		this.version = version;
+		this.attributeTypeStrategy = attributeTypeStrategy;
+	}
+
+	public ConfigIndex create() {
+		return create(model.getRootClassName());
+	}
+
+	ConfigIndex create(String startClassName) {
+		index = new ConfigIndex(attributeTypeStrategy == AttributeTypeStrategy.ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE);
+		textNode = index.addNode(NodeKind.TEXT, "text");
+		FrankElement startElement = model.findFrankElement(startClassName);
+		Node startNode = getElementNode(startElement, null);
+		index.addRoot(startElement.getSimpleName(), startNode);
+		if(version == XsdVersion.STRICT) {
+			// <Module> has the config children of <Configuration> and is also allowed as one of them
+			Node moduleNode = index.addNode(NodeKind.ELEMENT, Constants.MODULE_ELEMENT_NAME);
+			index.addRoot(Constants.MODULE_ELEMENT_NAME, moduleNode);
+			startNode.addChild(Constants.MODULE_ELEMENT_NAME, moduleNode);
+			nodesToFill.add(() -> addConfigChildren(moduleNode, startElement, false));
+		}
+		while(! nodesToFill.isEmpty()) {
+			nodesToFill.poll().run();
+		}
+		log.trace("Created config index with [{}] nodes", index.getNumNodes());
+		return index;
+	}
+
+	private Node getElementNode(FrankElement frankElement, ElementRole role) {
+		Node result = elementNodes.get(frankElement);
+		if(result == null) {
+			result = index.addNode(NodeKind.ELEMENT, frankElement.getFullName());
+			elementNodes.put(frankElement, result);
+			final Node node = result;
+			nodesToFill.add(() -> fillElementNode(node, frankElement, role));
+		}
+		return result;
+	}
+
+	private void fillElementNode(Node node, FrankElement frankElement, ElementRole role) {
+		for(FrankAttribute attribute: plan.getCumulativeAttributes(frankElement)) {
+			node.addAttribute(createAttribute(attribute));
+		}
+		if((role != null) && (version.getRoleNameAttributeUse() != AttributeUse.PROHIBITED)) {
+			node.addAttribute(new ConfigIndex.Attribute(ELEMENT_ROLE, ValueType.STRING, false, null));
+		}
+		if(version.getClassNameAttributeUse(frankElement) != AttributeUse.PROHIBITED) {
+			node.addAttribute(new ConfigIndex.Attribute(CLASS_NAME, ValueType.STRING, false, null));
+		}
+		addConfigChildren(node, frankElement, ! plan.hasOrInheritsPluralConfigChildren(frankElement));
+	}
+
+	private ConfigIndex.Attribute createAttribute(FrankAttribute attribute) {
+		AttributeEnum attributeEnum = attribute.getAttributeEnum();
+		List<String> enumValues = null;
+		if(attributeEnum != null) {
+			// Like AttributeTypeStrategy: the case-sensitive strategy omits the deprecated enum values
+			enumValues = attributeEnum.getValues().stream()
+					.filter(v -> index.isEnumValuesIgnoreCase() || ! v.isDeprecated())
+					.map(EnumValue::getLabel)
+					.collect(Collectors.toList());
+		}
+		return new ConfigIndex.Attribute(attribute.getName(), ValueType.valueOf(attribute.getAttributeType().name()), version.childIsMandatory(attribute), enumValues);
+	}
+
+	// With plural config children, the children are in a choice and none of them is mandatory
+	private void addConfigChildren(Node node, FrankElement frankElement, boolean withMandatoryChildren) {
+		for(ConfigChild child: plan.getCumulativeConfigChildren(frankElement)) {
+			List<String> elementNames = addConfigChild(node, child);
+			if(withMandatoryChildren && version.childIsMandatory(child) && ! elementNames.isEmpty()) {
+				node.addMandatoryChild(elementNames);
+			}
+		}
+	}
+
+	// Returns the XML element names that the config child allows
+	private List<String> addConfigChild(Node node, ConfigChild child) {
+		if(child instanceof TextConfigChild) {
+			String elementName = Utils.toUpperCamelCase(child.getRoleName());
+			node.addChild(elementName, textNode);
+			return Collections.singletonList(elementName);
+		}
+		ElementRole role = model.findElementRole((ObjectConfigChild) child);
+		if(! role.getElementType().isFromJavaInterface()) {
+			return addSingleElement(node, role);
+		}
+		ConfigChildSet configChildSet = child.getOwningElement().getConfigChildSet(child.getRoleName());
+		return addElementGroup(node, plan.getFilteredElementRoles(configChildSet), plan.getGenericElementOptionDefault(configChildSet));
+	}
+
+	private List<String> addSingleElement(Node node, ElementRole role) {
+		if(role.getMembers().isEmpty()) {
+			return Collections.emptyList();
+		}
+		FrankElement elementInType = role.getMembers().get(0);
+		String elementName = elementInType.getXsdElementName(role);
+		node.addChild(elementName, getElementNode(elementInType, role));
+		return Collections.singletonList(elementName);
+	}
+
+	// The generic element option and the options of the roles, like DocWriterNew.requestElementGroup()
+	private List<String> addElementGroup(Node node, List<ElementRole> roles, Optional<String> genericElementOptionDefault) {
+		List<String> result = new ArrayList<>();
+		String genericElementName = Utils.toUpperCamelCase(ElementGroupManager.getRoleName(roles));
+		node.addChild(genericElementName, getGenericNode(roles, genericElementOptionDefault));
+		result.add(genericElementName);
+		for(ElementRole role: roles) {
+			if(! role.getElementType().isFromJavaInterface()) {
+				continue;
+			}
+			for(FrankElement frankElement: plan.getElementGroupBaseMembers(role)) {
+				String elementName = frankElement.getXsdElementName(role);
+				node.addChild(elementName, getElementNode(frankElement, role));
+				result.add(elementName);
+			}
+		}
+		return result;
+	}
+
+	private Node getGenericNode(List<ElementRole> roles, Optional<String> genericElementOptionDefault) {
+		Set<ElementRole.Key> key = ConfigChildSet.getKey(roles);
+		Node result = genericNodes.get(key);
+		if(result == null) {
+			result = index.addNode(NodeKind.GENERIC, ElementGroupManager.getRoleName(roles));
+			genericNodes.put(key, result);
+			// The first config child set that needs the generic element option determines the default, like in DocWriterNew
+			result.addAttribute(new ConfigIndex.Attribute(CLASS_NAME, ValueType.STRING, ! genericElementOptionDefault.isPresent(), null));
+			final Node node = result;
+			nodesToFill.add(() -> fillGenericNode(node, roles));
+		}
+		return result;
+	}
+
+	// Like DocWriterNew.fillGenericOption()
+	private void fillGenericNode(Node node, List<ElementRole> roles) {
+		Map<String, List<ConfigChild>> memberChildrenByRoleName = plan.getMemberChildren(roles);
+		for(List<ConfigChild> configChildren: memberChildrenByRoleName.values()) {
+			String roleName = configChildren.get(0).getRoleName();
+			if(ConfigChildGroupKind.groupKind(configChildren) == ConfigChildGroupKind.TEXT) {
+				node.addChild(Utils.toUpperCamelCase(roleName), textNode);
+				continue;
+			}
+			List<ElementRole> childRoles = ElementRole.promoteIfConflict(ConfigChild.getElementRoleStream(configChildren).collect(Collectors.toList()));
+			if((childRoles.size() == 1) && ! childRoles.get(0).getElementType().isFromJavaInterface()) {
+				addSingleElement(node, childRoles.get(0));
+			} else {
+				addElementGroup(node, childRoles, Optional.empty());
+			}
+		}
+	}
+}
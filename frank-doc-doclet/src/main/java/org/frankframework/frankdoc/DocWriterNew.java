@@ -37,6 +37,12 @@ import static org.frankframework.frankdoc.DocWriterNewXmlUtils.AttributeUse.REQU
 import static org.frankframework.frankdoc.DocWriterNewXmlUtils.AttributeValueStatus.DEFAULT;
 import static org.frankframework.frankdoc.DocWriterNewXmlUtils.AttributeValueStatus.FIXED;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,6 +71,11 @@ import org.frankframework.frankdoc.model.ObjectConfigChild;
 import org.frankframework.frankdoc.model.TextConfigChild;
 import org.frankframework.frankdoc.util.LogUtil;
 import org.frankframework.frankdoc.util.XmlBuilder;
+import org.frankframework.frankdoc.util.XmlDocumentWriter;
+import org.frankframework.frankdoc.util.XsdAnnotationRemover;
+import org.frankframework.frankdoc.util.XsdDeduplicator;
+
+import lombok.Setter;
 
 /**
  * This class writes the XML schema document (XSD) that checks the validity of a
@@ -151,10 +162,12 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 	static final String ATTRIBUTE_VALUES_TYPE = "AttributeValuesType";
 	static final String VARIABLE_REFERENCE = "variableRef";
 
+	private final XsdSchemaPlan.Factory planFactory;
 	private FrankDocModel model;
 	private String startClassName;
 	private XsdVersion version;
-	private final AttributeReuseManager attributeReuseManager = new AttributeReuseManager();
+	private XsdSchemaPlan plan;
+	private AttributeReuseManager attributeReuseManager;
 	private List<XmlBuilder> xsdElements = new ArrayList<>();
 	private List<XmlBuilder> xsdComplexItems = new ArrayList<>();
 	private List<XmlBuilder> xsdReusedAttributes = new ArrayList<>();
@@ -164,9 +177,23 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 	private Set<String> definedAttributeEnumInstances = new HashSet<>();
 	private AttributeTypeStrategy attributeTypeStrategy;
 	private final String frankFrameworkVersion;
+	// When true, structurally identical types and groups are merged, see XsdDeduplicator.
+	private @Setter boolean deduplicate = false;
+	// When true, the XSD has no documentation and no indentation, see writeOmittedDocumentation().
+	private @Setter boolean lean = false;
+	private final OmittedDocumentation omittedDocumentation = new OmittedDocumentation();
 
 	public DocWriterNew(FrankDocModel model, AttributeTypeStrategy attributeTypeStrategy, String frankFrameworkVersion) {
-		this.model = model;
+		this(new XsdSchemaPlan.Factory(model), attributeTypeStrategy, frankFrameworkVersion);
+	}
+
+	/**
+	 * Writers that get the same {@link XsdSchemaPlan.Factory} share the {@link XsdSchemaPlan} of their {@link XsdVersion},
+	 * including the element group names and the attribute reuse decisions of the plan.
+	 */
+	public DocWriterNew(XsdSchemaPlan.Factory planFactory, AttributeTypeStrategy attributeTypeStrategy, String frankFrameworkVersion) {
+		this.planFactory = planFactory;
+		this.model = planFactory.getModel();
 		this.attributeTypeStrategy = attributeTypeStrategy;
 		this.frankFrameworkVersion = frankFrameworkVersion;
 	}
@@ -175,17 +202,76 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 		init(CONFIGURATION, version);
 	}
 
+	/**
+	 * Only list the elements of the {@link org.frankframework.frankdoc.model.FrankDocGroup}-s with the given names
+	 * in the element groups, see {@link XsdSchemaPlan}.
+	 */
+	public void init(XsdVersion version, Set<String> groupNames) {
+		init(CONFIGURATION, version, groupNames);
+	}
+
 	void init(String startClassName, XsdVersion version) {
+		init(startClassName, version, null);
+	}
+
+	void init(String startClassName, XsdVersion version, Set<String> groupNames) {
 		this.startClassName = startClassName;
 		this.version = version;
 		log.trace("Initialized DocWriterNew with start element name [{}], version [{}] and output file [{}]",
 				() -> startClassName, () -> version.toString(), () -> outputFileNames.get(version));
-		elementGroupManager = new ElementGroupManager(version.getChildSelector(), version.getChildRejector());
+		plan = planFactory.get(version, groupNames);
+		XsdSchemaDecisions decisions = plan.getDecisions(startClassName);
+		elementGroupManager = new ElementGroupManager(plan, decisions);
+		attributeReuseManager = new AttributeReuseManager(decisions);
 	}
 
 	public String getSchema() {
 		XmlBuilder xsdRoot = getXmlSchema(frankFrameworkVersion);
 		log.trace("Going to create XmlBuilder objects that will be added to the schema root builder afterwards");
+		List<XmlBuilder> components = createSchemaComponents();
+		log.trace("Have the XmlBuilder objects. Going to add them in the right order to the schema root builder");
+		components.forEach(xsdRoot::addSubElement);
+		log.trace("Populating schema root builder is done. Going to create the XML string to return");
+		return xsdRoot.toXML(true, ! lean);
+	}
+
+	/**
+	 * Writes the same text as {@link #getSchema()} to a {@link Writer}. The schema is not held
+	 * in memory as one String, and the XML components below the schema root are serialized one by one.
+	 */
+	public void writeSchema(Writer out) throws IOException {
+		log.trace("Going to create XmlBuilder objects that will be written below the schema root");
+		List<XmlBuilder> components = createSchemaComponents();
+		log.trace("Have the XmlBuilder objects. Going to write them in the right order");
+		XmlDocumentWriter documentWriter = new XmlDocumentWriter(out, ! lean);
+		documentWriter.startDocument(getXmlSchema(frankFrameworkVersion));
+		for(XmlBuilder component: components) {
+			documentWriter.writeChild(component);
+		}
+		documentWriter.endDocument();
+		log.trace("Done writing schema");
+	}
+
+	/**
+	 * Same as {@link #writeSchema(Writer)}, writing the schema with UTF-8 encoding.
+	 * The {@link OutputStream} is not closed.
+	 */
+	public void writeSchema(OutputStream out) throws IOException {
+		Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writeSchema(w);
+		w.flush();
+	}
+
+	/**
+	 * Writes the documentation that a lean XSD omits as a JSON object, available after the XSD is created.
+	 * The keys are explained in {@link OmittedDocumentation}. The {@link Writer} is closed.
+	 */
+	public void writeOmittedDocumentation(Writer out) {
+		omittedDocumentation.write(out);
+	}
+
+	// Returns the XmlBuilder objects that appear below the schema root, in document order.
+	private List<XmlBuilder> createSchemaComponents() {
 		FrankElement startElement = model.findFrankElement(startClassName);
 		defineElements(startElement);
 		// This call is needed to address generic element option recursion as
@@ -196,14 +282,20 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 		log.trace("Creating the attributes");
 		attributeReuseManager.buildAttributes(this);
 		log.trace("Creating helper types");
-		List<XmlBuilder> xsdHelperTypes = attributeTypeStrategy.createHelperTypes();
-		log.trace("Have the XmlBuilder objects. Going to add them in the right order to the schema root builder");
-		xsdElements.forEach(xsdRoot::addSubElement);
-		xsdComplexItems.forEach(xsdRoot::addSubElement);
-		xsdReusedAttributes.forEach(xsdRoot::addSubElement);
-		xsdHelperTypes.forEach(xsdRoot::addSubElement);
-		log.trace("Populating schema root builder is done. Going to create the XML string to return");
-		return xsdRoot.toXML(true);
+		List<XmlBuilder> result = new ArrayList<>();
+		result.addAll(xsdElements);
+		result.addAll(xsdComplexItems);
+		result.addAll(xsdReusedAttributes);
+		result.addAll(attributeTypeStrategy.createHelperTypes());
+		if(lean) {
+			log.trace("Removing the documentation");
+			XsdAnnotationRemover.removeAnnotations(result);
+		}
+		if(deduplicate) {
+			log.trace("Merging structurally identical types and groups");
+			result = XsdDeduplicator.deduplicate(result);
+		}
+		return result;
 	}
 
 	// Starts the recursion to generate all XML element definitions.
@@ -264,11 +356,11 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 		// ancestors with config children. Or even take a declared/cumulative group of an ancestor
 		// if <Configuration> itself has no config children. These do not apply in practice, so
 		// implementing this has not a high priority.
-		if(frankElement.getCumulativeConfigChildren(version.getChildSelector(), version.getChildRejector()).isEmpty()) {
+		if(plan.getCumulativeConfigChildren(frankElement).isEmpty()) {
 			// This will not happen in production, but we have integration tests in which config children are not relevant.
 			return null;
 		}
-		if(frankElement.hasOrInheritsPluralConfigChildren(version.getChildSelector(), version.getChildRejector())) {
+		if(plan.hasOrInheritsPluralConfigChildren(frankElement)) {
 			return xsdPluralGroupNameForChildren(frankElement);
 		} else {
 			return xsdDeclaredGroupNameForChildren(frankElement);			
@@ -301,7 +393,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 		xsdElements.add(complexType);
 		addDocumentationFrom(complexType, frankElement);
 		log.trace("Adding cumulative config chidren of FrankElement [{}] to XSD type [{}]", () -> frankElement.getFullName(), () -> xsdElementTypeName);
-		if(frankElement.hasOrInheritsPluralConfigChildren(version.getChildSelector(), version.getChildRejector())) {
+		if(plan.hasOrInheritsPluralConfigChildren(frankElement)) {
 			log.trace("FrankElement [{}] has plural config children", () -> frankElement.getFullName());
 			// Within <xs:sequence><xs:choice> group, we cannot enforce that mandatory config children are
 			// included. We also do not check there that non-plural config children occur at most once.
@@ -317,7 +409,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 			}
 		} else {
 			log.trace("FrankElement [{}] does not have plural config children", () -> frankElement.getFullName());
-			List<ConfigChild> cumulativeConfigChildren = frankElement.getCumulativeConfigChildren(version.getChildSelector(), version.getChildRejector());
+			List<ConfigChild> cumulativeConfigChildren = plan.getCumulativeConfigChildren(frankElement);
 			if(cumulativeConfigChildren.isEmpty()) {
 				log.trace("There are no config children, not adding <sequence><choice>");
 			} else {
@@ -327,7 +419,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 			}
 		}
 		log.trace("Adding cumulative attributes of FrankElement [{}] to XSD element type [{}]", () -> frankElement.getFullName(), () -> xsdElementTypeName);
-		addAttributeList(complexType, frankElement.getCumulativeAttributes(version.getChildSelector(), version.getChildRejector()), xsdElementTypeName);
+		addAttributeList(complexType, plan.getCumulativeAttributes(frankElement), xsdElementTypeName);
 		log.trace("Adding attribute className for FrankElement [{}]", () -> frankElement.getFullName());
 		XmlBuilder classNameAttribute = DocWriterNewXmlUtils.createAttribute(CLASS_NAME, FIXED, frankElement.getFullName(), version.getClassNameAttributeUse(frankElement));
 		attributeReuseManager.addAttribute(classNameAttribute, complexType);
@@ -361,8 +453,8 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 				attributeReuseManager.addAttribute(anyOther, elementBuildingStrategy.getElementTypeBuilder());
 			}
 			log.trace("Creating reusable type definitions (or only groups) for Java ancestors of FrankElement [{}]", () -> frankElement.getFullName());
-			recursivelyDefineReusableFrankElementType(frankElement.getNextAncestorThatHasOrRejectsConfigChildren(version.getChildSelector(), version.getChildRejector()));
-			recursivelyDefineReusableFrankElementType(frankElement.getNextAncestorThatHasOrRejectsAttributes(version.getChildSelector(), version.getChildRejector()));
+			recursivelyDefineReusableFrankElementType(plan.getNextAncestorThatHasOrRejectsConfigChildren(frankElement));
+			recursivelyDefineReusableFrankElementType(plan.getNextAncestorThatHasOrRejectsAttributes(frankElement));
 			log.trace("Done with reusable XSD type definitions for ancestors of FrankElement [{}]", () -> frankElement.getFullName());
 		} else {
 			log.trace("Reusable type definition was already included");
@@ -502,7 +594,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 	}
 
 	private void addConfigChildren(ElementBuildingStrategy elementBuildingStrategy, FrankElement frankElement) {
-		if(frankElement.hasOrInheritsPluralConfigChildren(version.getChildSelector(), version.getChildRejector())) {
+		if(plan.hasOrInheritsPluralConfigChildren(frankElement)) {
 			addConfigChildrenWithPluralConfigChildSets(elementBuildingStrategy, frankElement);
 		} else {
 			addConfigChildrenNoPluralConfigChildSets(elementBuildingStrategy, frankElement);
@@ -544,7 +636,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 				XmlBuilder sequence = addSequence(group);
 				// Adds <Module> as a child of <Configuration>
 				addReferencedEntityRootChildIfApplicable(sequence, frankElement);
-				frankElement.getConfigChildren(version.getChildSelector()).forEach(c -> addConfigChild(sequence, c));
+				plan.getDeclaredConfigChildren(frankElement).forEach(c -> addConfigChild(sequence, c));
 				log.trace("Done creating XSD group [{}] on behalf of FrankElement [{}]", () -> groupName, () -> frankElement.getFullName());
 			}
 
@@ -664,7 +756,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 		if(log.isTraceEnabled()) {
 			ThreadContext.push(String.format("Owning element [%s], ConfigChildSet [%s]", child.getOwningElement().getSimpleName(), configChildSet.toString()));
 		}
-		List<ElementRole> roles = configChildSet.getFilteredElementRoles(version.getChildSelector(), version.getChildRejector());
+		List<ElementRole> roles = plan.getFilteredElementRoles(configChildSet);
 		requestElementGroupForConfigChildSet(configChildSet, roles);
 		if(log.isTraceEnabled()) {
 			ThreadContext.pop();
@@ -727,11 +819,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 		XmlBuilder group = createGroup(role.createXsdElementName(ELEMENT_GROUP_BASE));
 		xsdComplexItems.add(group);
 		XmlBuilder choice = addChoice(group);
-		List<FrankElement> frankElementOptions = role.getMembers().stream()
-				.filter(version.getElementFilter())
-				.filter(f -> (f != role.getDefaultElementOptionConflict()))
-				.collect(Collectors.toList());
-		for(FrankElement frankElement: frankElementOptions) {
+		for(FrankElement frankElement: plan.getElementGroupBaseMembers(role)) {
 			log.trace("Append ElementGroup with FrankElement [{}]", () -> frankElement.getFullName());
 			addElementToElementGroup(choice, frankElement, role);
 		}		
@@ -765,6 +853,9 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 			String elementDescription = frankElement.getDescription();
 			if(! StringUtils.isBlank(elementDescription)) {
 				addDocumentation(element, elementDescription);
+				if(lean) {
+					omittedDocumentation.addElement(frankElement, elementDescription);
+				}
 			}
 		}
 	}
@@ -795,7 +886,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 		log.trace("Adding attribute [{}] to generic element option", ELEMENT_ROLE);
 		XmlBuilder attributeElementRole = DocWriterNewXmlUtils.createAttribute(ELEMENT_ROLE, FIXED, configChildSet.getRoleName(), version.getRoleNameAttributeUse());
 		attributeReuseManager.addAttribute(attributeElementRole, complexType);
-		Optional<String> defaultFrankElementName = configChildSet.getGenericElementOptionDefault(version.getElementFilter());
+		Optional<String> defaultFrankElementName = plan.getGenericElementOptionDefault(configChildSet);
 		XmlBuilder attributeClassName = null;
 		if(defaultFrankElementName.isPresent()) {
 			log.trace("Adding attribute [{}] with default [{}]", () -> CLASS_NAME, () -> defaultFrankElementName.get());
@@ -831,8 +922,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 	}
 
 	private void fillGenericOption(XmlBuilder context, List<ElementRole> parents) {
-		Map<String, List<ConfigChild>> memberChildrenByRoleName = ConfigChildSet.getMemberChildren(
-				parents, version.getChildSelector(), version.getChildRejector(), version.getElementFilter());
+		Map<String, List<ConfigChild>> memberChildrenByRoleName = plan.getMemberChildren(parents);
 		List<String> names = new ArrayList<>(memberChildrenByRoleName.keySet());
 		Collections.sort(names);
 		XmlBuilder choice = null;
@@ -917,8 +1007,8 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 
 	void addConfigChildrenWithPluralConfigChildSets(ElementBuildingStrategy elementBuildingStrategy, FrankElement frankElement) {
 		log.trace("Applying algorithm for plural config children for FrankElement [{}]", () -> frankElement.getFullName());
-		if(! frankElement.hasFilledConfigChildSets(version.getChildSelector(), version.getChildRejector())) {
-			FrankElement ancestor = frankElement.getNextPluralConfigChildrenAncestor(version.getChildSelector(), version.getChildRejector());
+		if(! plan.hasFilledConfigChildSets(frankElement)) {
+			FrankElement ancestor = plan.getNextPluralConfigChildrenAncestor(frankElement);
 			log.trace("No config children, inheriting from [{}]", () -> ancestor.getFullName());
 			elementBuildingStrategy.addThePluralConfigChildGroup(xsdPluralGroupNameForChildren(ancestor));
 		} else {
@@ -971,7 +1061,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 	}
 
 	private void addPluralObjectConfigChild(XmlBuilder choice, ConfigChildSet configChildSet) {
-		List<ElementRole> roles = configChildSet.getFilteredElementRoles(version.getChildSelector(), version.getChildRejector());		
+		List<ElementRole> roles = plan.getFilteredElementRoles(configChildSet);		
 		if((roles.size() == 1) && isNoElementTypeNeeded(roles.get(0))) {
 			log.trace("Config child set appears as element reference");
 			addElementRoleAsElement(choice, roles.get(0));
@@ -1033,7 +1123,7 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 				log.trace("Creating XSD group [{}]", groupName);
 				XmlBuilder attributeGroup = createAttributeGroup(groupName);
 				xsdComplexItems.add(attributeGroup);
-				addAttributeList(attributeGroup, frankElement.getAttributes(version.getChildSelector()), groupName);
+				addAttributeList(attributeGroup, plan.getDeclaredAttributes(frankElement), groupName);
 				log.trace("Done creating XSD group [{}] on behalf of FrankElement [{}]", () -> groupName, () -> frankElement.getFullName());
 				return attributeGroup;
 			}
@@ -1135,7 +1225,11 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 	private void documentAttributeIfNeeded(FrankAttribute frankAttribute, XmlBuilder attributeBuilder) {
 		if(needsDocumentation(frankAttribute)) {
 			log.trace("Attribute has documentation");
-			addDocumentation(attributeBuilder, getDocumentationText(frankAttribute));
+			String documentationText = getDocumentationText(frankAttribute);
+			addDocumentation(attributeBuilder, documentationText);
+			if(lean) {
+				omittedDocumentation.addAttribute(frankAttribute, documentationText);
+			}
 		}
 	}
 
@@ -1146,6 +1240,9 @@ public class DocWriterNew implements AttributeReuseManagerCallback {
 			log.trace("Defining type for the values of enum [{}]", attributeEnum.getFullName());
 			definedAttributeEnumInstances.add(attributeEnum.getFullName());
 			xsdComplexItems.add(attributeTypeStrategy.createAttributeEnumType(attributeEnum));
+			if(lean) {
+				omittedDocumentation.addEnum(attributeEnum);
+			}
 		}
 		return result;
 	}
@@ -16,80 +16,55 @@ limitations under the License.
 package org.frankframework.frankdoc;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import org.frankframework.frankdoc.model.ConfigChildSet;
-import org.frankframework.frankdoc.model.ElementChild;
 import org.frankframework.frankdoc.model.ElementRole;
 import org.frankframework.frankdoc.model.ElementRole.Key;
 import org.frankframework.frankdoc.util.XmlBuilder;
 
+/**
+ * Remembers the element groups that one {@link DocWriterNew} has written. The names of the groups are shared by
+ * all writers of the same {@link XsdSchemaPlan}, see {@link XsdSchemaDecisions}.
+ */
 class ElementGroupManager {
-	private static final String ELEMENT_GROUP = "ElementGroup";
-
-	private final Map<Set<ElementRole.Key>, Integer> genericGroupKeyToSeq = new HashMap<>();
+	private final Set<Set<ElementRole.Key>> createdGroups = new HashSet<>();
 	private final Map<Set<ElementRole.Key>, GenericOptionAttributeTask> genericOptionAttributeTasks = new LinkedHashMap<>();
-	private final Predicate<ElementChild> childSelector;
-	private final Predicate<ElementChild> childRejector;
+	private final XsdSchemaPlan plan;
+	private final XsdSchemaDecisions decisions;
 
-	ElementGroupManager(Predicate<ElementChild> childSelector, Predicate<ElementChild> childRejector) {
-		this.childSelector = childSelector;
-		this.childRejector = childRejector;
+	ElementGroupManager(XsdSchemaPlan plan, XsdSchemaDecisions decisions) {
+		this.plan = plan;
+		this.decisions = decisions;
 	}
 
 	boolean groupExists(Set<ElementRole.Key> key) {
-		return genericGroupKeyToSeq.containsKey(key);
+		return createdGroups.contains(key);
 	}
 
 	private Set<Key> keyOf(ConfigChildSet configChildSet) {
-		return ConfigChildSet.getKey(configChildSet.getFilteredElementRoles(childSelector, childRejector));
+		return ConfigChildSet.getKey(plan.getFilteredElementRoles(configChildSet));
 	}
 
 	String addGroup(Set<ElementRole.Key> key) {
-		String roleName = getRoleName(key);
-		List<Set<ElementRole.Key>> shared = genericGroupKeyToSeq.keySet().stream()
-				.filter(rs -> getRoleName(rs).equals(roleName))
-				.collect(Collectors.toList());
-		int seq = shared.stream().map(genericGroupKeyToSeq::get).collect(Collectors.maxBy(Integer::compare)).orElse(0) + 1;
-		genericGroupKeyToSeq.put(key, seq);
-		return getGroupName(key, roleName);
+		createdGroups.add(key);
+		return decisions.getOrAddElementGroupName(key);
 	}
 
 	static String getRoleName(List<ElementRole> roles) {
 		return roles.get(0).getRoleName();
 	}
 
-	private String getRoleName(Set<ElementRole.Key> key) {
-		return key.iterator().next().getRoleName();
-	}
-
 	String getGroupName(Set<ElementRole.Key> key) {
-		String roleName = getRoleName(key);
-		return getGroupName(key, roleName);
+		return decisions.getElementGroupName(key);
 	}
 
 	String getGroupName(List<ElementRole> roles) {
-		Set<ElementRole.Key> key = ConfigChildSet.getKey(roles);
-		String roleName = roles.iterator().next().getRoleName();
-		return getGroupName(key, roleName);
-	}
-
-	private String getGroupName(Set<ElementRole.Key> key, String roleName) {
-		return Utils.toUpperCamelCase(roleName) + ELEMENT_GROUP + disambiguation(genericGroupKeyToSeq.get(key));
-	}
-
-	static String disambiguation(int seq) {
-		String result = "";
-		if(seq != 1) {
-			result = String.format("_%d", seq);
-		}
-		return result;
+		return getGroupName(ConfigChildSet.getKey(roles));
 	}
 
 	void addGenericOptionAttributeTask(List<ElementRole> roles, XmlBuilder builder) {
@@ -16,20 +16,29 @@ limitations under the License.
 
 package org.frankframework.frankdoc;
 
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.json.Json;
-import javax.json.JsonArray;
-import javax.json.JsonArrayBuilder;
-import javax.json.JsonBuilderFactory;
 import javax.json.JsonException;
 import javax.json.JsonObject;
-import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.stream.JsonGenerator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
@@ -49,127 +58,299 @@ import org.frankframework.frankdoc.model.ObjectConfigChild;
 import org.frankframework.frankdoc.model.ParsedJavaDocTag;
 import org.frankframework.frankdoc.util.LogUtil;
 
+import lombok.Setter;
+
 public class FrankDocJsonFactory {
 	private static Logger log = LogUtil.getLogger(FrankDocJsonFactory.class);
 
 	private static final String DESCRIPTION = "description";
+	private static final String ATTRIBUTE_ACTIVE = "active";
 
 	private FrankDocModel model;
-	private JsonBuilderFactory bf;
 	List<FrankElement> elementsOutsideChildren;
 	private final String frankFrameworkVersion;
+	// When true, each element tells which items it inherits, so the webapp does not have to work that out
+	private @Setter boolean includeInheritance = false;
+	// Calculated when sharded JSON output is requested
+	private Map<FrankElement, String> shardOfElement;
 
 	public FrankDocJsonFactory(FrankDocModel model, String frankFrameworkVersion) {
 		this.model = model;
 		elementsOutsideChildren = new ArrayList<>(model.getElementsOutsideConfigChildren());
-		bf = Json.createBuilderFactory(null);
 		this.frankFrameworkVersion = frankFrameworkVersion;
 	}
 
+	/**
+	 * Get the JSON document as one object. The document is generated as text and parsed again, so this is only
+	 * meant for tests. Use {@link #writeJson(Writer)} to write it to a file.
+	 */
 	public JsonObject getJson() {
 		try {
-			JsonObjectBuilder result = bf.createObjectBuilder();
-			// If the Frank!Framework version is null, the error is logged elsewhere.
-			if(frankFrameworkVersion != null) {
-				result.add("metadata", getMetadata());
+			StringWriter writer = new StringWriter();
+			try(JsonGenerator generator = Json.createGenerator(writer)) {
+				writeJson(generator);
+			}
+			try(JsonReader reader = Json.createReader(new StringReader(writer.toString()))) {
+				return reader.readObject();
 			}
-			result.add("groups", getGroups());
-			result.add("types", getTypes());
-			result.add("elements", getElements());
-			result.add("enums", getEnums());
-			getLabels().ifPresent(l -> result.add("labels", l));
-			return result.build();
 		} catch(JsonException e) {
 			log.error("Error producing JSON", e);
 			return null;
 		}
 	}
 
-	private JsonObject getMetadata() {
-		JsonObjectBuilder metadata = bf.createObjectBuilder();
-		metadata.add("version", frankFrameworkVersion);
-		return metadata.build();
+	/**
+	 * Write the JSON document pretty printed, without building it in memory first. The writer is closed afterwards.
+	 */
+	public void writeJson(Writer writer) throws JsonException {
+		try(JsonGenerator generator = createPrettyGenerator(writer)) {
+			writeJson(generator);
+		}
+	}
+
+	private static JsonGenerator createPrettyGenerator(Writer writer) {
+		Map<String, Object> properties = new HashMap<>(1);
+		properties.put(JsonGenerator.PRETTY_PRINTING, true);
+		return Json.createGeneratorFactory(properties).createGenerator(new LeadingWhitespaceOmittingWriter(writer));
+	}
+
+	private void writeJson(JsonGenerator g) throws JsonException {
+		g.writeStartObject();
+		// If the Frank!Framework version is null, the error is logged elsewhere.
+		if(frankFrameworkVersion != null) {
+			writeMetadata(g);
+		}
+		writeGroups(g);
+		writeTypes(g);
+		writeElements(g);
+		writeEnums(g);
+		writeLabels(g);
+		g.writeEnd();
+	}
+
+	/**
+	 * Names of the shards of the sharded JSON output. There is a shard for every group, holding
+	 * the elements of that group that are not in an earlier group. An element that is not in any group,
+	 * like an abstract ancestor, is in the shard of its first descendant that is. What remains is in the
+	 * shard of group "Other".
+	 */
+	public List<String> getShardNames() {
+		Set<String> result = new LinkedHashSet<>(getShards().values());
+		result.add(getModuleElementShard());
+		return new ArrayList<>(result);
+	}
+
+	/**
+	 * Write the index of the sharded JSON output. It has everything of the unsharded JSON document except
+	 * the elements. For each element, it only has the properties that are needed to list them and the name of the
+	 * shard that has the element itself. The writer is closed afterwards.
+	 */
+	public void writeJsonIndex(Writer writer) throws JsonException {
+		Map<FrankElement, String> shards = getShards();
+		try(JsonGenerator g = createPrettyGenerator(writer)) {
+			g.writeStartObject();
+			if(frankFrameworkVersion != null) {
+				writeMetadata(g);
+			}
+			writeGroups(g);
+			writeTypes(g);
+			g.writeStartArray("elements");
+			forEachElementSorted(f -> writeElementSummary(g, f, shards.get(f)), () -> writeElementSummaryReferencedEntityRoot(g));
+			g.writeEnd();
+			writeEnums(g);
+			writeLabels(g);
+			g.writeEnd();
+		}
+	}
+
+	/**
+	 * Write one shard of the sharded JSON output. It has the elements of the shard, in the same format as
+	 * the unsharded JSON document. The writer is closed afterwards.
+	 */
+	public void writeJsonShard(String shardName, Writer writer) throws JsonException {
+		Map<FrankElement, String> shards = getShards();
+		try(JsonGenerator g = createPrettyGenerator(writer)) {
+			g.writeStartObject();
+			g.writeStartArray("elements");
+			forEachElementSorted(f -> {
+				if(shardName.equals(shards.get(f))) {
+					writeElement(g, f);
+				}
+			}, () -> {
+				if(shardName.equals(getModuleElementShard())) {
+					writeElementReferencedEntityRoot(g);
+				}
+			});
+			g.writeEnd();
+			g.writeEnd();
+		}
+	}
+
+	private synchronized Map<FrankElement, String> getShards() {
+		if(shardOfElement == null) {
+			Map<FrankElement, String> result = new LinkedHashMap<>();
+			Map<String, String> shardNamesByGroupName = getShardNamesByGroupName();
+			for(FrankDocGroup group: model.getGroups()) {
+				String shardName = shardNamesByGroupName.get(group.getName());
+				group.getElementTypes().stream()
+						.flatMap(elementType -> elementType.getSyntax2Members().stream())
+						.forEach(f -> result.putIfAbsent(f, shardName));
+				if(group.getName().equals(FrankDocGroup.GROUP_NAME_OTHER)) {
+					elementsOutsideChildren.forEach(f -> result.putIfAbsent(f, shardName));
+				}
+			}
+			for(FrankElement f: new ArrayList<>(result.keySet())) {
+				for(FrankElement ancestor = getJsonParent(f); ancestor != null; ancestor = getJsonParent(ancestor)) {
+					result.putIfAbsent(ancestor, result.get(f));
+				}
+			}
+			model.getAllElements().values().forEach(f -> result.putIfAbsent(f, getModuleElementShard()));
+			shardOfElement = result;
+		}
+		return shardOfElement;
+	}
+
+	private String getModuleElementShard() {
+		return toShardName(FrankDocGroup.GROUP_NAME_OTHER);
+	}
+
+	private Map<String, String> getShardNamesByGroupName() {
+		Map<String, String> result = new HashMap<>();
+		Set<String> usedShardNames = new HashSet<>();
+		usedShardNames.add(getModuleElementShard());
+		for(FrankDocGroup group: model.getGroups()) {
+			String shardName = toShardName(group.getName());
+			if(group.getName().equals(FrankDocGroup.GROUP_NAME_OTHER)) {
+				result.put(group.getName(), shardName);
+				continue;
+			}
+			String candidate = shardName;
+			for(int i = 2; usedShardNames.contains(candidate); ++i) {
+				candidate = shardName + "-" + i;
+			}
+			usedShardNames.add(candidate);
+			result.put(group.getName(), candidate);
+		}
+		return result;
+	}
+
+	// The shard names are used as file names
+	private static String toShardName(String groupName) {
+		return groupName.toLowerCase().replaceAll("[^a-z0-9]+", "-");
 	}
 
-	private JsonArray getGroups() throws JsonException {
-		JsonArrayBuilder result = bf.createArrayBuilder();
+	private FrankElement getJsonParent(FrankElement frankElement) {
+		String parent = getParentOrNull(frankElement);
+		return parent == null ? null : model.getAllElements().get(parent);
+	}
+
+	private void writeElementSummary(JsonGenerator g, FrankElement frankElement, String shardName) {
+		g.writeStartObject();
+		g.write("name", getElementNameForJson(frankElement));
+		g.write("fullName", frankElement.getFullName());
+		if(frankElement.isDeprecated()) {
+			g.write("deprecated", frankElement.isDeprecated());
+		}
+		writeIfNotNull(g, "parent", getParentOrNull(frankElement));
+		g.write("shard", shardName);
+		g.writeEnd();
+	}
+
+	private void writeElementSummaryReferencedEntityRoot(JsonGenerator g) {
+		g.writeStartObject();
+		g.write("name", Constants.MODULE_ELEMENT_NAME);
+		g.write("fullName", Constants.MODULE_ELEMENT_NAME);
+		g.write("shard", getModuleElementShard());
+		g.writeEnd();
+	}
+
+	private void writeMetadata(JsonGenerator g) {
+		g.writeStartObject("metadata");
+		g.write("version", frankFrameworkVersion);
+		g.writeEnd();
+	}
+
+	private void writeGroups(JsonGenerator g) throws JsonException {
+		g.writeStartArray("groups");
 		for(FrankDocGroup group: model.getGroups()) {
-			result.add(getGroup(group));
+			writeGroup(g, group);
 		}
-		return result.build();
+		g.writeEnd();
 	}
 
-	private JsonObject getGroup(FrankDocGroup group) throws JsonException {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", group.getName());
-		final JsonArrayBuilder types = bf.createArrayBuilder();
+	private void writeGroup(JsonGenerator g, FrankDocGroup group) throws JsonException {
+		g.writeStartObject();
+		g.write("name", group.getName());
+		g.writeStartArray("types");
 		group.getElementTypes().stream()
 				.map(ElementType::getFullName)
-				.forEach(types::add);
+				.forEach(g::write);
 		if(group.getName().equals(FrankDocGroup.GROUP_NAME_OTHER)) {
-			elementsOutsideChildren.forEach(f -> types.add(f.getFullName()));
-			types.add(Constants.MODULE_ELEMENT_NAME);
+			elementsOutsideChildren.forEach(f -> g.write(f.getFullName()));
+			g.write(Constants.MODULE_ELEMENT_NAME);
 		}
-		result.add("types", types);
-		return result.build();
+		g.writeEnd();
+		g.writeEnd();
 	}
 
-	private JsonArray getTypes() {
-		JsonArrayBuilder result = bf.createArrayBuilder();
+	private void writeTypes(JsonGenerator g) {
+		g.writeStartArray("types");
 		List<ElementType> sortedTypes = new ArrayList<>(model.getAllTypes().values());
 		Collections.sort(sortedTypes);
 		for(ElementType elementType: sortedTypes) {
-			result.add(getType(elementType));
+			writeType(g, elementType);
 		}
-		elementsOutsideChildren.forEach(f -> result.add(getNonChildType(f)));
-		result.add(getTypeReferencedEntityRoot());
-		return result.build();
+		elementsOutsideChildren.forEach(f -> writeNonChildType(g, f));
+		writeTypeReferencedEntityRoot(g);
+		g.writeEnd();
 	}
 
-	private JsonObject getTypeReferencedEntityRoot() {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", Constants.MODULE_ELEMENT_NAME);
-		JsonArrayBuilder members = bf.createArrayBuilder();
-		members.add(Constants.MODULE_ELEMENT_NAME);
-		result.add("members", members);
-		return result.build();		
+	private void writeTypeReferencedEntityRoot(JsonGenerator g) {
+		g.writeStartObject();
+		g.write("name", Constants.MODULE_ELEMENT_NAME);
+		g.writeStartArray("members");
+		g.write(Constants.MODULE_ELEMENT_NAME);
+		g.writeEnd();
+		g.writeEnd();
 	}
 
-	private JsonObject getType(ElementType elementType) {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", elementType.getFullName());
-		final JsonArrayBuilder members = bf.createArrayBuilder();
-		elementType.getSyntax2Members().forEach(f -> members.add(f.getFullName()));
-		result.add("members", members);
-		return result.build();
+	private void writeType(JsonGenerator g, ElementType elementType) {
+		g.writeStartObject();
+		g.write("name", elementType.getFullName());
+		g.writeStartArray("members");
+		elementType.getSyntax2Members().forEach(f -> g.write(f.getFullName()));
+		g.writeEnd();
+		g.writeEnd();
 	}
 
-	private JsonObject getNonChildType(FrankElement frankElement) {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", frankElement.getFullName());
-		final JsonArrayBuilder members = bf.createArrayBuilder();
-		members.add(frankElement.getFullName());
-		result.add("members", members);
-		return result.build();
+	private void writeNonChildType(JsonGenerator g, FrankElement frankElement) {
+		g.writeStartObject();
+		g.write("name", frankElement.getFullName());
+		g.writeStartArray("members");
+		g.write(frankElement.getFullName());
+		g.writeEnd();
+		g.writeEnd();
 	}
 
-	private JsonArray getElements() throws JsonException {
+	private void writeElements(JsonGenerator g) throws JsonException {
+		g.writeStartArray("elements");
+		forEachElementSorted(f -> writeElement(g, f), () -> writeElementReferencedEntityRoot(g));
+		g.writeEnd();
+	}
+
+	private void forEachElementSorted(Consumer<FrankElement> elementHandler, Runnable moduleElementHandler) {
 		Map<String, List<FrankElement>> elementsByName = model.getAllElements().values().stream()
 				.collect(Collectors.groupingBy(f -> getElementNameForJson(f)));
 		List<String> sortKeys = new ArrayList<>(elementsByName.keySet());
 		sortKeys.add(Constants.MODULE_ELEMENT_NAME);
 		Collections.sort(sortKeys);
-		JsonArrayBuilder result = bf.createArrayBuilder();
 		for(String sortKey: sortKeys) {
 			if(sortKey.equals(Constants.MODULE_ELEMENT_NAME)) {
-				result.add(getElementReferencedEntityRoot());
+				moduleElementHandler.run();
 			} else {
-				elementsByName.get(sortKey).stream()
-						.map(f -> getElement(f))
-						.forEach(result::add);
+				elementsByName.get(sortKey).forEach(elementHandler);
 			}
 		}
-		return result.build();
 	}
 
 	private String getElementNameForJson(FrankElement f) {
@@ -181,86 +362,175 @@ public class FrankDocJsonFactory {
 		}
 	}
 
-	private JsonObject getElementReferencedEntityRoot() {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", Constants.MODULE_ELEMENT_NAME);
-		result.add("fullName", Constants.MODULE_ELEMENT_NAME);
-		addDescription(result, Constants.MODULE_ELEMENT_DESCRIPTION);
-		JsonArrayBuilder xmlElementNames = bf.createArrayBuilder();
-		xmlElementNames.add(Constants.MODULE_ELEMENT_NAME);
-		result.add("elementNames", xmlElementNames.build());
-		return result.build();
+	private void writeElementReferencedEntityRoot(JsonGenerator g) {
+		g.writeStartObject();
+		g.write("name", Constants.MODULE_ELEMENT_NAME);
+		g.write("fullName", Constants.MODULE_ELEMENT_NAME);
+		writeDescription(g, Constants.MODULE_ELEMENT_DESCRIPTION);
+		g.writeStartArray("elementNames");
+		g.write(Constants.MODULE_ELEMENT_NAME);
+		g.writeEnd();
+		g.writeEnd();
 	}
 
-	private JsonObject getElement(FrankElement frankElement) throws JsonException {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", getElementNameForJson(frankElement));
-		result.add("fullName", frankElement.getFullName());
+	private void writeElement(JsonGenerator g, FrankElement frankElement) throws JsonException {
+		g.writeStartObject();
+		g.write("name", getElementNameForJson(frankElement));
+		g.write("fullName", frankElement.getFullName());
 		if(frankElement.isAbstract()) {
-			result.add("abstract", frankElement.isAbstract());
+			g.write("abstract", frankElement.isAbstract());
 		}
 		if(frankElement.isDeprecated()) {
-			result.add("deprecated", frankElement.isDeprecated());
-		}
-		addDescription(result, frankElement.getDescription());
-		addIfNotNull(result, "parent", getParentOrNull(frankElement));
-		JsonArrayBuilder xmlElementNames = bf.createArrayBuilder();
-		frankElement.getXmlElementNames().forEach(xmlElementNames::add);
-		result.add("elementNames", xmlElementNames);
-		JsonArray attributes = getAttributes(frankElement, getParentOrNull(frankElement) == null);
-		if(! attributes.isEmpty()) {
-			result.add("attributes", attributes);
+			g.write("deprecated", frankElement.isDeprecated());
+		}
+		writeDescription(g, frankElement.getDescription());
+		String parent = getParentOrNull(frankElement);
+		writeIfNotNull(g, "parent", parent);
+		g.writeStartArray("elementNames");
+		frankElement.getXmlElementNames().forEach(g::write);
+		g.writeEnd();
+		List<FrankAttribute> attributes = frankElement.getAttributes(ElementChild.IN_COMPATIBILITY_XSD);
+		boolean addAttributeActive = (parent == null);
+		if((! attributes.isEmpty()) || addAttributeActive) {
+			g.writeStartArray("attributes");
+			attributes.forEach(a -> writeAttribute(g, a));
+			if(addAttributeActive) {
+				writeAttributeActive(g);
+			}
+			g.writeEnd();
 		}
 		List<FrankAttribute> nonInheritedAttributes = frankElement.getChildrenOfKind(ElementChild.JSON_NOT_INHERITED, FrankAttribute.class);
 		if(! nonInheritedAttributes.isEmpty()) {
-			JsonArrayBuilder b = bf.createArrayBuilder();
-			nonInheritedAttributes.forEach(nia -> b.add(nia.getName()));
-			result.add("nonInheritedAttributes", b.build());
-		}
-		JsonArray configChildren = getConfigChildren(frankElement);
-		if(! configChildren.isEmpty()) {
-			result.add("children", configChildren);
+			g.writeStartArray("nonInheritedAttributes");
+			nonInheritedAttributes.forEach(nia -> g.write(nia.getName()));
+			g.writeEnd();
 		}
+		writeConfigChildren(g, frankElement);
 		if(frankElement.getMeaningOfParameters() != null) {
-			result.add("parametersDescription", frankElement.getMeaningOfParameters());
+			g.write("parametersDescription", frankElement.getMeaningOfParameters());
 		}
 		if(frankElement.getSpecificParameters().size() >= 1) {
-			JsonArrayBuilder b = bf.createArrayBuilder();
-			frankElement.getSpecificParameters().forEach(sp -> b.add(getParsedJavaDocTag(sp)));
-			result.add("parameters", b.build());
+			g.writeStartArray("parameters");
+			frankElement.getSpecificParameters().forEach(sp -> writeParsedJavaDocTag(g, sp));
+			g.writeEnd();
 		}
 		if(frankElement.getForwards().size() >= 1) {
-			JsonArrayBuilder b = bf.createArrayBuilder();
-			frankElement.getForwards().forEach(fw -> b.add(getParsedJavaDocTag(fw)));
-			result.add("forwards", b.build());
+			g.writeStartArray("forwards");
+			frankElement.getForwards().forEach(fw -> writeParsedJavaDocTag(g, fw));
+			g.writeEnd();
 		}
 		if(! frankElement.getTags().isEmpty()) {
-			JsonObjectBuilder b = bf.createObjectBuilder();
+			// Like a JSON object, the last value of a tag name wins
+			Map<String, String> tags = new LinkedHashMap<>();
 			for(ParsedJavaDocTag tag: frankElement.getTags()) {
-				b.add(tag.getName(), tag.getDescription());
+				tags.put(tag.getName(), tag.getDescription());
 			}
-			result.add("tags", b.build());
+			g.writeStartObject("tags");
+			tags.forEach(g::write);
+			g.writeEnd();
 		}
 		if(! frankElement.getLabels().isEmpty()) {
-			JsonArrayBuilder b = bf.createArrayBuilder();
+			g.writeStartArray("labels");
 			for(FrankLabel lab: frankElement.getLabels()) {
-				JsonObjectBuilder ob = bf.createObjectBuilder();
-				ob.add("label", lab.getName());
-				ob.add("value", lab.getValue());
-				b.add(ob.build());
+				g.writeStartObject();
+				g.write("label", lab.getName());
+				g.write("value", lab.getValue());
+				g.writeEnd();
+			}
+			g.writeEnd();
+		}
+		if(includeInheritance) {
+			writeInheritance(g, frankElement);
+		}
+		g.writeEnd();
+	}
+
+	/**
+	 * Tells the webapp what to show for an element when inheritance is shown. Walking up the "parent" chain, an
+	 * inherited attribute, config child, parameter or forward is shown unless one with the same name was shown before.
+	 * For every ancestor, the names of the items that are shown are listed. For attributes, every ancestor that has
+	 * attributes is listed, because the webapp shows where the inherited attributes come from.
+	 */
+	private void writeInheritance(JsonGenerator g, FrankElement frankElement) {
+		List<FrankElement> ancestors = new ArrayList<>();
+		for(FrankElement ancestor = getJsonParent(frankElement); ancestor != null; ancestor = getJsonParent(ancestor)) {
+			ancestors.add(ancestor);
+		}
+		if(ancestors.isEmpty()) {
+			return;
+		}
+		g.writeStartObject("inheritance");
+		writeInherited(g, "attributes", frankElement, ancestors, this::getJsonAttributeNames, true);
+		writeInherited(g, "children", frankElement, ancestors, this::getJsonConfigChildRoleNames, false);
+		writeInherited(g, "parameters", frankElement, ancestors, f -> getNames(f.getSpecificParameters()), false);
+		writeInherited(g, "forwards", frankElement, ancestors, f -> getNames(f.getForwards()), false);
+		if(frankElement.getMeaningOfParameters() == null) {
+			ancestors.stream()
+					.filter(ancestor -> ancestor.getMeaningOfParameters() != null)
+					.findFirst()
+					.ifPresent(ancestor -> g.write("parametersDescriptionFrom", ancestor.getFullName()));
+		}
+		g.writeEnd();
+	}
+
+	private void writeInherited(JsonGenerator g, String field, FrankElement frankElement, List<FrankElement> ancestors, Function<FrankElement, List<String>> namesOf, boolean listAncestorsWithoutInherited) {
+		Set<String> shownNames = new HashSet<>(namesOf.apply(frankElement));
+		boolean started = false;
+		for(FrankElement ancestor: ancestors) {
+			List<String> names = namesOf.apply(ancestor);
+			List<String> inherited = names.stream().filter(name -> ! shownNames.contains(name)).collect(Collectors.toList());
+			shownNames.addAll(inherited);
+			if(inherited.isEmpty() && ((! listAncestorsWithoutInherited) || names.isEmpty())) {
+				continue;
 			}
-			result.add("labels", b.build());
+			if(! started) {
+				g.writeStartArray(field);
+				started = true;
+			}
+			g.writeStartObject();
+			g.write("from", ancestor.getFullName());
+			g.writeStartArray("names");
+			inherited.forEach(g::write);
+			g.writeEnd();
+			g.writeEnd();
+		}
+		if(started) {
+			g.writeEnd();
+		}
+	}
+
+	// The attributes as written by writeElement()
+	private List<String> getJsonAttributeNames(FrankElement frankElement) {
+		List<String> result = frankElement.getAttributes(ElementChild.IN_COMPATIBILITY_XSD).stream()
+				.map(FrankAttribute::getName)
+				.collect(Collectors.toList());
+		if(getParentOrNull(frankElement) == null) {
+			result.add(ATTRIBUTE_ACTIVE);
 		}
-		return result.build();
+		return result;
+	}
+
+	// The config children as written by writeConfigChildren()
+	private List<String> getJsonConfigChildRoleNames(FrankElement frankElement) {
+		List<String> result = new ArrayList<>();
+		if(frankElement.getFullName().equals(model.getRootClassName())) {
+			result.add(Constants.MODULE_ELEMENT_NAME.toLowerCase());
+		}
+		frankElement.getConfigChildren(ElementChild.IN_COMPATIBILITY_XSD).forEach(c -> result.add(c.getRoleName()));
+		return result;
+	}
+
+	private static List<String> getNames(List<ParsedJavaDocTag> tags) {
+		return tags.stream().map(ParsedJavaDocTag::getName).collect(Collectors.toList());
 	}
 
-	private JsonObject getParsedJavaDocTag(ParsedJavaDocTag parsedJavaDocTag) {
-		JsonObjectBuilder b = bf.createObjectBuilder();
-		b.add("name", parsedJavaDocTag.getName());
+	private void writeParsedJavaDocTag(JsonGenerator g, ParsedJavaDocTag parsedJavaDocTag) {
+		g.writeStartObject();
+		g.write("name", parsedJavaDocTag.getName());
 		if(parsedJavaDocTag.getDescription() != null) {
-			b.add("description", parsedJavaDocTag.getDescription());
+			g.write("description", parsedJavaDocTag.getDescription());
 		}
-		return b.build();
+		g.writeEnd();
 	}
 
 	private static String getParentOrNull(FrankElement frankElement) {
@@ -274,148 +544,176 @@ public class FrankDocJsonFactory {
 		return null;
 	}
 
-	private JsonArray getAttributes(FrankElement frankElement, boolean addAttributeActive) throws JsonException {
-		JsonArrayBuilder result = bf.createArrayBuilder();
-		for(FrankAttribute attribute: frankElement.getAttributes(ElementChild.IN_COMPATIBILITY_XSD)) {
-			result.add(getAttribute(attribute));
-		}
-		if(addAttributeActive) {
-			result.add(getAttributeActive());
-		}
-		return result.build();
-	}
-
-	private JsonObject getAttribute(FrankAttribute frankAttribute) throws JsonException {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", frankAttribute.getName());
+	private void writeAttribute(JsonGenerator g, FrankAttribute frankAttribute) throws JsonException {
+		g.writeStartObject();
+		g.write("name", frankAttribute.getName());
 		if(frankAttribute.isDeprecated()) {
-			result.add("deprecated", frankAttribute.isDeprecated());
+			g.write("deprecated", frankAttribute.isDeprecated());
 		}
 		if(frankAttribute.getMandatoryStatus() != MandatoryStatus.OPTIONAL) {
-			result.add("mandatory", true);
+			g.write("mandatory", true);
 		}
 		if(frankAttribute.isReintroduced()) {
-			result.add("reintroduced", true);
+			g.write("reintroduced", true);
 		}
-		addIfNotNull(result, "description", frankAttribute.getDescription());
-		addIfNotNull(result, "default", frankAttribute.getDefaultValue());
+		writeIfNotNull(g, "description", frankAttribute.getDescription());
+		writeIfNotNull(g, "default", frankAttribute.getDefaultValue());
 		if(! frankAttribute.getAttributeType().equals(AttributeType.STRING)) {
-			result.add("type", frankAttribute.getAttributeType().name().toLowerCase());
+			g.write("type", frankAttribute.getAttributeType().name().toLowerCase());
 		}
 		if(frankAttribute.getAttributeEnum() != null) {
-			result.add("enum", frankAttribute.getAttributeEnum().getFullName());
+			g.write("enum", frankAttribute.getAttributeEnum().getFullName());
 		}
-		return result.build();
+		g.writeEnd();
 	}
 
-	private JsonObject getAttributeActive() {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", "active");
-		result.add("description", "If defined and empty or false, then this element and all its children are ignored");
-		return result.build();
+	private void writeAttributeActive(JsonGenerator g) {
+		g.writeStartObject();
+		g.write("name", ATTRIBUTE_ACTIVE);
+		g.write("description", "If defined and empty or false, then this element and all its children are ignored");
+		g.writeEnd();
 	}
 
-	private void addIfNotNull(JsonObjectBuilder builder, String field, String value) {
+	private void writeIfNotNull(JsonGenerator g, String field, String value) {
 		if(value != null) {
-			builder.add(field, value);
+			g.write(field, value);
 		}
 	}
 
-	private void addDescription(JsonObjectBuilder builder, String value) {
+	private void writeDescription(JsonGenerator g, String value) {
 		if(! StringUtils.isBlank(value)) {
-			builder.add(DESCRIPTION, value.replaceAll("\"", "\\\\\\\""));
+			g.write(DESCRIPTION, value.replaceAll("\"", "\\\\\\\""));
 		}
 	}
 
-	private JsonArray getConfigChildren(FrankElement frankElement) throws JsonException {
-		JsonArrayBuilder result = bf.createArrayBuilder();
-		if(frankElement.getFullName().equals(model.getRootClassName())) {
-			result.add(getConfigChildReferencedEntityRoot());
+	private void writeConfigChildren(JsonGenerator g, FrankElement frankElement) throws JsonException {
+		boolean isRoot = frankElement.getFullName().equals(model.getRootClassName());
+		List<ConfigChild> configChildren = frankElement.getConfigChildren(ElementChild.IN_COMPATIBILITY_XSD);
+		if((! isRoot) && configChildren.isEmpty()) {
+			return;
+		}
+		g.writeStartArray("children");
+		if(isRoot) {
+			writeConfigChildReferencedEntityRoot(g);
 		}
-		for(ConfigChild child: frankElement.getConfigChildren(ElementChild.IN_COMPATIBILITY_XSD)) {
-			result.add(getConfigChild(child));
+		for(ConfigChild child: configChildren) {
+			writeConfigChild(g, child);
 		}
-		return result.build();
+		g.writeEnd();
 	}
 
-	private JsonObject getConfigChildReferencedEntityRoot() {
-		JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("multiple", true);
-		result.add("roleName", Constants.MODULE_ELEMENT_NAME.toLowerCase());
-		result.add("description", Constants.MODULE_ELEMENT_DESCRIPTION);
-		result.add("type", Constants.MODULE_ELEMENT_NAME);
-		return result.build();
+	private void writeConfigChildReferencedEntityRoot(JsonGenerator g) {
+		g.writeStartObject();
+		g.write("multiple", true);
+		g.write("roleName", Constants.MODULE_ELEMENT_NAME.toLowerCase());
+		g.write("description", Constants.MODULE_ELEMENT_DESCRIPTION);
+		g.write("type", Constants.MODULE_ELEMENT_NAME);
+		g.writeEnd();
 	}
 
-	private JsonObject getConfigChild(ConfigChild child) throws JsonException {
-		JsonObjectBuilder result = bf.createObjectBuilder();
+	private void writeConfigChild(JsonGenerator g, ConfigChild child) throws JsonException {
+		g.writeStartObject();
 		if(child.isDeprecated()) {
-			result.add("deprecated", child.isDeprecated());
+			g.write("deprecated", child.isDeprecated());
 		}
 		if(child.getMandatoryStatus() != MandatoryStatus.OPTIONAL) {
-			result.add("mandatory", true);
+			g.write("mandatory", true);
 		}
 		if(child.isReintroduced()) {
-			result.add("reintroduced", true);
+			g.write("reintroduced", true);
 		}
-		result.add("multiple", child.isAllowMultiple());
-		result.add("roleName", child.getRoleName());
-		addIfNotNull(result, "description", child.getDescription());
+		g.write("multiple", child.isAllowMultiple());
+		g.write("roleName", child.getRoleName());
+		writeIfNotNull(g, "description", child.getDescription());
 		if(child instanceof ObjectConfigChild) {
-			result.add("type", ((ObjectConfigChild) child).getElementType().getFullName());
+			g.write("type", ((ObjectConfigChild) child).getElementType().getFullName());
 		}
-		return result.build();
+		g.writeEnd();
 	}
 
-	private JsonArray getEnums() {
-		final JsonArrayBuilder result = bf.createArrayBuilder();
+	private void writeEnums(JsonGenerator g) {
+		g.writeStartArray("enums");
 		for(AttributeEnum attributeEnum: model.getAllAttributeEnumInstances()) {
-			result.add(getAttributeEnum(attributeEnum));
+			writeAttributeEnum(g, attributeEnum);
 		}
-		return result.build();
+		g.writeEnd();
 	}
 
-	private JsonObject getAttributeEnum(AttributeEnum en) {
-		final JsonObjectBuilder result = bf.createObjectBuilder();
-		result.add("name", en.getFullName());
-		result.add("values", getAttributeEnumValues(en));
-		return result.build();
-	}
-
-	private JsonArray getAttributeEnumValues(AttributeEnum en) {
-		JsonArrayBuilder result = bf.createArrayBuilder();
+	private void writeAttributeEnum(JsonGenerator g, AttributeEnum en) {
+		g.writeStartObject();
+		g.write("name", en.getFullName());
+		g.writeStartArray("values");
 		for(EnumValue v: en.getValues()) {
-			JsonObjectBuilder valueBuilder = bf.createObjectBuilder();
-			valueBuilder.add("label", v.getLabel());
+			g.writeStartObject();
+			g.write("label", v.getLabel());
 			if(v.getDescription() != null) {
-				valueBuilder.add("description", v.getDescription());
+				g.write("description", v.getDescription());
 			}
 			if(v.isDeprecated()) {
-				valueBuilder.add("deprecated", true);
+				g.write("deprecated", true);
 			}
-			result.add(valueBuilder.build());
+			g.writeEnd();
 		}
-		return result.build();	
+		g.writeEnd();
+		g.writeEnd();
 	}
 
 	// We omit the "labels" element if there are no labels. This
 	// makes no different in production because the F!F sources
 	// do have labels. This way, we can omit labels from unit tests.
-	private Optional<JsonArray> getLabels() {
+	private void writeLabels(JsonGenerator g) {
 		if(model.getAllLabels().isEmpty()) {
-			return Optional.empty();
+			return;
 		}
-		final JsonArrayBuilder result = bf.createArrayBuilder();
+		g.writeStartArray("labels");
 		for(String label: model.getAllLabels()) {
-			JsonObjectBuilder labelObject = bf.createObjectBuilder();
-			JsonArrayBuilder labelValuesObject = bf.createArrayBuilder();
+			g.writeStartObject();
+			g.write("label", label);
+			g.writeStartArray("values");
 			for(String value: model.getAllValuesOfLabel(label)) {
-				labelValuesObject.add(value);
+				g.write(value);
 			}
-			labelObject.add("label", label);
-			labelObject.add("values", labelValuesObject.build());
-			result.add(labelObject.build());
+			g.writeEnd();
+			g.writeEnd();
+		}
+		g.writeEnd();
+	}
+
+	/**
+	 * The pretty printing {@link JsonGenerator} starts the document with a newline. The
+	 * JSON files written before, with {@link Utils#jsonPretty(String)}, did not have it.
+	 */
+	private static class LeadingWhitespaceOmittingWriter extends FilterWriter {
+		private boolean atStart = true;
+
+		LeadingWhitespaceOmittingWriter(Writer out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int c) throws IOException {
+			if(atStart && Character.isWhitespace(c)) {
+				return;
+			}
+			atStart = false;
+			super.write(c);
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			while(atStart && (len > 0) && Character.isWhitespace(cbuf[off])) {
+				++off;
+				--len;
+			}
+			if(len > 0) {
+				atStart = false;
+				super.write(cbuf, off, len);
+			}
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			write(str.toCharArray(), off, len);
 		}
-		return Optional.of(result.build());
 	}
 }
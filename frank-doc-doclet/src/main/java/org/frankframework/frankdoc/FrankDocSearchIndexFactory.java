@@ -0,0 +1,167 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonGenerator;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.frankframework.frankdoc.model.AttributeEnum;
+import org.frankframework.frankdoc.model.ConfigChild;
+import org.frankframework.frankdoc.model.ElementChild;
+import org.frankframework.frankdoc.model.EnumValue;
+import org.frankframework.frankdoc.model.FrankAttribute;
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.model.FrankElement;
+import org.frankframework.frankdoc.model.ParsedJavaDocTag;
+
+/**
+ * Create the search index of the webapp, typically <code>frankdoc-search.json</code>. It maps tokens to the
+ * elements that have them in their names, descriptions, attributes and their defaults, config children, parameters,
+ * forwards or the values of the enums of their attributes and the descriptions of these values. Only the items of an
+ * element itself are indexed, not the inherited ones. The webapp matches an element if the element or one of its
+ * ancestors has a token that starts with each word of the search text.
+ *
+ * Elements are numbered in the order of their full names. Array <code>elements</code> has the full names and object
+ * <code>tokens</code> has for each token the numbers of the elements that have it. A token is a maximal sequence of
+ * letters and digits, converted to lower case. A camel case word also gives a token for each of its parts, so
+ * <code>EchoPipe</code> gives tokens <code>echopipe</code>, <code>echo</code> and <code>pipe</code>. That way a search
+ * for <code>pipe</code> finds it, although the webapp only matches the start of a token. HTML tags in descriptions
+ * are omitted.
+ *
+ * This class only produces the JSON. Writing it to a file is done elsewhere.
+ */
+public class FrankDocSearchIndexFactory {
+	private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+	// Before an upper case letter that follows a lower case letter, like in EchoPipe, or that starts a word after an
+	// abbreviation, like in XMLValidator. Also between letters and digits.
+	private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile(
+			"(?<=\\p{Ll})(?=\\p{Lu})|(?<=\\p{Lu})(?=\\p{Lu}\\p{Ll})|(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})");
+
+	private FrankDocModel model;
+
+	public FrankDocSearchIndexFactory(FrankDocModel model) {
+		this.model = model;
+	}
+
+	/**
+	 * Write the search index without pretty printing, to keep it small. The writer is closed afterwards.
+	 */
+	public void writeJson(Writer writer) throws JsonException {
+		List<String> elementNames = new ArrayList<>(model.getAllElements().keySet());
+		elementNames.add(Constants.MODULE_ELEMENT_NAME);
+		Collections.sort(elementNames);
+		Map<String, List<Integer>> elementsByToken = new TreeMap<>();
+		for(int id = 0; id < elementNames.size(); ++id) {
+			String elementName = elementNames.get(id);
+			Stream<String> texts;
+			if(elementName.equals(Constants.MODULE_ELEMENT_NAME)) {
+				texts = Stream.of(Constants.MODULE_ELEMENT_NAME, Constants.MODULE_ELEMENT_DESCRIPTION);
+			} else {
+				texts = getTexts(model.getAllElements().get(elementName));
+			}
+			final int elementId = id;
+			texts.flatMap(FrankDocSearchIndexFactory::toTokens).forEach(token -> addElement(elementsByToken, token, elementId));
+		}
+		try(JsonGenerator g = Json.createGenerator(writer)) {
+			g.writeStartObject();
+			g.writeStartArray("elements");
+			elementNames.forEach(g::write);
+			g.writeEnd();
+			g.writeStartObject("tokens");
+			for(Map.Entry<String, List<Integer>> entry: elementsByToken.entrySet()) {
+				g.writeStartArray(entry.getKey());
+				entry.getValue().forEach(g::write);
+				g.writeEnd();
+			}
+			g.writeEnd();
+			g.writeEnd();
+		}
+	}
+
+	private static void addElement(Map<String, List<Integer>> elementsByToken, String token, int elementId) {
+		List<Integer> elements = elementsByToken.computeIfAbsent(token, t -> new ArrayList<>());
+		// Elements are added in increasing order, so a duplicate is always the last one
+		if(elements.isEmpty() || (elements.get(elements.size() - 1) != elementId)) {
+			elements.add(elementId);
+		}
+	}
+
+	private Stream<String> getTexts(FrankElement frankElement) {
+		List<String> result = new ArrayList<>();
+		result.add(frankElement.getFullName());
+		result.addAll(frankElement.getXmlElementNames());
+		result.add(frankElement.getDescription());
+		for(FrankAttribute attribute: frankElement.getAttributes(ElementChild.IN_COMPATIBILITY_XSD)) {
+			result.add(attribute.getName());
+			result.add(attribute.getDescription());
+			result.add(attribute.getDefaultValue());
+			AttributeEnum attributeEnum = attribute.getAttributeEnum();
+			if(attributeEnum != null) {
+				for(EnumValue value: attributeEnum.getValues()) {
+					result.add(value.getLabel());
+					result.add(value.getDescription());
+				}
+			}
+		}
+		for(ConfigChild child: frankElement.getConfigChildren(ElementChild.IN_COMPATIBILITY_XSD)) {
+			result.add(child.getRoleName());
+			result.add(child.getDescription());
+		}
+		for(ParsedJavaDocTag tag: frankElement.getSpecificParameters()) {
+			result.add(tag.getName());
+			result.add(tag.getDescription());
+		}
+		for(ParsedJavaDocTag tag: frankElement.getForwards()) {
+			result.add(tag.getName());
+			result.add(tag.getDescription());
+		}
+		return result.stream();
+	}
+
+	static Stream<String> toTokens(String text) {
+		if(StringUtils.isBlank(text)) {
+			return Stream.empty();
+		}
+		String withoutTags = HTML_TAG.matcher(text).replaceAll(" ");
+		return TOKEN_SEPARATOR.splitAsStream(withoutTags)
+				.filter(word -> ! word.isEmpty())
+				.flatMap(FrankDocSearchIndexFactory::wordToTokens);
+	}
+
+	private static Stream<String> wordToTokens(String word) {
+		String[] parts = CAMEL_CASE_BOUNDARY.split(word);
+		Stream<String> tokens = Stream.of(word);
+		if(parts.length >= 2) {
+			tokens = Stream.concat(tokens, Stream.of(parts));
+		}
+		return tokens.map(token -> token.toLowerCase(Locale.ROOT));
+	}
+}
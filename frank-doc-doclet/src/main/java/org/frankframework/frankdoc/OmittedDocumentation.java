@@ -0,0 +1,114 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+
+package org.frankframework.frankdoc;
+
+import java.io.Writer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+
+import org.frankframework.frankdoc.model.AttributeEnum;
+import org.frankframework.frankdoc.model.EnumValue;
+import org.frankframework.frankdoc.model.FrankAttribute;
+import org.frankframework.frankdoc.model.FrankElement;
+
+/**
+ * The documentation that a lean XSD omits, taken from the model. It is keyed by the names in the model, not by the
+ * structure of the XSD, so it does not change when types and groups of the XSD are merged. The JSON looks like this:
+ * <pre>
+ * {
+ *   "elements": {
+ *     "org.frankframework.pipes.EchoPipe": {
+ *       "description": "Echoes its input",
+ *       "attributes": {"name": "Name of the pipe"}
+ *     }
+ *   },
+ *   "enums": {
+ *     "org.frankframework.pipes.Mode": {"FAST": "Go fast"}
+ *   }
+ * }
+ * </pre>
+ * Elements are keyed by their full name, attributes by their name within the element that declares them and enum values
+ * by their label.
+ */
+class OmittedDocumentation {
+	private final Map<String, String> elementDescriptions = new LinkedHashMap<>();
+	private final Map<String, Map<String, String>> attributeDescriptions = new LinkedHashMap<>();
+	private final Map<String, Map<String, String>> enumValueDescriptions = new LinkedHashMap<>();
+
+	void addElement(FrankElement frankElement, String description) {
+		elementDescriptions.put(frankElement.getFullName(), description);
+	}
+
+	void addAttribute(FrankAttribute frankAttribute, String description) {
+		attributeDescriptions.computeIfAbsent(frankAttribute.getOwningElement().getFullName(), k -> new LinkedHashMap<>())
+				.put(frankAttribute.getName(), description);
+	}
+
+	void addEnum(AttributeEnum attributeEnum) {
+		Map<String, String> values = new LinkedHashMap<>();
+		for(EnumValue v: attributeEnum.getValues()) {
+			if((! v.isDeprecated()) && (v.getDescription() != null)) {
+				values.put(v.getLabel(), v.getDescription());
+			}
+		}
+		if(! values.isEmpty()) {
+			enumValueDescriptions.put(attributeEnum.getFullName(), values);
+		}
+	}
+
+	/**
+	 * The {@link Writer} is closed.
+	 */
+	void write(Writer out) {
+		try(JsonGenerator generator = Json.createGeneratorFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true)).createGenerator(out)) {
+			generator.writeStartObject();
+			generator.writeStartObject("elements");
+			Set<String> elementNames = new LinkedHashSet<>(elementDescriptions.keySet());
+			elementNames.addAll(attributeDescriptions.keySet());
+			elementNames.forEach(elementName -> writeElement(generator, elementName));
+			generator.writeEnd();
+			generator.writeStartObject("enums");
+			enumValueDescriptions.forEach((enumName, values) -> writeMap(generator, enumName, values));
+			generator.writeEnd();
+			generator.writeEnd();
+		}
+	}
+
+	private void writeElement(JsonGenerator generator, String elementName) {
+		generator.writeStartObject(elementName);
+		if(elementDescriptions.containsKey(elementName)) {
+			generator.write("description", elementDescriptions.get(elementName));
+		}
+		if(attributeDescriptions.containsKey(elementName)) {
+			writeMap(generator, "attributes", attributeDescriptions.get(elementName));
+		}
+		generator.writeEnd();
+	}
+
+	private static void writeMap(JsonGenerator generator, String name, Map<String, String> values) {
+		generator.writeStartObject(name);
+		values.forEach(generator::write);
+		generator.writeEnd();
+	}
+}
@@ -0,0 +1,88 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+
+package org.frankframework.frankdoc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.frankframework.frankdoc.model.ElementRole;
+import org.frankframework.frankdoc.model.FrankAttribute;
+
+/**
+ * The decisions of {@link ElementGroupManager} and {@link AttributeReuseManager} for one {@link XsdSchemaPlan} and
+ * start element: the names of the element groups and the {@link FrankAttribute}-s that are defined once and referenced.
+ * These decisions depend on the order in which {@link DocWriterNew} walks the model, and this order only depends on the
+ * plan and the start element. It is the same for every writer, whatever {@link AttributeTypeStrategy} the writer uses.
+ * Therefore the first writer makes the decisions and the other writers of the plan take them from here.
+ * <p>
+ * The element group names are assigned when a group is requested for the first time. Writers that run concurrently request
+ * the groups in the same order, so the names do not depend on which writer is first. Methods are synchronized because
+ * the doclet can write its output files concurrently.
+ */
+class XsdSchemaDecisions {
+	private static final String ELEMENT_GROUP = "ElementGroup";
+
+	private final Map<Set<ElementRole.Key>, String> elementGroupNames = new HashMap<>();
+	private final Map<String, Integer> numElementGroupsByRoleName = new HashMap<>();
+	// Null until the first writer classified its attributes
+	private Set<FrankAttribute> reusedAttributes;
+
+	synchronized String getOrAddElementGroupName(Set<ElementRole.Key> key) {
+		return elementGroupNames.computeIfAbsent(key, k -> {
+			String roleName = k.iterator().next().getRoleName();
+			int seq = numElementGroupsByRoleName.merge(roleName, 1, Integer::sum);
+			return Utils.toUpperCamelCase(roleName) + ELEMENT_GROUP + disambiguation(seq);
+		});
+	}
+
+	synchronized String getElementGroupName(Set<ElementRole.Key> key) {
+		String result = elementGroupNames.get(key);
+		if(result == null) {
+			throw new IllegalStateException(String.format("No element group for ElementRole-s [%s]", ElementRole.Key.describeCollection(key)));
+		}
+		return result;
+	}
+
+	synchronized int getNumElementGroups() {
+		return elementGroupNames.size();
+	}
+
+	static String disambiguation(int seq) {
+		String result = "";
+		if(seq != 1) {
+			result = String.format("_%d", seq);
+		}
+		return result;
+	}
+
+	/**
+	 * The {@link FrankAttribute}-s that are defined once and referenced, or null if no writer classified its attributes yet.
+	 */
+	synchronized Set<FrankAttribute> getReusedAttributes() {
+		return reusedAttributes;
+	}
+
+	synchronized void setReusedAttributes(Set<FrankAttribute> reusedAttributes) {
+		if(this.reusedAttributes == null) {
+			this.reusedAttributes = Collections.unmodifiableSet(new HashSet<>(reusedAttributes));
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.frankframework.frankdoc.model.ConfigChild;
+import org.frankframework.frankdoc.model.ConfigChildSet;
+import org.frankframework.frankdoc.model.ElementChild;
+import org.frankframework.frankdoc.model.ElementRole;
+import org.frankframework.frankdoc.model.ElementType;
+import org.frankframework.frankdoc.model.FrankAttribute;
+import org.frankframework.frankdoc.model.FrankDocGroup;
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.model.FrankElement;
+
+import lombok.Getter;
+
+/**
+ * The model-derived facts that {@link DocWriterNew} needs to write an XSD, for one combination of the child selector,
+ * the child rejector and the element filter of an {@link XsdVersion}. They answer the questions the writer asks
+ * about the model, like which config children and attributes are selected, which {@link ElementRole}-s a
+ * {@link ConfigChildSet} allows and whether an element has plural config children. The writer only decides how
+ * these are rendered as XML.
+ * <p>
+ * A plan can be restricted to some {@link FrankDocGroup}-s. Then the element groups only list the elements of
+ * {@link ElementRole}-s whose {@link ElementType} belongs to one of these groups. The other elements can still be
+ * written with the generic element option.
+ * <p>
+ * The facts about single elements, like the cumulative config children and attributes, are cached by the
+ * {@link FrankElement}-s of the model, so they are shared by all plans and writers that use the same predicates. What a plan
+ * holds itself are the decisions that span the whole XSD, namely the names of the element groups and the attributes that
+ * are defined once and referenced, see {@link XsdSchemaDecisions}. They are made by the first writer and reused by the
+ * other writers of the plan. Plans are thread safe. Use {@link Factory} to get the plan of an {@link XsdVersion};
+ * versions that agree on their predicates share a plan.
+ */
+public class XsdSchemaPlan {
+	private final @Getter FrankDocModel model;
+	private final @Getter Predicate<ElementChild> childSelector;
+	private final @Getter Predicate<ElementChild> childRejector;
+	private final @Getter Predicate<FrankElement> elementFilter;
+	// Null if the elements of all groups are listed
+	private final @Getter Set<String> groupNames;
+	// By the full name of the start element
+	private final Map<String, XsdSchemaDecisions> decisions = new ConcurrentHashMap<>();
+
+	XsdSchemaPlan(FrankDocModel model, Predicate<ElementChild> childSelector, Predicate<ElementChild> childRejector, Predicate<FrankElement> elementFilter, Set<String> groupNames) {
+		this.model = model;
+		this.childSelector = childSelector;
+		this.childRejector = childRejector;
+		this.elementFilter = elementFilter;
+		this.groupNames = groupNames;
+	}
+
+	List<ConfigChild> getCumulativeConfigChildren(FrankElement frankElement) {
+		return frankElement.getCumulativeConfigChildren(childSelector, childRejector);
+	}
+
+	List<FrankAttribute> getCumulativeAttributes(FrankElement frankElement) {
+		return frankElement.getCumulativeAttributes(childSelector, childRejector);
+	}
+
+	List<ConfigChild> getDeclaredConfigChildren(FrankElement frankElement) {
+		return frankElement.getConfigChildren(childSelector);
+	}
+
+	List<FrankAttribute> getDeclaredAttributes(FrankElement frankElement) {
+		return frankElement.getAttributes(childSelector);
+	}
+
+	FrankElement getNextAncestorThatHasOrRejectsConfigChildren(FrankElement frankElement) {
+		return frankElement.getNextAncestorThatHasOrRejectsConfigChildren(childSelector, childRejector);
+	}
+
+	FrankElement getNextAncestorThatHasOrRejectsAttributes(FrankElement frankElement) {
+		return frankElement.getNextAncestorThatHasOrRejectsAttributes(childSelector, childRejector);
+	}
+
+	boolean hasOrInheritsPluralConfigChildren(FrankElement frankElement) {
+		return frankElement.hasOrInheritsPluralConfigChildren(childSelector, childRejector);
+	}
+
+	boolean hasFilledConfigChildSets(FrankElement frankElement) {
+		return frankElement.hasFilledConfigChildSets(childSelector, childRejector);
+	}
+
+	FrankElement getNextPluralConfigChildrenAncestor(FrankElement frankElement) {
+		return frankElement.getNextPluralConfigChildrenAncestor(childSelector, childRejector);
+	}
+
+	List<ElementRole> getFilteredElementRoles(ConfigChildSet configChildSet) {
+		return configChildSet.getFilteredElementRoles(childSelector, childRejector);
+	}
+
+	Optional<String> getGenericElementOptionDefault(ConfigChildSet configChildSet) {
+		return configChildSet.getGenericElementOptionDefault(elementFilter);
+	}
+
+	/**
+	 * The members of an {@link ElementRole} that are options of its <code>ElementGroupBase</code>.
+	 */
+	List<FrankElement> getElementGroupBaseMembers(ElementRole role) {
+		if((groupNames != null) && ! groupNames.contains(role.getElementType().getGroup().getName())) {
+			return Collections.emptyList();
+		}
+		return role.getMembers().stream()
+				.filter(elementFilter)
+				.filter(f -> (f != role.getDefaultElementOptionConflict()))
+				.collect(Collectors.toList());
+	}
+
+	Map<String, List<ConfigChild>> getMemberChildren(List<ElementRole> parents) {
+		return ConfigChildSet.getMemberChildren(parents, childSelector, childRejector, elementFilter);
+	}
+
+	/**
+	 * The decisions shared by the writers of this plan that start with the given element.
+	 */
+	XsdSchemaDecisions getDecisions(String startClassName) {
+		return decisions.computeIfAbsent(startClassName, k -> new XsdSchemaDecisions());
+	}
+
+	/**
+	 * Holds the plans of one {@link FrankDocModel}, one for every combination of predicates.
+	 */
+	public static class Factory {
+		private final @Getter FrankDocModel model;
+		private final Map<List<Object>, XsdSchemaPlan> plans = new ConcurrentHashMap<>();
+
+		public Factory(FrankDocModel model) {
+			this.model = model;
+		}
+
+		public XsdSchemaPlan get(XsdVersion version) {
+			return get(version, null);
+		}
+
+		/**
+		 * @param groupNames The names of the {@link FrankDocGroup}-s whose elements are listed, or null for all groups.
+		 */
+		public XsdSchemaPlan get(XsdVersion version, Set<String> groupNames) {
+			final Set<String> groupNamesCopy = groupNames == null ? null : Collections.unmodifiableSet(new HashSet<>(groupNames));
+			// The predicates are constants, so they are compared by identity
+			List<Object> key = Arrays.asList(version.getChildSelector(), version.getChildRejector(), version.getElementFilter(), groupNamesCopy);
+			return plans.computeIfAbsent(key, k -> new XsdSchemaPlan(
+					model, version.getChildSelector(), version.getChildRejector(), version.getElementFilter(), groupNamesCopy));
+		}
+
+		int getNumPlans() {
+			return plans.size();
+		}
+	}
+}
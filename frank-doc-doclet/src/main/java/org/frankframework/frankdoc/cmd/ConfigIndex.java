@@ -0,0 +1,334 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.cmd;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import lombok.Getter;
+
+/**
+ * Compact description of the Frank configurations that an XSD allows, for checking configurations without
+ * compiling the XSD. The doclet derives it from the model and writes it as a small binary file. It knows
+ * which XML elements may appear below each other, which attributes they have, the allowed values of these
+ * attributes and which attributes and children are mandatory. It does not have the other XSD semantics,
+ * like the order of child elements and the maximum number of occurrences.
+ * <p>
+ * The index is a graph of {@link Node}-s. A node is the type of an XML element. Root elements and the
+ * children of nodes refer to nodes by their index.
+ */
+public class ConfigIndex {
+	static final String MAGIC = "FrankConfigIndex";
+	private static final int FORMAT_VERSION = 1;
+
+	// Same as the patterns of the helper types of AttributeTypeStrategy, Java regexes instead of XSD regexes
+	private static final String REF = "\\$\\{[^\\}]+\\}";
+	private static final Pattern PATTERN_REF = Pattern.compile(REF);
+	private static final Pattern PATTERN_BOOL = Pattern.compile(String.format("(true|false)|(%s)", REF));
+	private static final Pattern PATTERN_INT = Pattern.compile(String.format("((\\+|-)?[0-9]+)|(%s)", REF));
+	private static final Pattern PATTERN_ACTIVE = Pattern.compile(String.format("!?((%s)|(?i:true)|(?i:false))", REF));
+
+	public static final String ATTRIBUTE_ACTIVE = "active";
+
+	public static enum NodeKind {
+		/** A Frank element; only its own attributes are allowed. */
+		ELEMENT,
+		/** A generic element option like &lt;Pipe className="..."&gt;; any attribute is allowed. */
+		GENERIC,
+		/** An element with text content, no attributes and no children. */
+		TEXT;
+	}
+
+	public static enum ValueType {
+		STRING,
+		BOOL,
+		INT;
+	}
+
+	private final @Getter boolean enumValuesIgnoreCase;
+	private final List<Node> nodes = new ArrayList<>();
+	private final Map<String, Integer> roots = new LinkedHashMap<>();
+
+	public ConfigIndex(boolean enumValuesIgnoreCase) {
+		this.enumValuesIgnoreCase = enumValuesIgnoreCase;
+	}
+
+	public Node addNode(NodeKind kind, String description) {
+		Node result = new Node(nodes.size(), kind, description);
+		nodes.add(result);
+		return result;
+	}
+
+	public void addRoot(String elementName, Node node) {
+		roots.put(elementName, node.getId());
+	}
+
+	/**
+	 * @return Null if there is no root element with the given name.
+	 */
+	public Node getRoot(String elementName) {
+		Integer id = roots.get(elementName);
+		return id == null ? null : nodes.get(id);
+	}
+
+	public Node getNode(int id) {
+		return nodes.get(id);
+	}
+
+	public int getNumNodes() {
+		return nodes.size();
+	}
+
+	/**
+	 * @return Null if the value is allowed, a description of the problem otherwise.
+	 */
+	public String checkAttributeValue(Attribute attribute, String value) {
+		if(attribute.getEnumValues() != null) {
+			if(PATTERN_REF.matcher(value).matches()) {
+				return null;
+			}
+			for(String enumValue: attribute.getEnumValues()) {
+				if(enumValuesIgnoreCase ? enumValue.equalsIgnoreCase(value) : enumValue.equals(value)) {
+					return null;
+				}
+			}
+			return String.format("Value [%s] of attribute [%s] is not one of %s", value, attribute.getName(), attribute.getEnumValues());
+		}
+		switch(attribute.getType()) {
+		case BOOL:
+			return PATTERN_BOOL.matcher(value).matches() ? null : String.format("Value [%s] of attribute [%s] is not a boolean", value, attribute.getName());
+		case INT:
+			return PATTERN_INT.matcher(value).matches() ? null : String.format("Value [%s] of attribute [%s] is not an integer", value, attribute.getName());
+		default:
+			return null;
+		}
+	}
+
+	public static String checkActiveValue(String value) {
+		return PATTERN_ACTIVE.matcher(value).matches() ? null : String.format("Value [%s] of attribute [%s] is not a boolean", value, ATTRIBUTE_ACTIVE);
+	}
+
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeUTF(MAGIC);
+		data.writeInt(FORMAT_VERSION);
+		data.writeBoolean(enumValuesIgnoreCase);
+		data.writeInt(nodes.size());
+		for(Node node: nodes) {
+			node.write(data);
+		}
+		writeIdMap(data, roots);
+		data.flush();
+	}
+
+	public static ConfigIndex read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if((! MAGIC.equals(data.readUTF())) || (data.readInt() != FORMAT_VERSION)) {
+			throw new IOException("Not a config index or a config index of another version of the Frank!Doc");
+		}
+		ConfigIndex result = new ConfigIndex(data.readBoolean());
+		int numNodes = readSize(data);
+		for(int i = 0; i < numNodes; ++i) {
+			result.nodes.add(Node.read(i, data));
+		}
+		result.roots.putAll(readIdMap(data));
+		result.checkIds(result.roots);
+		for(Node node: result.nodes) {
+			result.checkIds(node.children);
+		}
+		return result;
+	}
+
+	private void checkIds(Map<String, Integer> idMap) throws IOException {
+		for(Map.Entry<String, Integer> entry: idMap.entrySet()) {
+			if((entry.getValue() < 0) || (entry.getValue() >= nodes.size())) {
+				throw new IOException(String.format("Element [%s] refers to node [%d], but the config index only has [%d] nodes", entry.getKey(), entry.getValue(), nodes.size()));
+			}
+		}
+	}
+
+	// A truncated or foreign file should not cause a NegativeArraySizeException or an ArrayIndexOutOfBoundsException
+	private static int readSize(DataInputStream data) throws IOException {
+		int size = data.readInt();
+		if(size < 0) {
+			throw new IOException(String.format("Invalid size [%d] in config index", size));
+		}
+		return size;
+	}
+
+	private static <E extends Enum<E>> E readEnum(DataInputStream data, E[] values) throws IOException {
+		int ordinal = data.readUnsignedByte();
+		if(ordinal >= values.length) {
+			throw new IOException(String.format("Invalid %s [%d] in config index", values.getClass().getComponentType().getSimpleName(), ordinal));
+		}
+		return values[ordinal];
+	}
+
+	private static void writeIdMap(DataOutputStream data, Map<String, Integer> idMap) throws IOException {
+		data.writeInt(idMap.size());
+		for(Map.Entry<String, Integer> entry: idMap.entrySet()) {
+			data.writeUTF(entry.getKey());
+			data.writeInt(entry.getValue());
+		}
+	}
+
+	private static Map<String, Integer> readIdMap(DataInputStream data) throws IOException {
+		Map<String, Integer> result = new LinkedHashMap<>();
+		int size = readSize(data);
+		for(int i = 0; i < size; ++i) {
+			result.put(data.readUTF(), data.readInt());
+		}
+		return result;
+	}
+
+	private static void writeStrings(DataOutputStream data, List<String> strings) throws IOException {
+		data.writeInt(strings.size());
+		for(String s: strings) {
+			data.writeUTF(s);
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream data) throws IOException {
+		int size = readSize(data);
+		List<String> result = new ArrayList<>(size);
+		for(int i = 0; i < size; ++i) {
+			result.add(data.readUTF());
+		}
+		return result;
+	}
+
+	public static class Node {
+		private final @Getter int id;
+		private final @Getter NodeKind kind;
+		// Full name of the Frank element or role name of the generic element option, for messages
+		private final @Getter String description;
+		private final Map<String, Attribute> attributes = new LinkedHashMap<>();
+		private final Map<String, Integer> children = new LinkedHashMap<>();
+		// Each entry lists the XML element names of one mandatory config child; one of them is needed.
+		private final List<List<String>> mandatoryChildren = new ArrayList<>();
+
+		Node(int id, NodeKind kind, String description) {
+			this.id = id;
+			this.kind = kind;
+			this.description = description;
+		}
+
+		public void addAttribute(Attribute attribute) {
+			attributes.put(attribute.getName(), attribute);
+		}
+
+		/**
+		 * @return Null if the attribute is not allowed.
+		 */
+		public Attribute getAttribute(String name) {
+			return attributes.get(name);
+		}
+
+		public List<Attribute> getAttributes() {
+			return new ArrayList<>(attributes.values());
+		}
+
+		public void addChild(String elementName, Node child) {
+			children.putIfAbsent(elementName, child.getId());
+		}
+
+		/**
+		 * @return Null if the child is not allowed, the id of its node otherwise.
+		 */
+		public Integer getChild(String elementName) {
+			return children.get(elementName);
+		}
+
+		public void addMandatoryChild(List<String> elementNames) {
+			mandatoryChildren.add(Collections.unmodifiableList(new ArrayList<>(elementNames)));
+		}
+
+		public List<List<String>> getMandatoryChildren() {
+			return Collections.unmodifiableList(mandatoryChildren);
+		}
+
+		void write(DataOutputStream data) throws IOException {
+			data.writeByte(kind.ordinal());
+			data.writeUTF(description);
+			data.writeInt(attributes.size());
+			for(Attribute attribute: attributes.values()) {
+				attribute.write(data);
+			}
+			writeIdMap(data, children);
+			data.writeInt(mandatoryChildren.size());
+			for(List<String> elementNames: mandatoryChildren) {
+				writeStrings(data, elementNames);
+			}
+		}
+
+		static Node read(int id, DataInputStream data) throws IOException {
+			Node result = new Node(id, readEnum(data, NodeKind.values()), data.readUTF());
+			int numAttributes = readSize(data);
+			for(int i = 0; i < numAttributes; ++i) {
+				result.addAttribute(Attribute.read(data));
+			}
+			result.children.putAll(readIdMap(data));
+			int numMandatoryChildren = readSize(data);
+			for(int i = 0; i < numMandatoryChildren; ++i) {
+				result.addMandatoryChild(readStrings(data));
+			}
+			return result;
+		}
+	}
+
+	public static class Attribute {
+		private final @Getter String name;
+		private final @Getter ValueType type;
+		private final @Getter boolean mandatory;
+		// Null if the attribute does not have an enum type
+		private final @Getter List<String> enumValues;
+
+		public Attribute(String name, ValueType type, boolean mandatory, List<String> enumValues) {
+			this.name = name;
+			this.type = type;
+			this.mandatory = mandatory;
+			this.enumValues = enumValues == null ? null : Collections.unmodifiableList(new ArrayList<>(enumValues));
+		}
+
+		void write(DataOutputStream data) throws IOException {
+			data.writeUTF(name);
+			data.writeByte(type.ordinal());
+			data.writeBoolean(mandatory);
+			data.writeBoolean(enumValues != null);
+			if(enumValues != null) {
+				writeStrings(data, enumValues);
+			}
+		}
+
+		static Attribute read(DataInputStream data) throws IOException {
+			String name = data.readUTF();
+			ValueType type = readEnum(data, ValueType.values());
+			boolean mandatory = data.readBoolean();
+			List<String> enumValues = data.readBoolean() ? readStrings(data) : null;
+			return new Attribute(name, type, mandatory, enumValues);
+		}
+	}
+}
@@ -0,0 +1,222 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.cmd;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.frankframework.frankdoc.cmd.ConfigIndex.Node;
+import org.frankframework.frankdoc.cmd.ConfigIndex.NodeKind;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.Severity;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.ValidationResult;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Checks Frank configurations against a {@link ConfigIndex} while streaming them with SAX. No XSD is compiled.
+ * Elements, attributes, attribute values and mandatory attributes and children are checked. The order and
+ * the number of child elements are not checked. The elements below an element that is not allowed are not
+ * checked either.
+ */
+public class FastConfigValidator {
+	private final ConfigIndex index;
+	// SAXParser is not thread safe, every thread gets its own
+	private final ThreadLocal<SAXParser> parsers = new ThreadLocal<>();
+
+	public FastConfigValidator(ConfigIndex index) {
+		this.index = index;
+	}
+
+	public static ConfigIndex readIndex(File indexFile) throws IOException {
+		try(InputStream in = new BufferedInputStream(new FileInputStream(indexFile))) {
+			return ConfigIndex.read(in);
+		}
+	}
+
+	/**
+	 * Same as {@link XmlAgainstXsdValidator#runBatch(String[])}, with a config index file instead of an XSD.
+	 */
+	static int runBatch(String[] args) {
+		return XmlAgainstXsdValidator.runBatch(args, indexFile -> new FastConfigValidator(readIndex(indexFile))::validate);
+	}
+
+	/**
+	 * Checks one file. Exceptions are reported as {@link Severity#FATAL_ERROR} in the result.
+	 */
+	public ValidationResult validate(File xmlFile) {
+		ValidationResult result = new ValidationResult(xmlFile);
+		try(InputStream in = new BufferedInputStream(new FileInputStream(xmlFile))) {
+			InputSource inputSource = new InputSource(in);
+			inputSource.setSystemId(xmlFile.getPath());
+			getParser().parse(inputSource, new Handler(result));
+		} catch(SAXParseException e) {
+			result.add(Severity.FATAL_ERROR, e);
+			parsers.remove();
+		} catch(SAXException | IOException | ParserConfigurationException e) {
+			result.add(Severity.FATAL_ERROR, -1, -1, e.toString());
+			parsers.remove();
+		}
+		return result;
+	}
+
+	private SAXParser getParser() throws ParserConfigurationException, SAXException {
+		SAXParser parser = parsers.get();
+		if(parser == null) {
+			SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			parser = factory.newSAXParser();
+			parsers.set(parser);
+		}
+		return parser;
+	}
+
+	private static class Frame {
+		final String elementName;
+		// Null if the element is not checked
+		final Node node;
+		final Set<String> seenChildren = new HashSet<>();
+
+		Frame(String elementName, Node node) {
+			this.elementName = elementName;
+			this.node = node;
+		}
+	}
+
+	private class Handler extends DefaultHandler {
+		private final ValidationResult result;
+		private final Deque<Frame> frames = new ArrayDeque<>();
+		private Locator locator;
+
+		Handler(ValidationResult result) {
+			this.result = result;
+		}
+
+		@Override
+		public void setDocumentLocator(Locator locator) {
+			this.locator = locator;
+		}
+
+		private void error(String message) {
+			result.add(Severity.ERROR, locator == null ? -1 : locator.getLineNumber(), locator == null ? -1 : locator.getColumnNumber(), message);
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) {
+			Node node = findNode(uri, localName);
+			if(node != null) {
+				checkAttributes(node, localName, attributes);
+			}
+			frames.push(new Frame(localName, node));
+		}
+
+		private Node findNode(String uri, String elementName) {
+			Frame parent = frames.peek();
+			if(parent == null) {
+				Node root = uri.isEmpty() ? index.getRoot(elementName) : null;
+				if(root == null) {
+					error(String.format("Element [%s] is not allowed as root element", elementName));
+				}
+				return root;
+			}
+			if(parent.node == null) {
+				return null;
+			}
+			parent.seenChildren.add(elementName);
+			Integer childId = uri.isEmpty() ? parent.node.getChild(elementName) : null;
+			if(childId == null) {
+				error(String.format("Element [%s] is not allowed as child of [%s]", elementName, parent.elementName));
+				return null;
+			}
+			return index.getNode(childId);
+		}
+
+		private void checkAttributes(Node node, String elementName, Attributes attributes) {
+			for(int i = 0; i < attributes.getLength(); ++i) {
+				if(! attributes.getURI(i).isEmpty()) {
+					// Attributes in other namespaces are always allowed
+					continue;
+				}
+				String name = attributes.getLocalName(i);
+				String value = attributes.getValue(i);
+				String problem = null;
+				ConfigIndex.Attribute attribute = node.getAttribute(name);
+				if(node.getKind() == NodeKind.TEXT) {
+					problem = String.format("Attribute [%s] is not allowed on element [%s]", name, elementName);
+				} else if(name.equals(ConfigIndex.ATTRIBUTE_ACTIVE)) {
+					problem = ConfigIndex.checkActiveValue(value);
+				} else if(attribute != null) {
+					problem = index.checkAttributeValue(attribute, value);
+				} else if(node.getKind() != NodeKind.GENERIC) {
+					problem = String.format("Attribute [%s] is not allowed on element [%s]", name, elementName);
+				}
+				if(problem != null) {
+					error(problem);
+				}
+			}
+			for(ConfigIndex.Attribute attribute: node.getAttributes()) {
+				if(attribute.isMandatory() && (attributes.getIndex("", attribute.getName()) < 0)) {
+					error(String.format("Element [%s] lacks mandatory attribute [%s]", elementName, attribute.getName()));
+				}
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			Frame frame = frames.peek();
+			if((frame == null) || (frame.node == null) || (frame.node.getKind() == NodeKind.TEXT)) {
+				return;
+			}
+			for(int i = start; i < start + length; ++i) {
+				if(! Character.isWhitespace(ch[i])) {
+					error(String.format("Element [%s] cannot have text", frame.elementName));
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) {
+			Frame frame = frames.pop();
+			if(frame.node == null) {
+				return;
+			}
+			for(List<String> elementNames: frame.node.getMandatoryChildren()) {
+				if(elementNames.stream().noneMatch(frame.seenChildren::contains)) {
+					error(String.format("Element [%s] lacks a mandatory child, one of %s", frame.elementName, elementNames));
+				}
+			}
+		}
+	}
+}
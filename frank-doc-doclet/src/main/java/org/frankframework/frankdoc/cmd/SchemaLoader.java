@@ -0,0 +1,111 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.cmd;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.xml.sax.SAXException;
+
+/**
+ * Compiles XSDs, skipping the checks that were done before. Most of the time that {@link SchemaFactory} needs
+ * for a large XSD like <code>FrankConfig.xsd</code> goes to schema full checking: the checks of the particles
+ * and of the unique particle attribution constraint. The doclet does these once when it writes the XSD, see
+ * {@link #checkAndMark(File)}. Then it writes a marker file next to the XSD that holds the hash of the XSD.
+ * When the marker matches the XSD, {@link #load(File)} compiles the XSD without full checking. Without a
+ * matching marker, the XSD is checked fully as usual.
+ * <p>
+ * The grammars of the Xerces implementation of the JDK are not serializable, so the compiled schema itself
+ * cannot be stored.
+ */
+public final class SchemaLoader {
+	public static final String MARKER_SUFFIX = ".checked";
+	private static final String MARKER_HEADER = "Frank!Doc checked XSD, format 1";
+	private static final String FEATURE_SCHEMA_FULL_CHECKING = "http://apache.org/xml/features/validation/schema-full-checking";
+
+	private SchemaLoader() {
+	}
+
+	public static File markerFileOf(File xsd) {
+		return new File(xsd.getPath() + MARKER_SUFFIX);
+	}
+
+	/**
+	 * Compiles the XSD, without full checking when the XSD was checked by {@link #checkAndMark(File)}.
+	 */
+	public static Schema load(File xsd) throws IOException, SAXException {
+		return compile(xsd, ! hasMatchingMarker(xsd));
+	}
+
+	/**
+	 * Compiles the XSD with full checking and writes the marker file. Nothing is done if the marker already
+	 * matches the XSD. If the XSD is invalid, an exception is thrown and an existing marker is removed.
+	 */
+	public static void checkAndMark(File xsd) throws IOException, SAXException {
+		if(hasMatchingMarker(xsd)) {
+			return;
+		}
+		File marker = markerFileOf(xsd);
+		Files.deleteIfExists(marker.toPath());
+		compile(xsd, true);
+		Files.write(marker.toPath(), Arrays.asList(MARKER_HEADER, hashOf(xsd)), StandardCharsets.UTF_8);
+	}
+
+	static boolean hasMatchingMarker(File xsd) throws IOException {
+		File marker = markerFileOf(xsd);
+		if(! marker.isFile()) {
+			return false;
+		}
+		List<String> lines = Files.readAllLines(marker.toPath(), StandardCharsets.UTF_8);
+		return (lines.size() >= 2) && lines.get(0).equals(MARKER_HEADER) && lines.get(1).equals(hashOf(xsd));
+	}
+
+	private static Schema compile(File xsd, boolean fullChecking) throws IOException, SAXException {
+		SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		sf.setFeature(FEATURE_SCHEMA_FULL_CHECKING, fullChecking);
+		return sf.newSchema(xsd.toURI().toURL());
+	}
+
+	private static String hashOf(File f) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Every Java platform supports SHA-256", e);
+		}
+		byte[] buffer = new byte[8192];
+		try(InputStream in = new DigestInputStream(Files.newInputStream(f.toPath()), digest)) {
+			while(in.read(buffer) != -1) {
+				// The digest is updated while reading
+			}
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+}
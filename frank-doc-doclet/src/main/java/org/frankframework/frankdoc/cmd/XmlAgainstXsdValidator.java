@@ -19,13 +19,33 @@ package org.frankframework.frankdoc.cmd;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.ValidatorHandler;
 
 import org.xml.sax.ContentHandler;
@@ -36,47 +56,241 @@ import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.ext.LexicalHandler;
 
+import lombok.Getter;
+
+/**
+ * Validates XML files against an XSD. Without option <code>-batch</code>, one XML file is validated against
+ * one XSD. With <code>-batch</code>, the XSD is compiled once and all XML files in the given files and directories
+ * are validated in parallel. Each thread has its own {@link ValidatorHandler}, because these are not thread safe.
+ * The exit code is 0 if all files are valid, 1 if some file is invalid or could not be validated and 2 if
+ * the arguments are wrong. In batch mode, option <code>-report</code> writes the result of each file as JSON.
+ * With option <code>-fast</code>, alone or after <code>-batch</code>, the files are checked against a {@link ConfigIndex}
+ * by {@link FastConfigValidator}, without compiling an XSD.
+ */
 public class XmlAgainstXsdValidator {
+	static final int EXIT_VALID = 0;
+	static final int EXIT_INVALID = 1;
+	static final int EXIT_USAGE = 2;
+
+	private static final String OPTION_BATCH = "-batch";
+	private static final String OPTION_FAST = "-fast";
+	private static final String OPTION_THREADS = "-threads";
+	private static final String OPTION_REPORT = "-report";
+
+	public static enum Severity {
+		WARNING,
+		ERROR,
+		FATAL_ERROR;
+	}
+
+	private final Schema schema;
+	private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+
+	public XmlAgainstXsdValidator(Schema schema) {
+		this.schema = schema;
+	}
+
 	public static void main(String[] argv) {
+		System.exit(run(argv));
+	}
+
+	/**
+	 * @return The exit code.
+	 */
+	static int run(String[] argv) {
+		int numBatchOptions = 0;
+		boolean fast = false;
+		while((numBatchOptions < argv.length) && (argv[numBatchOptions].equals(OPTION_BATCH) || argv[numBatchOptions].equals(OPTION_FAST))) {
+			fast |= argv[numBatchOptions].equals(OPTION_FAST);
+			++numBatchOptions;
+		}
+		if(numBatchOptions > 0) {
+			String[] batchArgs = Arrays.copyOfRange(argv, numBatchOptions, argv.length);
+			return fast ? FastConfigValidator.runBatch(batchArgs) : runBatch(batchArgs);
+		}
+		if(argv.length != 2) {
+			printUsage();
+			return EXIT_USAGE;
+		}
 		try {
-			if((argv.length <= 0) || (argv.length >= 3)) {
-				printUsage();
-				System.exit(2);
-			} else {
-				if(! checkXmlAgainstXsd(argv[0], argv[1])) {
-					System.exit(1);
-				}
-			}
+			XmlAgainstXsdValidator validator = new XmlAgainstXsdValidator(compileSchema(new File(argv[1])));
+			ValidationResult result = validator.validate(new File(argv[0]));
+			result.print(System.out);
+			return result.isValid() ? EXIT_VALID : EXIT_INVALID;
 		}
 		catch(Exception e) {
 			System.out.println(String.format("Failed validating XML file [%s] against XSD [%s]: ", argv[0], argv[1]));
 			e.printStackTrace();
-			System.exit(1);
+			return EXIT_INVALID;
 		}
 	}
 
 	public static void printUsage() {
 		System.out.println("Usage: java -jar <name-of-jar-file-containing-this-class> <fileNameXml> <fileNameXsd>");
+		System.out.println("   or: java -jar <name-of-jar-file-containing-this-class> -batch [-threads <n>] [-report <fileNameJson>] <fileNameXsd> <fileOrDirectoryXml>...");
+		System.out.println("   or: java -jar <name-of-jar-file-containing-this-class> [-batch] -fast [-threads <n>] [-report <fileNameJson>] <fileNameConfigIndex> <fileOrDirectoryXml>...");
+	}
+
+	/**
+	 * Creates the function that validates one file against the given XSD or other kind of schema.
+	 */
+	@FunctionalInterface
+	interface FileValidatorFactory {
+		Function<File, ValidationResult> create(File schema) throws Exception;
+	}
+
+	static int runBatch(String[] args) {
+		return runBatch(args, xsd -> new XmlAgainstXsdValidator(compileSchema(xsd))::validate);
+	}
+
+	/**
+	 * Validates the files and directories of the arguments in parallel, see {@link #printUsage()}.
+	 * @return The exit code.
+	 */
+	static int runBatch(String[] args, FileValidatorFactory validatorFactory) {
+		int threads = Runtime.getRuntime().availableProcessors();
+		File reportFile = null;
+		List<String> positional = new ArrayList<>();
+		try {
+			for(int i = 0; i < args.length; ++i) {
+				if(args[i].equals(OPTION_THREADS)) {
+					threads = Integer.parseInt(args[++i]);
+				} else if(args[i].equals(OPTION_REPORT)) {
+					reportFile = new File(args[++i]);
+				} else {
+					positional.add(args[i]);
+				}
+			}
+		} catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			printUsage();
+			return EXIT_USAGE;
+		}
+		if((positional.size() < 2) || (threads < 1)) {
+			printUsage();
+			return EXIT_USAGE;
+		}
+		File schema = new File(positional.get(0));
+		try {
+			List<File> xmlFiles = findXmlFiles(positional.subList(1, positional.size()));
+			List<ValidationResult> results = validateAll(validatorFactory.create(schema), xmlFiles, threads);
+			results.forEach(result -> result.print(System.out));
+			long numInvalid = results.stream().filter(result -> ! result.isValid()).count();
+			System.out.println(String.format("Validated [%d] XML files against [%s], [%d] invalid", results.size(), schema.getPath(), numInvalid));
+			if(reportFile != null) {
+				try(Writer writer = new OutputStreamWriter(Files.newOutputStream(reportFile.toPath()), StandardCharsets.UTF_8)) {
+					writeReport(schema, results, writer);
+				}
+			}
+			return numInvalid == 0 ? EXIT_VALID : EXIT_INVALID;
+		} catch(Exception e) {
+			System.out.println(String.format("Failed validating XML files against [%s]: ", schema.getPath()));
+			e.printStackTrace();
+			return EXIT_INVALID;
+		}
+	}
+
+	/**
+	 * The given files and the files with extension <code>.xml</code> in the given directories, including subdirectories.
+	 */
+	static List<File> findXmlFiles(List<String> filesAndDirectories) throws IOException {
+		List<File> result = new ArrayList<>();
+		for(String name: filesAndDirectories) {
+			File f = new File(name);
+			if(f.isDirectory()) {
+				try(Stream<Path> paths = Files.walk(f.toPath())) {
+					paths.filter(Files::isRegularFile)
+							.filter(p -> p.getFileName().toString().toLowerCase().endsWith(".xml"))
+							.sorted()
+							.forEach(p -> result.add(p.toFile()));
+				}
+			} else {
+				result.add(f);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Compiles the XSD, skipping full checking if the doclet did it already. See {@link SchemaLoader}.
+	 */
+	public static Schema compileSchema(File xsd) throws IOException, SAXException {
+		return SchemaLoader.load(xsd);
+	}
+
+	/**
+	 * Validates the files using the given number of threads. The results are in the order of the files.
+	 */
+	public List<ValidationResult> validateAll(List<File> xmlFiles, int threads) throws InterruptedException {
+		return validateAll(this::validate, xmlFiles, threads);
 	}
 
-	private static boolean checkXmlAgainstXsd(String fileNameXml, String fileNameXsd) throws ParserConfigurationException, SAXException, IOException {
-		ValidatorHandler validatorHandler = getValidatorHandler(fileToUrl(new File(fileNameXsd)));
-		CustomErrorHandler errorHandler = new CustomErrorHandler();
-		validatorHandler.setErrorHandler(errorHandler);
-		InputSource inputSource = fileToInputSource(new File(fileNameXml));
-		XMLReader xmlReader = registerContentHandler(getXmlReader(), getValidatorHandler(fileToUrl(new File(fileNameXsd))));
-		xmlReader.parse(inputSource);
-		return ! errorHandler.hasErrors;
+	static List<ValidationResult> validateAll(Function<File, ValidationResult> validator, List<File> xmlFiles, int threads) throws InterruptedException {
+		if((threads == 1) || (xmlFiles.size() <= 1)) {
+			return xmlFiles.stream().map(validator).collect(Collectors.toList());
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, xmlFiles.size()));
+		try {
+			List<Future<ValidationResult>> futures = xmlFiles.stream()
+					.map(f -> executor.submit(() -> validator.apply(f)))
+					.collect(Collectors.toList());
+			List<ValidationResult> results = new ArrayList<>();
+			for(Future<ValidationResult> future: futures) {
+				try {
+					results.add(future.get());
+				} catch(ExecutionException e) {
+					// validate() does not throw exceptions, only errors
+					throw new IllegalStateException("Unexpected failure while validating", e.getCause());
+				}
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
 	}
 
-	private static URL fileToUrl(File f) throws IOException {
-		return f.toURI().toURL();
+	/**
+	 * Validates one file. Exceptions are reported as {@link Severity#FATAL_ERROR} in the result.
+	 */
+	public ValidationResult validate(File xmlFile) {
+		ValidationResult result = new ValidationResult(xmlFile);
+		CollectingErrorHandler errorHandler = new CollectingErrorHandler(result);
+		try {
+			Worker worker = getWorker();
+			worker.validatorHandler.setErrorHandler(errorHandler);
+			worker.xmlReader.setErrorHandler(errorHandler);
+			try(InputStream in = new FileInputStream(xmlFile)) {
+				worker.xmlReader.parse(fileToInputSource(xmlFile, in));
+			}
+		} catch(SAXParseException e) {
+			if(! errorHandler.hasFatalError) {
+				result.add(Severity.FATAL_ERROR, e);
+			}
+			// The parser may be left in an inconsistent state
+			workers.remove();
+		} catch(SAXException | IOException | ParserConfigurationException e) {
+			result.add(Severity.FATAL_ERROR, -1, -1, e.toString());
+			workers.remove();
+		}
+		return result;
 	}
 
-	private static ValidatorHandler getValidatorHandler(URL schemaURL) throws SAXException {
-		SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-		Schema schema = sf.newSchema(schemaURL); 
-		return schema.newValidatorHandler();
+	private Worker getWorker() throws ParserConfigurationException, SAXException {
+		Worker worker = workers.get();
+		if(worker == null) {
+			worker = new Worker();
+			workers.set(worker);
+		}
+		return worker;
+	}
+
+	private class Worker {
+		final ValidatorHandler validatorHandler;
+		final XMLReader xmlReader;
+
+		Worker() throws ParserConfigurationException, SAXException {
+			validatorHandler = schema.newValidatorHandler();
+			xmlReader = registerContentHandler(getXmlReader(), validatorHandler);
+		}
 	}
 
 	private static XMLReader registerContentHandler(XMLReader xmlReader, ContentHandler handler) throws SAXException {
@@ -100,33 +314,110 @@ public class XmlAgainstXsdValidator {
 		return xmlReader;
 	}
 
-	private static InputSource fileToInputSource(File f) throws IOException {
-		InputSource inputSource = new InputSource(new FileInputStream(f));
+	private static InputSource fileToInputSource(File f, InputStream in) {
+		InputSource inputSource = new InputSource(in);
 		inputSource.setSystemId(f.getPath());
 		return inputSource;
 	}
 
-	private static class CustomErrorHandler implements ErrorHandler {
-		boolean hasErrors = false;
+	static void writeReport(File schema, List<ValidationResult> results, Writer writer) {
+		Map<String, Object> properties = new HashMap<>(1);
+		properties.put(JsonGenerator.PRETTY_PRINTING, true);
+		try(JsonGenerator g = Json.createGeneratorFactory(properties).createGenerator(writer)) {
+			g.writeStartObject();
+			g.write("schema", schema.getPath());
+			g.write("files", results.size());
+			g.write("invalid", results.stream().filter(result -> ! result.isValid()).count());
+			g.writeStartArray("results");
+			for(ValidationResult result: results) {
+				g.writeStartObject();
+				g.write("file", result.getFile().getPath());
+				g.write("valid", result.isValid());
+				g.writeStartArray("issues");
+				for(Issue issue: result.getIssues()) {
+					g.writeStartObject();
+					g.write("severity", issue.getSeverity().name());
+					g.write("line", issue.getLine());
+					g.write("column", issue.getColumn());
+					g.write("message", issue.getMessage());
+					g.writeEnd();
+				}
+				g.writeEnd();
+				g.writeEnd();
+			}
+			g.writeEnd();
+			g.writeEnd();
+		}
+	}
+
+	public static class ValidationResult {
+		private final @Getter File file;
+		private final List<Issue> issues = new ArrayList<>();
+
+		ValidationResult(File file) {
+			this.file = file;
+		}
+
+		void add(Severity severity, SAXParseException e) {
+			add(severity, e.getLineNumber(), e.getColumnNumber(), e.getMessage());
+		}
+
+		void add(Severity severity, int line, int column, String message) {
+			issues.add(new Issue(severity, line, column, message));
+		}
+
+		public List<Issue> getIssues() {
+			return Collections.unmodifiableList(issues);
+		}
+
+		public boolean isValid() {
+			return issues.stream().allMatch(issue -> issue.getSeverity() == Severity.WARNING);
+		}
+
+		void print(PrintStream out) {
+			for(Issue issue: issues) {
+				out.println(String.format("%s in [%s] at line %d, column %d: %s", issue.getSeverity(), file.getPath(), issue.getLine(), issue.getColumn(), issue.getMessage()));
+			}
+		}
+	}
+
+	public static class Issue {
+		private final @Getter Severity severity;
+		private final @Getter int line;
+		private final @Getter int column;
+		private final @Getter String message;
+
+		Issue(Severity severity, int line, int column, String message) {
+			this.severity = severity;
+			this.line = line;
+			this.column = column;
+			this.message = message == null ? "" : message;
+		}
+	}
+
+	private static class CollectingErrorHandler implements ErrorHandler {
+		private final ValidationResult result;
+		boolean hasFatalError = false;
+
+		CollectingErrorHandler(ValidationResult result) {
+			this.result = result;
+		}
 
 		@Override
 		public void warning(SAXParseException exception) throws SAXException {
-			System.out.println("Warning encountered:");
-			exception.printStackTrace();
+			result.add(Severity.WARNING, exception);
 		}
 
 		@Override
 		public void error(SAXParseException exception) throws SAXException {
-			System.out.println("Error encountered:");
-			exception.printStackTrace();
-			hasErrors = true;
+			result.add(Severity.ERROR, exception);
 		}
 
 		@Override
 		public void fatalError(SAXParseException exception) throws SAXException {
-			System.out.println("Fatal error encountered:");
-			exception.printStackTrace();
-			hasErrors = true;
+			result.add(Severity.FATAL_ERROR, exception);
+			hasFatalError = true;
+			throw exception;
 		}
 	}
 }
@@ -0,0 +1,296 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+package org.frankframework.frankdoc.doclet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.Logger;
+import org.frankframework.frankdoc.util.LogUtil;
+import org.frankframework.frankdoc.wrapper.FrankDocException;
+
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ConstructorDoc;
+import com.sun.javadoc.ExecutableMemberDoc;
+import com.sun.javadoc.FieldDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.Type;
+
+/**
+ * Binary file in the output directory that remembers the inputs and the outputs of the previous run
+ * of the doclet. The inputs are a content hash of every class, calculated from its signatures, annotations
+ * and JavaDoc, and a hash of the settings like the digester rules and the Frank!Framework version. The classes
+ * are the classes javadoc was run on and their ancestors outside that set, like classes from a jar. When
+ * nothing changed and the output files were not touched, the doclet can skip populating the model and
+ * writing the output files. The paths of the output files are stored relative to the directory of the cache
+ * file, so the cache remains valid when the output directory is moved.
+ *
+ * The cache only skips runs in which nothing changed. When one class changed, the doclet populates the
+ * whole model and writes all output files again. The model calculates properties that involve many elements,
+ * like the names of XML elements and the common interfaces of config children, so one changed class can change
+ * the output for other classes.
+ */
+class BuildCache {
+	private static final Logger log = LogUtil.getLogger(BuildCache.class);
+	private static final String MAGIC = "FrankDocBuildCache";
+	private static final int FORMAT_VERSION = 2;
+	private static final String HASH_ALGORITHM = "SHA-256";
+	private static final String ANCESTOR_PREFIX = "ancestor ";
+
+	private final File cacheFile;
+	private final Path baseDirectory;
+	private final byte[] settingsHash;
+	private final Map<String, byte[]> classHashes = new TreeMap<>();
+
+	BuildCache(File cacheFile, ClassDoc[] classes, List<String> settings) throws FrankDocException {
+		this.cacheFile = cacheFile;
+		this.baseDirectory = cacheFile.getAbsoluteFile().getParentFile().toPath();
+		MessageDigest digest = newDigest();
+		settings.forEach(s -> update(digest, s));
+		settingsHash = digest.digest();
+		for(ClassDoc clazz: classes) {
+			classHashes.put(clazz.qualifiedName(), hashOf(clazz));
+		}
+		for(ClassDoc clazz: classes) {
+			addAncestorHashes(clazz);
+		}
+	}
+
+	// A change in a superclass or interface from a jar can change the output too. These ancestors are
+	// stored with a prefix, so removing a class from the source set is still noticed when it is an ancestor.
+	private void addAncestorHashes(ClassDoc clazz) throws FrankDocException {
+		List<ClassDoc> ancestors = new ArrayList<>(Arrays.asList(clazz.interfaces()));
+		if(clazz.superclass() != null) {
+			ancestors.add(clazz.superclass());
+		}
+		for(ClassDoc ancestor: ancestors) {
+			String key = ANCESTOR_PREFIX + ancestor.qualifiedName();
+			if(! classHashes.containsKey(ancestor.qualifiedName()) && ! classHashes.containsKey(key)) {
+				classHashes.put(key, hashOf(ancestor));
+				addAncestorHashes(ancestor);
+			}
+		}
+	}
+
+	boolean isUpToDate(List<File> outputFiles) {
+		if(! cacheFile.exists()) {
+			log.info("No build cache [{}], running the doclet", cacheFile.getAbsolutePath());
+			return false;
+		}
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if((! MAGIC.equals(in.readUTF())) || (in.readInt() != FORMAT_VERSION)) {
+				log.info("Build cache [{}] has an unknown format, running the doclet", cacheFile.getAbsolutePath());
+				return false;
+			}
+			if(! Arrays.equals(settingsHash, readBytes(in))) {
+				log.info("Settings changed since the previous run, running the doclet");
+				return false;
+			}
+			Map<String, byte[]> previousClassHashes = new TreeMap<>();
+			int numClasses = in.readInt();
+			for(int i = 0; i < numClasses; ++i) {
+				previousClassHashes.put(in.readUTF(), readBytes(in));
+			}
+			if(! sameClassHashes(previousClassHashes)) {
+				return false;
+			}
+			int numOutputFiles = in.readInt();
+			List<String> previousOutputFiles = new ArrayList<>();
+			for(int i = 0; i < numOutputFiles; ++i) {
+				String path = in.readUTF();
+				previousOutputFiles.add(path);
+				File outputFile = baseDirectory.resolve(path).toFile();
+				if((! outputFile.isFile()) || (! Arrays.equals(hashOf(outputFile), readBytes(in)))) {
+					log.info("Output file [{}] is missing or was modified since the previous run, running the doclet", path);
+					return false;
+				}
+			}
+			if(! previousOutputFiles.equals(pathsOf(outputFiles))) {
+				log.info("Output files changed since the previous run, running the doclet");
+				return false;
+			}
+			return true;
+		} catch(IOException | FrankDocException e) {
+			log.warn("Could not read build cache [{}], running the doclet", cacheFile.getAbsolutePath(), e);
+			return false;
+		}
+	}
+
+	private boolean sameClassHashes(Map<String, byte[]> previousClassHashes) {
+		List<String> changed = new ArrayList<>();
+		for(Map.Entry<String, byte[]> entry: classHashes.entrySet()) {
+			byte[] previous = previousClassHashes.get(entry.getKey());
+			if((previous == null) || (! Arrays.equals(previous, entry.getValue()))) {
+				changed.add(entry.getKey());
+			}
+		}
+		long numRemoved = previousClassHashes.keySet().stream().filter(c -> ! classHashes.containsKey(c)).count();
+		if(changed.isEmpty() && (numRemoved == 0)) {
+			return true;
+		}
+		log.info("Since the previous run [{}] classes were added or modified and [{}] classes were removed, running the doclet", changed.size(), numRemoved);
+		if(log.isDebugEnabled()) {
+			changed.forEach(c -> log.debug("Added or modified: [{}]", c));
+		}
+		return false;
+	}
+
+	void write(List<File> outputFiles) throws FrankDocException {
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+			out.writeUTF(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			writeBytes(out, settingsHash);
+			out.writeInt(classHashes.size());
+			for(Map.Entry<String, byte[]> entry: classHashes.entrySet()) {
+				out.writeUTF(entry.getKey());
+				writeBytes(out, entry.getValue());
+			}
+			out.writeInt(outputFiles.size());
+			for(File outputFile: outputFiles) {
+				out.writeUTF(relativePathOf(outputFile));
+				writeBytes(out, hashOf(outputFile));
+			}
+		} catch(IOException e) {
+			// Do not leave a partial cache file that might be trusted by the next run
+			cacheFile.delete();
+			throw new FrankDocException(String.format("Could not write build cache [%s]", cacheFile.getPath()), e);
+		}
+		log.info("Wrote build cache [{}]", cacheFile.getAbsolutePath());
+	}
+
+	private List<String> pathsOf(List<File> files) {
+		List<String> result = new ArrayList<>();
+		files.forEach(f -> result.add(relativePathOf(f)));
+		return result;
+	}
+
+	// With forward slashes, so the cache can also be used on another operating system
+	private String relativePathOf(File file) {
+		return baseDirectory.relativize(file.getAbsoluteFile().toPath()).toString().replace(File.separatorChar, '/');
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] result = new byte[in.readUnsignedShort()];
+		in.readFully(result);
+		return result;
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	static byte[] hashOf(File file) throws FrankDocException {
+		try(InputStream in = new FileInputStream(file)) {
+			return hashOf(in);
+		} catch(IOException e) {
+			throw new FrankDocException(String.format("Could not read file [%s] to calculate its hash", file.getPath()), e);
+		}
+	}
+
+	static byte[] hashOf(InputStream in) throws IOException, FrankDocException {
+		MessageDigest digest = newDigest();
+		byte[] buffer = new byte[8192];
+		int numRead;
+		while((numRead = in.read(buffer)) != -1) {
+			digest.update(buffer, 0, numRead);
+		}
+		return digest.digest();
+	}
+
+	static byte[] hashOf(ClassDoc clazz) throws FrankDocException {
+		MessageDigest digest = newDigest();
+		update(digest, (ProgramElementDoc) clazz);
+		update(digest, clazz.superclassType());
+		for(Type interfaceType: clazz.interfaceTypes()) {
+			update(digest, interfaceType);
+		}
+		for(FieldDoc field: clazz.fields(false)) {
+			update(digest, field);
+			update(digest, field.type());
+			update(digest, field.constantValueExpression());
+		}
+		for(FieldDoc enumConstant: clazz.enumConstants()) {
+			update(digest, enumConstant);
+		}
+		for(ConstructorDoc constructor: clazz.constructors(false)) {
+			update(digest, constructor);
+		}
+		for(MethodDoc method: clazz.methods(false)) {
+			update(digest, method);
+			update(digest, method.returnType());
+		}
+		return digest.digest();
+	}
+
+	private static void update(MessageDigest digest, ExecutableMemberDoc member) {
+		update(digest, (ProgramElementDoc) member);
+		update(digest, member.signature());
+		for(Parameter parameter: member.parameters()) {
+			for(AnnotationDesc annotation: parameter.annotations()) {
+				update(digest, annotation.toString());
+			}
+		}
+	}
+
+	private static void update(MessageDigest digest, ProgramElementDoc element) {
+		update(digest, element.name());
+		update(digest, element.modifiers());
+		for(AnnotationDesc annotation: element.annotations()) {
+			update(digest, annotation.toString());
+		}
+		update(digest, element.getRawCommentText());
+	}
+
+	private static void update(MessageDigest digest, Type type) {
+		update(digest, type == null ? null : type.toString());
+	}
+
+	// Every value is terminated, so that moving text from one value to the next changes the hash
+	private static void update(MessageDigest digest, String value) {
+		if(value != null) {
+			digest.update(value.getBytes(StandardCharsets.UTF_8));
+		}
+		digest.update((byte) 0);
+	}
+
+	static MessageDigest newDigest() throws FrankDocException {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch(NoSuchAlgorithmException e) {
+			throw new FrankDocException(String.format("Hash algorithm [%s] is not available", HASH_ALGORITHM), e);
+		}
+	}
+}
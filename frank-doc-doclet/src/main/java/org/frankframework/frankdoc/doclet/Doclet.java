@@ -18,117 +18,417 @@ package org.frankframework.frankdoc.doclet;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-import javax.json.JsonObject;
+import javax.json.JsonException;
+
+import org.xml.sax.SAXException;
 
 import org.apache.logging.log4j.Logger;
 
 import com.sun.javadoc.ClassDoc;
 
 import org.frankframework.frankdoc.AttributeTypeStrategy;
+import org.frankframework.frankdoc.ConfigIndexFactory;
 import org.frankframework.frankdoc.DocWriterNew;
 import org.frankframework.frankdoc.FrankDocElementSummaryFactory;
 import org.frankframework.frankdoc.FrankDocJsonFactory;
+import org.frankframework.frankdoc.FrankDocSearchIndexFactory;
+import org.frankframework.frankdoc.XsdSchemaPlan;
 import org.frankframework.frankdoc.XsdVersion;
+import org.frankframework.frankdoc.cmd.ConfigIndex;
+import org.frankframework.frankdoc.cmd.SchemaLoader;
 import org.frankframework.frankdoc.wrapper.FrankClassRepository;
 import org.frankframework.frankdoc.wrapper.FrankDocException;
+import org.frankframework.frankdoc.model.FrankDocGroup;
 import org.frankframework.frankdoc.model.FrankDocModel;
 import org.frankframework.frankdoc.model.FrankElementFilters;
+import org.frankframework.frankdoc.util.ErrorDetectingAppender;
 import org.frankframework.frankdoc.util.LogUtil;
-import org.frankframework.frankdoc.Utils;
 
 class Doclet {
 	private static final Logger log = LogUtil.getLogger(Doclet.class);
+	private static final String DIGEST_DIRECTORY = ".frankdoc-digests";
+	private static final String JSON_SHARD_INDEX = "index.json";
+	private static final String JSON_SHARD_SUBDIRECTORY = "elements";
+
+	@FunctionalInterface
+	private interface OutputWriter {
+		void write() throws FrankDocException;
+	}
 
 	private final FrankDocModel model;
+	// Shared by the XSD writers, null if the output is up to date
+	private final XsdSchemaPlan.Factory xsdSchemaPlanFactory;
 	private final File xsdStrictFile;
 	private final File xsdCompatibilityFile;
+	private final Map<XsdFlavour, File> xsdFlavourFiles = new LinkedHashMap<>();
+	// Only has the flavours that write their documentation to a separate file
+	private final Map<XsdFlavour, File> xsdDocumentationFiles = new LinkedHashMap<>();
+	private final boolean precompileXsds;
+	private final boolean deduplicateXsds;
 	private final File jsonFile;
+	// Null if the JSON should not be sharded
+	private final File jsonShardsDirectory;
+	private final boolean jsonInheritance;
+	// Null if no search index should be written
+	private final File jsonSearchIndexFile;
+	// Null if no config index should be written
+	private final File configIndexFile;
 	private final File elementSummaryFile;
 	private final String frankFrameworkVersion;
+	private final int threads;
+	private final BuildCache buildCache;
+	// Null if output files should always be written
+	private final File digestDirectory;
+	private final boolean upToDate;
 
 	Doclet(ClassDoc[] classes, FrankDocletOptions options) throws FrankDocException {
 		log.info("Output base directory is: [{}]", options.getOutputBaseDir());
 		try {
-			FrankClassRepository repository = FrankClassRepository.getDocletInstance(
-					classes, FrankElementFilters.getIncludeFilter(), FrankElementFilters.getExcludeFilter(), FrankElementFilters.getExcludeFiltersForSuperclass());
-			model = FrankDocModel.populate(options.getDigesterRulesUrl(), options.getRootClass(), repository);
 			File outputBaseDir = new File(options.getOutputBaseDir());
 			outputBaseDir.mkdirs();
 			xsdStrictFile = new File(outputBaseDir, options.getXsdStrictPath());
 			xsdStrictFile.getParentFile().mkdirs();
 			xsdCompatibilityFile = new File(outputBaseDir, options.getXsdCompatibilityPath());
 			xsdCompatibilityFile.getParentFile().mkdirs();
+			for(XsdFlavour xsdFlavour: options.getXsdFlavours()) {
+				File xsdFlavourFile = new File(outputBaseDir, xsdFlavour.getPath());
+				xsdFlavourFile.getParentFile().mkdirs();
+				xsdFlavourFiles.put(xsdFlavour, xsdFlavourFile);
+				if(xsdFlavour.getSidecarPath() != null) {
+					xsdDocumentationFiles.put(xsdFlavour, new File(outputBaseDir, xsdFlavour.getSidecarPath()));
+				}
+			}
 			jsonFile = new File(outputBaseDir, options.getJsonOutputPath());
 			jsonFile.getParentFile().mkdirs();
+			if(options.getJsonShardsPath() == null) {
+				jsonShardsDirectory = null;
+			} else {
+				jsonShardsDirectory = new File(outputBaseDir, options.getJsonShardsPath());
+				new File(jsonShardsDirectory, JSON_SHARD_SUBDIRECTORY).mkdirs();
+			}
 			elementSummaryFile = new File(outputBaseDir, options.getElementSummaryPath());
 			elementSummaryFile.getParentFile().mkdirs();
+			jsonInheritance = options.isJsonInheritance();
+			precompileXsds = options.isPrecompileXsds();
+			deduplicateXsds = options.isDeduplicateXsds();
+			if(options.getJsonSearchIndexPath() == null) {
+				jsonSearchIndexFile = null;
+			} else {
+				jsonSearchIndexFile = new File(outputBaseDir, options.getJsonSearchIndexPath());
+				jsonSearchIndexFile.getParentFile().mkdirs();
+			}
+			if(options.getConfigIndexPath() == null) {
+				configIndexFile = null;
+			} else {
+				configIndexFile = new File(outputBaseDir, options.getConfigIndexPath());
+				configIndexFile.getParentFile().mkdirs();
+			}
 			frankFrameworkVersion = options.getFrankFrameworkVersion();
+			threads = options.getThreads();
+			digestDirectory = options.isSkipUnchangedOutput() ? new File(outputBaseDir, DIGEST_DIRECTORY) : null;
+			if(options.getCachePath() == null) {
+				buildCache = null;
+				upToDate = false;
+			} else {
+				buildCache = new BuildCache(new File(outputBaseDir, options.getCachePath()), classes, getCacheSettings(options));
+				upToDate = buildCache.isUpToDate(getOutputFiles());
+			}
+			if(upToDate) {
+				model = null;
+				xsdSchemaPlanFactory = null;
+			} else {
+				FrankClassRepository repository = FrankClassRepository.getDocletInstance(
+						classes, FrankElementFilters.getIncludeFilter(), FrankElementFilters.getExcludeFilter(), FrankElementFilters.getExcludeFiltersForSuperclass());
+				model = FrankDocModel.populate(options.getDigesterRulesUrl(), options.getRootClass(), repository);
+				xsdSchemaPlanFactory = new XsdSchemaPlan.Factory(model);
+			}
 		} catch(SecurityException e) {
 			throw new FrankDocException("SecurityException occurred initializing the output directory", e);
 		}
 	}
 
+	/**
+	 * Everything besides the Java sources that determines the output. The output file paths are checked separately.
+	 */
+	private static List<String> getCacheSettings(FrankDocletOptions options) throws FrankDocException {
+		List<String> result = new ArrayList<>();
+		result.add(options.getRootClass());
+		result.add(options.getFrankFrameworkVersion());
+		result.add(Boolean.toString(options.isJsonInheritance()));
+		options.getXsdFlavours().forEach(xsdFlavour -> result.add(xsdFlavour.toString()));
+		result.add(Boolean.toString(options.isPrecompileXsds()));
+		result.add(Boolean.toString(options.isDeduplicateXsds()));
+		try(InputStream digesterRules = options.getDigesterRulesUrl().openStream()) {
+			result.add(Base64.getEncoder().encodeToString(BuildCache.hashOf(digesterRules)));
+		} catch(IOException e) {
+			throw new FrankDocException(String.format("Could not read digester rules [%s]", options.getDigesterRulesUrl()), e);
+		}
+		// A new version of the doclet can produce different output for the same input
+		result.add(Doclet.class.getPackage().getImplementationVersion());
+		URL docletLocation = Doclet.class.getProtectionDomain().getCodeSource().getLocation();
+		try {
+			File docletJar = new File(docletLocation.toURI());
+			if(docletJar.isFile()) {
+				result.add(Base64.getEncoder().encodeToString(BuildCache.hashOf(docletJar)));
+			}
+		} catch(URISyntaxException | IllegalArgumentException e) {
+			log.warn("Cannot include the doclet jar [{}] in the hash of the settings", docletLocation, e);
+		}
+		return result;
+	}
+
+	private List<File> getOutputFiles() {
+		List<File> result = new ArrayList<>(Arrays.asList(xsdStrictFile, xsdCompatibilityFile, jsonFile, elementSummaryFile));
+		result.addAll(xsdFlavourFiles.values());
+		result.addAll(xsdDocumentationFiles.values());
+		if(precompileXsds) {
+			getXsdFiles().forEach(xsd -> result.add(SchemaLoader.markerFileOf(xsd)));
+		}
+		if(jsonShardsDirectory != null) {
+			result.add(new File(jsonShardsDirectory, JSON_SHARD_INDEX));
+			result.addAll(getJsonShardFiles());
+		}
+		if(jsonSearchIndexFile != null) {
+			result.add(jsonSearchIndexFile);
+		}
+		if(configIndexFile != null) {
+			result.add(configIndexFile);
+		}
+		return result;
+	}
+
+	// Sorted, so that the build cache can compare the list with the list of the previous run
+	private List<File> getJsonShardFiles() {
+		File[] shardFiles = new File(jsonShardsDirectory, JSON_SHARD_SUBDIRECTORY).listFiles((dir, name) -> name.endsWith(".json"));
+		if(shardFiles == null) {
+			return new ArrayList<>();
+		}
+		return Arrays.stream(shardFiles).sorted().collect(Collectors.toList());
+	}
+
 	void run() throws FrankDocException {
 		if(frankFrameworkVersion == null) {
 			log.error("No Frank!Framework version set; please configure it in your pom.xml as argument -frankFrameworkVersion");
 		}
-		writeStrictXsd();
-		writeCompatibilityXsd();
-		writeJson();
-		writeElementSummary();
+		if(upToDate) {
+			log.info("Java sources and settings did not change since the previous run, output files are up to date");
+			return;
+		}
+		List<OutputWriter> outputWriters = new ArrayList<>(Arrays.asList(this::writeStrictXsd, this::writeCompatibilityXsd, this::writeJson, this::writeElementSummary));
+		for(XsdFlavour xsdFlavour: xsdFlavourFiles.keySet()) {
+			outputWriters.add(() -> writeXsdFlavour(xsdFlavour));
+		}
+		if(jsonShardsDirectory != null) {
+			outputWriters.add(this::writeJsonShards);
+		}
+		if(jsonSearchIndexFile != null) {
+			outputWriters.add(this::writeJsonSearchIndex);
+		}
+		if(configIndexFile != null) {
+			outputWriters.add(this::writeConfigIndex);
+		}
+		if(threads == 1) {
+			for(OutputWriter outputWriter: outputWriters) {
+				outputWriter.write();
+			}
+		} else {
+			writeConcurrently(outputWriters);
+		}
+		// When there were errors, the build fails. The next run should report them again.
+		if((buildCache != null) && (! ErrorDetectingAppender.HAVE_ERRORS)) {
+			buildCache.write(getOutputFiles());
+		}
+	}
+
+	/**
+	 * The output writers only read the {@link FrankDocModel}, which is not modified after
+	 * {@link FrankDocModel#populate(java.net.URL, String, FrankClassRepository)}. Submitting
+	 * the writers to the executor safely publishes the model to the worker threads.
+	 */
+	private void writeConcurrently(List<OutputWriter> outputWriters) throws FrankDocException {
+		int numThreads = Math.min(threads, outputWriters.size());
+		log.info("Writing output files using [{}] threads", numThreads);
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		List<FrankDocException> errors = new ArrayList<>();
+		try {
+			List<Future<Void>> futures = outputWriters.stream()
+					.map(outputWriter -> executor.submit(() -> {
+						outputWriter.write();
+						return (Void) null;
+					}))
+					.collect(Collectors.toList());
+			for(Future<Void> future: futures) {
+				try {
+					future.get();
+				} catch(ExecutionException e) {
+					errors.add(toFrankDocException(e.getCause()));
+				}
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FrankDocException("Interrupted while writing the output files", e);
+		} finally {
+			executor.shutdownNow();
+		}
+		if(! errors.isEmpty()) {
+			FrankDocException first = errors.get(0);
+			errors.subList(1, errors.size()).forEach(first::addSuppressed);
+			throw first;
+		}
+	}
+
+	private static FrankDocException toFrankDocException(Throwable cause) {
+		if(cause instanceof FrankDocException) {
+			return (FrankDocException) cause;
+		} else if(cause instanceof Error) {
+			throw (Error) cause;
+		} else {
+			return new FrankDocException("Unexpected exception while writing an output file", cause);
+		}
 	}
 
 	void writeStrictXsd() throws FrankDocException {
-		log.info("Calculating XSD without deprecated items that allows property references");
-		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF, frankFrameworkVersion);
+		log.info("Calculating and writing XSD without deprecated items that allows property references");
+		DocWriterNew docWriter = new DocWriterNew(xsdSchemaPlanFactory, AttributeTypeStrategy.ALLOW_PROPERTY_REF, frankFrameworkVersion);
 		docWriter.init(XsdVersion.STRICT);
-		String schemaText = docWriter.getSchema();
-		log.info("Done calculating XSD without deprecated items that allows property references, writing it to file {}", xsdStrictFile.getAbsolutePath());
-		writeStringToFile(schemaText, xsdStrictFile);
-		log.info("Writing output file done");
+		writeSchemaToFile(docWriter, xsdStrictFile);
+		log.info("Done writing XSD without deprecated items that allows property references to file {}", xsdStrictFile.getAbsolutePath());
 	}
 
-	void writeStringToFile(String text, File file) throws FrankDocException {
-		Writer w = null;
+	private List<File> getXsdFiles() {
+		List<File> result = new ArrayList<>(Arrays.asList(xsdStrictFile, xsdCompatibilityFile));
+		result.addAll(xsdFlavourFiles.values());
+		return result;
+	}
+
+	// The XSD is streamed to the file instead of being created as one String first.
+	void writeSchemaToFile(DocWriterNew docWriter, File file) throws FrankDocException {
+		docWriter.setDeduplicate(deduplicateXsds);
+		outputFile(file).write(docWriter::writeSchema);
+		if(precompileXsds) {
+			precompileXsd(file);
+		}
+	}
+
+	private void precompileXsd(File file) throws FrankDocException {
+		log.info("Checking XSD [{}] to allow loading it without full checking", file.getAbsolutePath());
 		try {
-			w = new BufferedWriter(new FileWriter(file));
-			w.append(text);
-			w.flush();
-		} catch(IOException e) {
-			throw new FrankDocException(String.format("Could not write file [%s]", file.getPath()), e);
-		} finally {
-			try {
-				if(w != null) {
-					w.close();
-				}
-			} catch(IOException e) {
-				log.error("Failed to close file {}", file, e);
-			}
+			SchemaLoader.checkAndMark(file);
+		} catch(IOException | SAXException e) {
+			throw new FrankDocException(String.format("Generated XSD [%s] is not valid", file.getAbsolutePath()), e);
 		}
 	}
 
+	void writeStringToFile(String text, File file) throws FrankDocException {
+		outputFile(file).write(text);
+	}
+
+	private OutputFile outputFile(File file) {
+		if(digestDirectory == null) {
+			return new OutputFile(file, null);
+		}
+		String relativePath = digestDirectory.getParentFile().toPath().relativize(file.toPath()).toString();
+		return new OutputFile(file, new File(digestDirectory, relativePath + ".sha256"));
+	}
+
 	void writeCompatibilityXsd() throws FrankDocException {
-		log.info("Calculating XSD with deprecated items that does not allow property references");
-		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE, frankFrameworkVersion);
+		log.info("Calculating and writing XSD with deprecated items that does not allow property references");
+		DocWriterNew docWriter = new DocWriterNew(xsdSchemaPlanFactory, AttributeTypeStrategy.ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE, frankFrameworkVersion);
 		docWriter.init(XsdVersion.COMPATIBILITY);
-		String schemaText = docWriter.getSchema();
-		log.info("Done calculating XSD with deprecated items that does not allow property references, writing it to file {}", xsdCompatibilityFile.getAbsolutePath());
-		writeStringToFile(schemaText, xsdCompatibilityFile);
-		log.info("Writing output file done");
+		writeSchemaToFile(docWriter, xsdCompatibilityFile);
+		log.info("Done writing XSD with deprecated items that does not allow property references to file {}", xsdCompatibilityFile.getAbsolutePath());
+	}
+
+	void writeXsdFlavour(XsdFlavour xsdFlavour) throws FrankDocException {
+		log.info("Calculating and writing XSD flavour [{}]", xsdFlavour);
+		Set<String> groupNames = xsdFlavour.getGroupNames();
+		if(groupNames != null) {
+			Set<String> availableGroupNames = model.getGroups().stream().map(FrankDocGroup::getName).collect(Collectors.toSet());
+			groupNames.stream().filter(groupName -> ! availableGroupNames.contains(groupName))
+					.forEach(groupName -> log.error("XSD flavour [{}] refers to group [{}], which does not exist", xsdFlavour, groupName));
+		}
+		DocWriterNew docWriter = new DocWriterNew(xsdSchemaPlanFactory, xsdFlavour.getAttributeTypeStrategy(), frankFrameworkVersion);
+		docWriter.setLean(xsdFlavour.isLean());
+		docWriter.init(xsdFlavour.getVersion(), groupNames);
+		File file = xsdFlavourFiles.get(xsdFlavour);
+		writeSchemaToFile(docWriter, file);
+		File documentationFile = xsdDocumentationFiles.get(xsdFlavour);
+		if(documentationFile != null) {
+			writeJsonToFile(docWriter::writeOmittedDocumentation, documentationFile);
+		}
+		log.info("Done writing XSD flavour [{}] to file {}", xsdFlavour, file.getAbsolutePath());
 	}
 
 	void writeJson() throws FrankDocException {
-		log.info("Calculating JSON file with documentation of the F!F");
+		log.info("Calculating and writing JSON file with documentation of the F!F");
+		FrankDocJsonFactory jsonFactory = createJsonFactory();
+		writeJsonToFile(jsonFactory::writeJson, jsonFile);
+		log.info("Done writing JSON file with documentation of the F!F to file {}", jsonFile.getAbsolutePath());
+	}
+
+	// The index is written last, so it never refers to shards that do not exist yet.
+	void writeJsonShards() throws FrankDocException {
+		log.info("Calculating and writing sharded JSON with documentation of the F!F");
+		FrankDocJsonFactory jsonFactory = createJsonFactory();
+		File shardDirectory = new File(jsonShardsDirectory, JSON_SHARD_SUBDIRECTORY);
+		for(String shardName: jsonFactory.getShardNames()) {
+			writeJsonToFile(w -> jsonFactory.writeJsonShard(shardName, w), new File(shardDirectory, shardName + ".json"));
+		}
+		writeJsonToFile(jsonFactory::writeJsonIndex, new File(jsonShardsDirectory, JSON_SHARD_INDEX));
+		log.info("Done writing sharded JSON with documentation of the F!F to directory {}", jsonShardsDirectory.getAbsolutePath());
+	}
+
+	void writeJsonSearchIndex() throws FrankDocException {
+		log.info("Calculating and writing search index");
+		FrankDocSearchIndexFactory searchIndexFactory = new FrankDocSearchIndexFactory(model);
+		writeJsonToFile(searchIndexFactory::writeJson, jsonSearchIndexFile);
+		log.info("Done writing search index to file {}", jsonSearchIndexFile.getAbsolutePath());
+	}
+
+	// Same model queries as the strict XSD, so the fast validator accepts the same configurations.
+	void writeConfigIndex() throws FrankDocException {
+		log.info("Calculating and writing config index");
+		ConfigIndex configIndex = new ConfigIndexFactory(xsdSchemaPlanFactory, XsdVersion.STRICT, AttributeTypeStrategy.ALLOW_PROPERTY_REF).create();
+		outputFile(configIndexFile).write(configIndex::write);
+		log.info("Done writing config index to file {}", configIndexFile.getAbsolutePath());
+	}
+
+	private FrankDocJsonFactory createJsonFactory() {
 		FrankDocJsonFactory jsonFactory = new FrankDocJsonFactory(model, frankFrameworkVersion);
-		JsonObject jsonObject = jsonFactory.getJson();
-		String jsonText = Utils.jsonPretty(jsonObject.toString());
-		log.info("Done calculating JSON file with documentation of the F!F, writing the text to file {}", jsonFile.getAbsolutePath());
-		writeStringToFile(jsonText, jsonFile);
-		log.info("Writing output file done");
+		jsonFactory.setIncludeInheritance(jsonInheritance);
+		return jsonFactory;
+	}
+
+	// The JSON is streamed to the file instead of being created as one object that is pretty printed afterwards.
+	private void writeJsonToFile(Consumer<Writer> jsonWriter, File file) throws FrankDocException {
+		outputFile(file).write(out -> {
+			try {
+				jsonWriter.accept(new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset())));
+			} catch(JsonException e) {
+				throw new FrankDocException(String.format("Error producing JSON file [%s]", file.getPath()), e);
+			}
+		});
 	}
 
 	void writeElementSummary() throws FrankDocException {
@@ -18,8 +18,10 @@ package org.frankframework.frankdoc.doclet;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -38,11 +40,21 @@ class FrankDocletOptions {
 		BASE_OUTPUT_DIR("outputDirectory"),
 		STRICT_REL_PATH("strictPath"),
 		COMPATIBILITY_REL_PATH("compatibilityPath"),
+		XSD_FLAVOURS("xsdFlavours"),
+		PRECOMPILE_XSDS("precompileXsds"),
+		DEDUPLICATE_XSDS("deduplicateXsds"),
 		JSON_REL_PATH("jsonPath"),
+		JSON_SHARDS_REL_PATH("jsonShardsPath"),
+		JSON_INHERITANCE("jsonInheritance"),
+		JSON_SEARCH_INDEX_REL_PATH("jsonSearchIndexPath"),
+		CONFIG_INDEX_REL_PATH("configIndexPath"),
 		ELEMENT_SUMMARY_PATH("elementSummaryPath"),
 		DIGESTER_RULES_PATH("digesterRulesPath"),
 		ROOT_CLASS("rootClass"),
-		FRANK_FRAMEWORK_VERSION("frankFrameworkVersion");
+		FRANK_FRAMEWORK_VERSION("frankFrameworkVersion"),
+		THREADS("threads"),
+		CACHE_REL_PATH("cachePath"),
+		SKIP_UNCHANGED_OUTPUT("skipUnchangedOutput");
 
 		private @Getter String mavenName;
 
@@ -56,11 +68,33 @@ class FrankDocletOptions {
 	private @Getter String outputBaseDir;
 	private @Getter String xsdStrictPath = "xml/xsd/FrankConfig.xsd";
 	private @Getter String xsdCompatibilityPath = "xml/xsd/FrankConfig-compatibility.xsd";
+	// Additional XSDs, see XsdFlavour for the syntax.
+	private @Getter List<XsdFlavour> xsdFlavours = new ArrayList<>();
+	// When true, the XSDs are checked fully and a marker that allows faster loading is written next to them.
+	private @Getter boolean precompileXsds = false;
+	// When true, structurally identical types and groups in the XSDs are merged.
+	private @Getter boolean deduplicateXsds = false;
 	private @Getter String jsonOutputPath = "js/frankdoc.json";
+	// When set, the JSON is also written as an index file and shards that the webapp loads on demand.
+	// Requires jsonSearchIndexPath, because the webapp can only search the elements of shards that it did not load with the search index.
+	private @Getter String jsonShardsPath;
+	// When true, the JSON tells for each element which items it inherits.
+	private @Getter boolean jsonInheritance = false;
+	// When set, a search index for the webapp is written to this path.
+	private @Getter String jsonSearchIndexPath;
+	// When set, an index for the fast config validator is written to this path.
+	private @Getter String configIndexPath;
 	private @Getter String elementSummaryPath = "txt/elementSummary.txt";
 	private @Getter URL digesterRulesUrl;
 	private @Getter String rootClass;
 	private @Getter String frankFrameworkVersion;
+	// When more than one, the output files are generated concurrently.
+	private @Getter int threads = 1;
+	// When set, the doclet skips runs in which the Java sources, the settings and the output files did not change since
+	// the previous run. Otherwise the doclet does all its work, it does not reuse part of the previous run.
+	private @Getter String cachePath;
+	// When true, output files with the same content as the existing files are not written again.
+	private @Getter boolean skipUnchangedOutput = false;
 
 	static {
 		optionsByName = Arrays.asList(Option.values()).stream().collect(Collectors.toMap(Option::getMavenName, Function.identity()));
@@ -123,6 +157,10 @@ class FrankDocletOptions {
 				setOption(option, value);
 			}
 		}
+		if((jsonShardsPath != null) && (jsonSearchIndexPath == null)) {
+			throw new FrankDocException(String.format("Option [-%s] requires option [-%s], because the webapp searches sharded JSON with the search index",
+					Option.JSON_SHARDS_REL_PATH.getMavenName(), Option.JSON_SEARCH_INDEX_REL_PATH.getMavenName()), null);
+		}
 	}
 
 	private void setOption(Option opt, String value) throws FrankDocException {
@@ -136,9 +174,30 @@ class FrankDocletOptions {
 		case COMPATIBILITY_REL_PATH:
 			xsdCompatibilityPath = value;
 			break;
+		case XSD_FLAVOURS:
+			xsdFlavours = XsdFlavour.parse(value);
+			break;
+		case PRECOMPILE_XSDS:
+			precompileXsds = parseBoolean(Option.PRECOMPILE_XSDS, value);
+			break;
+		case DEDUPLICATE_XSDS:
+			deduplicateXsds = parseBoolean(Option.DEDUPLICATE_XSDS, value);
+			break;
 		case JSON_REL_PATH:
 			jsonOutputPath = value;
 			break;
+		case JSON_SHARDS_REL_PATH:
+			jsonShardsPath = value;
+			break;
+		case JSON_INHERITANCE:
+			jsonInheritance = parseBoolean(Option.JSON_INHERITANCE, value);
+			break;
+		case JSON_SEARCH_INDEX_REL_PATH:
+			jsonSearchIndexPath = value;
+			break;
+		case CONFIG_INDEX_REL_PATH:
+			configIndexPath = value;
+			break;
 		case ELEMENT_SUMMARY_PATH:
 			elementSummaryPath = value;
 			break;
@@ -151,11 +210,40 @@ class FrankDocletOptions {
 		case FRANK_FRAMEWORK_VERSION:
 			frankFrameworkVersion = value;
 			break;
+		case THREADS:
+			setThreads(value);
+			break;
+		case CACHE_REL_PATH:
+			cachePath = value;
+			break;
+		case SKIP_UNCHANGED_OUTPUT:
+			skipUnchangedOutput = parseBoolean(Option.SKIP_UNCHANGED_OUTPUT, value);
+			break;
 		default:
 			throw new IllegalArgumentException("Programming error. Switch over FrankDocletOptions.Option was supposed to cover all cases");
 		}
 	}
 
+	private void setThreads(String value) throws FrankDocException {
+		try {
+			threads = Integer.parseInt(value);
+		} catch(NumberFormatException e) {
+			throw new FrankDocException(String.format("Value of option [-%s] should be a number: [%s]", Option.THREADS.getMavenName(), value), e);
+		}
+		if(threads < 1) {
+			throw new FrankDocException(String.format("Value of option [-%s] should be at least one: [%s]", Option.THREADS.getMavenName(), value), null);
+		}
+	}
+
+	private static boolean parseBoolean(Option option, String value) throws FrankDocException {
+		if(value.equalsIgnoreCase("true")) {
+			return true;
+		} else if(value.equalsIgnoreCase("false")) {
+			return false;
+		}
+		throw new FrankDocException(String.format("Value of option [-%s] should be true or false: [%s]", option.getMavenName(), value), null);
+	}
+
 	private void setDigesterRulesUrl(String value) throws FrankDocException {
 		try {
 			File f = new File(value);
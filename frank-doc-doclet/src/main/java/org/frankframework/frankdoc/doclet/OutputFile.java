@@ -0,0 +1,153 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+package org.frankframework.frankdoc.doclet;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.apache.logging.log4j.Logger;
+import org.frankframework.frankdoc.util.LogUtil;
+import org.frankframework.frankdoc.wrapper.FrankDocException;
+
+/**
+ * Writes an output file of the doclet through a temporary file that is renamed when it is complete, so
+ * readers never see a partially written file.
+ *
+ * When unchanged output should be skipped, the new content is compared with the existing file and
+ * the existing file is left alone if they are equal. This keeps its timestamp, so downstream builds
+ * do not see a change. A digest file remembers the hash, the size and the timestamp of the output
+ * file. If the size and the timestamp are still the same, the existing file does not have to be read.
+ */
+class OutputFile {
+	private static final Logger log = LogUtil.getLogger(OutputFile.class);
+
+	@FunctionalInterface
+	interface ContentWriter {
+		void write(OutputStream out) throws IOException, FrankDocException;
+	}
+
+	private final File file;
+	private final File digestFile;
+
+	/**
+	 * @param digestFile Null if the file should always be written.
+	 */
+	OutputFile(File file, File digestFile) {
+		this.file = file;
+		this.digestFile = digestFile;
+	}
+
+	// Like FileWriter, which was used before, we use the default character set of the platform.
+	boolean write(String text) throws FrankDocException {
+		return write(out -> {
+			Writer w = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+			w.append(text);
+			w.flush();
+		});
+	}
+
+	/**
+	 * @return True if the file was written, false if it was left alone because it did not change.
+	 */
+	boolean write(ContentWriter contentWriter) throws FrankDocException {
+		File tempFile = null;
+		try {
+			tempFile = File.createTempFile(file.getName() + ".", ".tmp", file.getParentFile());
+			MessageDigest digest = BuildCache.newDigest();
+			try(OutputStream out = new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)), digest)) {
+				contentWriter.write(out);
+			}
+			byte[] hash = digest.digest();
+			if((digestFile != null) && isUnchanged(hash)) {
+				log.info("Output file [{}] did not change, leaving it alone", file.getPath());
+				return false;
+			}
+			moveToFile(tempFile);
+			tempFile = null;
+			if(digestFile != null) {
+				writeDigest(hash);
+			}
+			return true;
+		} catch(IOException e) {
+			throw new FrankDocException(String.format("Could not write file [%s]", file.getPath()), e);
+		} finally {
+			if((tempFile != null) && (! tempFile.delete())) {
+				log.warn("Could not delete temporary file [{}]", tempFile.getPath());
+			}
+		}
+	}
+
+	private boolean isUnchanged(byte[] hash) throws IOException, FrankDocException {
+		if(! file.isFile()) {
+			return false;
+		}
+		String[] digest = readDigest();
+		if((digest != null)
+				&& digest[1].equals(Long.toString(file.length()))
+				&& digest[2].equals(Long.toString(file.lastModified()))) {
+			return digest[0].equals(Base64.getEncoder().encodeToString(hash));
+		}
+		// No usable digest, for example because the file was modified by someone else
+		if(Arrays.equals(hash, BuildCache.hashOf(file))) {
+			writeDigest(hash);
+			return true;
+		}
+		return false;
+	}
+
+	private String[] readDigest() {
+		if(! digestFile.isFile()) {
+			return null;
+		}
+		try {
+			String[] result = new String(Files.readAllBytes(digestFile.toPath()), StandardCharsets.US_ASCII).trim().split(" ");
+			return result.length == 3 ? result : null;
+		} catch(IOException e) {
+			log.warn("Could not read digest file [{}]", digestFile.getPath(), e);
+			return null;
+		}
+	}
+
+	private void writeDigest(byte[] hash) throws IOException {
+		digestFile.getParentFile().mkdirs();
+		String digest = String.format("%s %d %d", Base64.getEncoder().encodeToString(hash), file.length(), file.lastModified());
+		Files.write(digestFile.toPath(), digest.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private void moveToFile(File tempFile) throws IOException {
+		try {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch(AtomicMoveNotSupportedException e) {
+			log.trace("Atomic move not supported for [{}], moving normally", () -> file.getPath());
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
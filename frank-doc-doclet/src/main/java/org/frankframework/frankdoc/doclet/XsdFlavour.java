@@ -0,0 +1,136 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.doclet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.frankframework.frankdoc.AttributeTypeStrategy;
+import org.frankframework.frankdoc.XsdVersion;
+import org.frankframework.frankdoc.wrapper.FrankDocException;
+
+import lombok.Getter;
+
+/**
+ * An additional XSD that the doclet writes next to the strict and the compatibility XSD. It is configured
+ * with doclet option <code>-xsdFlavours</code>. The value of that option lists the flavours separated by
+ * <code>;</code>. Each flavour has four or five fields separated by <code>,</code>:
+ * <ol>
+ * <li>The {@link XsdVersion}, for example <code>STRICT</code>.
+ * <li>The {@link AttributeTypeStrategy}, for example <code>ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE</code>.
+ * <li>The names of the groups whose elements are listed as options, separated by <code>|</code>, or <code>*</code> for all groups.
+ * Elements of other groups can still be used with the generic element option, like <code>&lt;Pipe className="..."&gt;</code>.
+ * <li>The path of the XSD, relative to the output directory.
+ * <li>Optional, the {@link Documentation} of the XSD. The default is <code>INLINE</code>.
+ * </ol>
+ * Example: <code>STRICT,ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE,*,xml/xsd/FrankConfig-ignoreCase.xsd;STRICT,ALLOW_PROPERTY_REF,Pipes,xml/xsd/FrankConfig-pipes.xsd</code>.
+ * A lean XSD for validation at runtime is <code>STRICT,ALLOW_PROPERTY_REF,*,xml/xsd/FrankConfig-runtime.xsd,SIDECAR</code>.
+ */
+class XsdFlavour {
+	private static final String FLAVOUR_SEPARATOR = ";";
+	private static final String FIELD_SEPARATOR = ",";
+	private static final String GROUP_SEPARATOR = "|";
+	private static final String ALL_GROUPS = "*";
+	private static final String SIDECAR_SUFFIX = ".documentation.json";
+
+	static enum Documentation {
+		/** Documentation annotations in the XSD, which is pretty printed. Editors show the documentation. */
+		INLINE,
+		/** No documentation and no pretty printing. The XSD is smaller and is parsed faster. */
+		OMIT,
+		/** Like {@link #OMIT}, with the documentation written to a JSON file next to the XSD, see {@link XsdFlavour#getSidecarPath()}. */
+		SIDECAR;
+	}
+
+	private final @Getter XsdVersion version;
+	private final @Getter AttributeTypeStrategy attributeTypeStrategy;
+	// Null if the elements of all groups are listed
+	private final @Getter Set<String> groupNames;
+	private final @Getter String path;
+	private final @Getter Documentation documentation;
+
+	XsdFlavour(XsdVersion version, AttributeTypeStrategy attributeTypeStrategy, Set<String> groupNames, String path, Documentation documentation) {
+		this.version = version;
+		this.attributeTypeStrategy = attributeTypeStrategy;
+		this.groupNames = groupNames == null ? null : Collections.unmodifiableSet(new LinkedHashSet<>(groupNames));
+		this.path = path;
+		this.documentation = documentation;
+	}
+
+	boolean isLean() {
+		return documentation != Documentation.INLINE;
+	}
+
+	/**
+	 * @return Null if the documentation is not written to a separate file.
+	 */
+	String getSidecarPath() {
+		return documentation == Documentation.SIDECAR ? path + SIDECAR_SUFFIX : null;
+	}
+
+	static List<XsdFlavour> parse(String value) throws FrankDocException {
+		List<XsdFlavour> result = new ArrayList<>();
+		for(String flavour: value.split(FLAVOUR_SEPARATOR)) {
+			if(! flavour.trim().isEmpty()) {
+				result.add(parseFlavour(flavour.trim()));
+			}
+		}
+		return result;
+	}
+
+	private static XsdFlavour parseFlavour(String flavour) throws FrankDocException {
+		String[] fields = flavour.split(FIELD_SEPARATOR);
+		if((fields.length != 4) && (fields.length != 5)) {
+			throw new FrankDocException(String.format("XSD flavour should have four or five fields: version, attribute type strategy, groups, path and optionally documentation, but got [%s]", flavour), null);
+		}
+		XsdVersion version = parseEnum(XsdVersion.class, fields[0].trim(), flavour);
+		AttributeTypeStrategy attributeTypeStrategy = parseEnum(AttributeTypeStrategy.class, fields[1].trim(), flavour);
+		Set<String> groupNames = null;
+		if(! fields[2].trim().equals(ALL_GROUPS)) {
+			groupNames = new LinkedHashSet<>();
+			for(String groupName: fields[2].split(Pattern.quote(GROUP_SEPARATOR))) {
+				groupNames.add(groupName.trim());
+			}
+		}
+		String path = fields[3].trim();
+		if(path.isEmpty()) {
+			throw new FrankDocException(String.format("XSD flavour lacks a path: [%s]", flavour), null);
+		}
+		Documentation documentation = fields.length == 5 ? parseEnum(Documentation.class, fields[4].trim(), flavour) : Documentation.INLINE;
+		return new XsdFlavour(version, attributeTypeStrategy, groupNames, path, documentation);
+	}
+
+	private static <T extends Enum<T>> T parseEnum(Class<T> clazz, String value, String flavour) throws FrankDocException {
+		try {
+			return Enum.valueOf(clazz, value);
+		} catch(IllegalArgumentException e) {
+			throw new FrankDocException(String.format("Invalid %s [%s] in XSD flavour [%s], expected one of %s",
+					clazz.getSimpleName(), value, flavour, Arrays.toString(clazz.getEnumConstants())), e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		String result = String.format("%s,%s,%s,%s", version, attributeTypeStrategy, groupNames == null ? ALL_GROUPS : String.join(GROUP_SEPARATOR, groupNames), path);
+		return documentation == Documentation.INLINE ? result : result + FIELD_SEPARATOR + documentation;
+	}
+}
@@ -16,6 +16,11 @@ limitations under the License.
 
 package org.frankframework.frankdoc.feature;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.frankframework.frankdoc.util.LogUtil;
@@ -26,18 +31,28 @@ import org.frankframework.frankdoc.wrapper.FrankDocException;
 import org.frankframework.frankdoc.wrapper.FrankDocletConstants;
 import org.frankframework.frankdoc.wrapper.FrankMethod;
 
+/**
+ * Resolves the method referred to by a method. Create one instance per {@link FrankClassRepository} and
+ * reuse it, because the results are cached. Many attribute setters refer to the same few methods.
+ */
 public class Reference {
 	private static Logger log = LogUtil.getLogger(Reference.class);
 	private static final String JAVADOC_ATTRIBUTE_REF = "@ff.ref";
 	private static final String REFER_TO = "nl.nn.adapterframework.doc.ReferTo";
 
 	private final FrankClassRepository classRepository;
+	private final Map<FrankMethod, Optional<FrankMethod>> referredMethods = new HashMap<>();
+	private final Map<FrankClass, Map<String, FrankMethod>> methodsByName = new HashMap<>();
 
 	public Reference(FrankClassRepository classRepository) {
 		this.classRepository = classRepository;
 	}
 
 	public FrankMethod valueOf(FrankMethod method) {
+		return referredMethods.computeIfAbsent(method, m -> Optional.ofNullable(calculateValueOf(m))).orElse(null);
+	}
+
+	private FrankMethod calculateValueOf(FrankMethod method) {
 		String resultAsString = method.getJavaDocTag(JAVADOC_ATTRIBUTE_REF);
 		if(resultAsString == null) {
 			resultAsString = getReferToAnnotation(method);
@@ -132,15 +147,21 @@ public class Reference {
 				log.error("Class {} is unknown", className);
 				return null;
 			}
-			for (FrankMethod parentMethod : parentClass.getDeclaredAndInheritedMethods()) {
-				if (parentMethod.getName().equals(methodName)) {
-					return parentMethod;
-				}
-			}
-			return null;
+			return getMethodsByName(parentClass).get(methodName);
 		} catch (FrankDocException e) {
 			log.error("Super class [{}] was not found!", className, e);
 			return null;
 		}
 	}
+
+	private Map<String, FrankMethod> getMethodsByName(FrankClass clazz) {
+		return methodsByName.computeIfAbsent(clazz, c -> {
+			Map<String, FrankMethod> result = new LinkedHashMap<>();
+			// When a method name is overloaded, the first method is referenced
+			for(FrankMethod method: c.getDeclaredAndInheritedMethods()) {
+				result.putIfAbsent(method.getName(), method);
+			}
+			return result;
+		});
+	}
 }
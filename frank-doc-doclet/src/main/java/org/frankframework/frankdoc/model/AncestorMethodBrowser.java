@@ -21,7 +21,6 @@ import java.util.function.Consumer;
 import org.apache.logging.log4j.Logger;
 import org.frankframework.frankdoc.feature.Reference;
 import org.frankframework.frankdoc.util.LogUtil;
-import org.frankframework.frankdoc.wrapper.FrankClassRepository;
 import org.frankframework.frankdoc.wrapper.FrankDocException;
 import org.frankframework.frankdoc.wrapper.FrankMethod;
 
@@ -58,8 +57,8 @@ class AncestorMethodBrowser {
 	private final Reference referenceFeature;
 	private final References referenceHandling;
 
-	AncestorMethodBrowser(FrankClassRepository repository, References referenceHandling) {
-		referenceFeature = new Reference(repository);
+	AncestorMethodBrowser(Reference referenceFeature, References referenceHandling) {
+		this.referenceFeature = referenceFeature;
 		this.referenceHandling = referenceHandling;
 	}
 
@@ -80,6 +80,10 @@ class DigesterRulesPattern {
 			this.backtrackRoleNames = backtrackRoleNames;
 		}
 
+		int getNumBacktrackRoleNames() {
+			return backtrackRoleNames.size();
+		}
+
 		boolean matches(FrankElement frankElement) {
 			return checkOwners(Arrays.asList(frankElement), backtrackRoleNames);
 		}
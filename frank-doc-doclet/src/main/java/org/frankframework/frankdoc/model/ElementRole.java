@@ -22,13 +22,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Logger;
 
 import lombok.AccessLevel;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import org.frankframework.frankdoc.Utils;
@@ -43,6 +43,7 @@ public class ElementRole implements Comparable<ElementRole> {
 	private final @Getter ElementType elementType;
 	private final @Getter String roleName;
 	private final int roleNameSeq;
+	private Key key;
 
 	// Used to solve conflicts between members and the element name of the
 	// generic element option, see package-info of this package.
@@ -166,7 +167,11 @@ public class ElementRole implements Comparable<ElementRole> {
 	}
 
 	public Key getKey() {
-		return new Key(elementType.getFullName(), roleName);
+		// Not synchronized, because concurrent calls would create equal keys
+		if(key == null) {
+			key = new Key(elementType.getFullName(), roleName);
+		}
+		return key;
 	}
 
 	@Override
@@ -197,9 +202,14 @@ public class ElementRole implements Comparable<ElementRole> {
 
 	static class Factory {
 		private final Map<String, Integer> numUsagePerRoleName = new HashMap<>();
+		private final SymbolTable symbolTable;
+
+		Factory(SymbolTable symbolTable) {
+			this.symbolTable = symbolTable;
+		}
 
 		ElementRole create(ElementType elementType, String roleName) {
-			return new ElementRole(elementType, roleName, newRoleNameSeq(roleName));
+			return new ElementRole(elementType, symbolTable.canonical(roleName), newRoleNameSeq(roleName));
 		}
 
 		private int newRoleNameSeq(String roleName) {
@@ -210,26 +220,49 @@ public class ElementRole implements Comparable<ElementRole> {
 		}
 	}
 
-	@EqualsAndHashCode
+	/**
+	 * Holds the names. The simple name and the hash code are calculated once, because keys are used a lot as map keys
+	 * and in log messages.
+	 * The names of keys that the model creates come from its {@link SymbolTable}, so comparing equal
+	 * names is a reference comparison.
+	 */
 	public static final class Key {
 		private final @Getter String elementTypeName;
 		private final @Getter String elementTypeSimpleName;
 		private final @Getter String roleName;
+		private final int hashCode;
 
 		public Key(String elementTypeName, String roleName) {
 			this.elementTypeName = elementTypeName;
+			this.elementTypeSimpleName = elementTypeName.substring(elementTypeName.lastIndexOf(".") + 1);
 			this.roleName = roleName;
-			int index = elementTypeName.lastIndexOf(".");
-			this.elementTypeSimpleName = elementTypeName.substring(index + 1);
+			this.hashCode = Objects.hash(elementTypeName, roleName);
 		}
 
 		public Key(ObjectConfigChild configChild) {
 			this(configChild.getElementType().getFullName(), configChild.getRoleName());
 		}
 
+		@Override
+		public boolean equals(Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(! (o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return (hashCode == other.hashCode) && elementTypeName.equals(other.elementTypeName) && roleName.equals(other.roleName);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
 		@Override
 		public String toString() {
-			return "(" + elementTypeSimpleName + ", " + roleName + ")"; 
+			return "(" + getElementTypeSimpleName() + ", " + getRoleName() + ")"; 
 		}
 
 		public static String describeCollection(Collection<ElementRole.Key> keys) {
@@ -61,12 +61,12 @@ public class ElementType implements Comparable<ElementType> {
 		private @Getter String simpleName;
 		private @Getter Map<String, InterfaceHierarchyItem> parentInterfaces = new TreeMap<>();
 
-		InterfaceHierarchyItem(FrankClass clazz) {
-			this.fullName = clazz.getName();
-			this.simpleName = clazz.getSimpleName();
+		InterfaceHierarchyItem(FrankClass clazz, SymbolTable symbolTable) {
+			this.fullName = symbolTable.canonical(clazz.getName());
+			this.simpleName = symbolTable.canonical(clazz.getSimpleName());
 			if(clazz.isInterface()) {
 				for(FrankClass superInterface: clazz.getInterfaces()) {
-					InterfaceHierarchyItem superInterfaceHierarchyItem = new InterfaceHierarchyItem(superInterface);
+					InterfaceHierarchyItem superInterfaceHierarchyItem = new InterfaceHierarchyItem(superInterface, symbolTable);
 					parentInterfaces.put(superInterfaceHierarchyItem.getFullName(), superInterfaceHierarchyItem);
 				}
 			}
@@ -87,11 +87,13 @@ public class ElementType implements Comparable<ElementType> {
 
 	private final InterfaceHierarchyItem interfaceHierarchy;
 	private @Getter List<ElementType> commonInterfaceHierarchy;
+	// The group names of the common interface hierarchy, which are removed from the end of XSD element names
+	private @Getter(AccessLevel.PACKAGE) List<String> removablePostfixes;
 	private final @Getter FrankDocGroup group;
 	private final @Getter String defaultElement;
 
-	ElementType(FrankClass clazz, FrankDocGroup group, FrankClassRepository repository) {
-		interfaceHierarchy = new InterfaceHierarchyItem(clazz);
+	ElementType(FrankClass clazz, FrankDocGroup group, FrankClassRepository repository, SymbolTable symbolTable) {
+		interfaceHierarchy = new InterfaceHierarchyItem(clazz, symbolTable);
 		members = new ArrayList<>();
 		this.fromJavaInterface = clazz.isInterface();
 		this.group = group;
@@ -146,6 +148,7 @@ public class ElementType implements Comparable<ElementType> {
 			commonInterfaceHierarchy.add(nextCandidate);
 			nextCandidate = commonInterfaceHierarchy.get(commonInterfaceHierarchy.size() - 1).getNextCommonInterface(model);
 		}
+		removablePostfixes = commonInterfaceHierarchy.stream().map(ElementType::getGroupName).collect(Collectors.toList());
 		if(log.isTraceEnabled()) {
 			String commonInterfaceHierarchyStr = commonInterfaceHierarchy.stream().map(ElementType::getFullName).collect(Collectors.joining(", "));
 			log.trace("ElementType [{}] has common interface hierarchy [{}]", this.getFullName(), commonInterfaceHierarchyStr);
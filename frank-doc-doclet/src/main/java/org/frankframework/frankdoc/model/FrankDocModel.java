@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -62,6 +63,7 @@ public class FrankDocModel {
 	private static List<String> EXPECTED_HTML_TAGS = Arrays.asList("a", "b", "br", "code", "h1", "h2", "h3", "h4", "i", "li", "ol", "p", "pre", "strong", "table", "td", "th", "tr", "ul");
 
 	private FrankClassRepository classRepository;
+	private Reference referenceFeature;
 
 	private @Getter Map<String, List<ConfigChildSetterDescriptor>> configChildDescriptors = new HashMap<>();
 	
@@ -72,6 +74,13 @@ public class FrankDocModel {
 	// to create the ElementRole objects in the right order. 
 	private @Getter Map<String, FrankElement> allElements = new LinkedHashMap<>();
 
+	// Worklist of buildDescendants(). Holds the positions in allElements of the FrankElement
+	// objects that may produce new config children, so we can visit them in creation order.
+	private List<FrankElement> elementsInCreationOrder = new ArrayList<>();
+	private Map<String, Integer> elementSequenceNumbers = new HashMap<>();
+	private TreeSet<Integer> elementsToVisit = new TreeSet<>();
+	private int configParentDependencyDepth = 0;
+
 	// We have a LinkedHashMap because the sequence of the types is relevant. This
 	// sequence determines the sort order of the elements of FrankDocGroup Other.
 	private @Getter Map<String, ElementType> allTypes = new LinkedHashMap<>();
@@ -79,7 +88,8 @@ public class FrankDocModel {
 	private @Getter List<FrankElement> elementsOutsideConfigChildren; 
 
 	private @Getter Map<ElementRole.Key, ElementRole> allElementRoles = new HashMap<>();
-	private final ElementRole.Factory elementRoleFactory = new ElementRole.Factory();
+	private final SymbolTable symbolTable = new SymbolTable();
+	private final ElementRole.Factory elementRoleFactory = new ElementRole.Factory(symbolTable);
 	private Map<Set<ElementRole.Key>, ElementRoleSet> allElementRoleSets = new HashMap<>();
 	private AttributeEnumFactory attributeEnumFactory = new AttributeEnumFactory();
 	private @Getter String rootClassName;
@@ -87,6 +97,7 @@ public class FrankDocModel {
 
 	FrankDocModel(FrankClassRepository classRepository, String rootClassName) {
 		this.classRepository = classRepository;
+		this.referenceFeature = new Reference(classRepository);
 		this.rootClassName = rootClassName;
 	}
 
@@ -103,6 +114,7 @@ public class FrankDocModel {
 			result.calculateTypeNameSeq();
 			result.calculateInterfaceBased();
 			result.calculateCommonInterfacesHierarchies();
+			result.calculateXsdElementNames();
 			result.setHighestCommonInterface();
 			result.setOverriddenFrom();
 			result.createConfigChildSets();
@@ -186,23 +198,77 @@ public class FrankDocModel {
 		return allTypes.containsKey(typeName);
 	}
 
+	/**
+	 * Create config children until no FrankElement has config child setter candidates left that match a digester rule.
+	 * We do passes over the FrankElement objects in the order they were created, like a naive implementation
+	 * that visits all elements until nothing changes. The order is relevant because it determines the
+	 * sequence numbers of the ElementRole objects. We only visit the elements that may have changed however.
+	 * Those are the newly created elements and the elements whose digester rules may match because of a new
+	 * config parent, either their own or of an element up to {@link #configParentDependencyDepth} levels above them.
+	 */
 	void buildDescendants() throws Exception {
 		log.trace("Enter");
-		boolean addedDescendants;
+		configParentDependencyDepth = configChildDescriptors.values().stream()
+				.flatMap(List::stream)
+				.map(d -> d.getPattern().getMatcher())
+				.filter(m -> m != null)
+				.mapToInt(m -> m.getNumBacktrackRoleNames() - 1)
+				.max().orElse(0);
 		int pass = 1;
-		do {
-			addedDescendants = false;
+		int numVisits = 0;
+		int numSavedVisits = 0;
+		while(! elementsToVisit.isEmpty()) {
 			if(log.isTraceEnabled()) {
-				log.trace("Pass [{}]", pass++);				
+				log.trace("Pass [{}]", pass);
 			}
-			// We update allElements during the iteration, so we have to copy
-			for(FrankElement existing: new ArrayList<>(allElements.values())) {
-				if(createConfigChildren(existing)) {
-					addedDescendants = true;
-				}
+			++pass;
+			// Elements created during this pass are visited in the next pass
+			int numElementsOfPass = elementsInCreationOrder.size();
+			int numVisitsOfPass = 0;
+			Integer current = elementsToVisit.isEmpty() ? null : elementsToVisit.first();
+			while((current != null) && (current < numElementsOfPass)) {
+				elementsToVisit.remove(current);
+				createConfigChildren(elementsInCreationOrder.get(current));
+				++numVisitsOfPass;
+				current = elementsToVisit.higher(current);
 			}
-		} while(addedDescendants);
-		log.trace("Leave");
+			numVisits += numVisitsOfPass;
+			numSavedVisits += numElementsOfPass - numVisitsOfPass;
+		}
+		// A naive implementation would do an extra pass over all elements to find that nothing changes anymore
+		numSavedVisits += elementsInCreationOrder.size();
+		if(log.isTraceEnabled()) {
+			log.trace("Leave, did [{}] visits of FrankElement objects, saved [{}] visits compared to full passes", numVisits, numSavedVisits);
+		}
+	}
+
+	private void requestVisit(FrankElement element) {
+		elementsToVisit.add(elementSequenceNumbers.get(element.getFullName()));
+	}
+
+	private void requestVisitsForNewConfigParent(FrankElement element, int depth, Map<FrankElement, Integer> done) {
+		if(done.containsKey(element) && (done.get(element) >= depth)) {
+			return;
+		}
+		done.put(element, depth);
+		if(hasConfigChildCandidates(element)) {
+			requestVisit(element);
+		}
+		if(depth == 0) {
+			return;
+		}
+		element.getConfigChildrenUnderConstruction().stream()
+				.filter(c -> c instanceof ObjectConfigChild)
+				.map(c -> ((ObjectConfigChild) c).getElementRole())
+				.filter(r -> r != null)
+				.flatMap(r -> r.getElementType().getMembers().stream())
+				.collect(Collectors.toList())
+				.forEach(f -> requestVisitsForNewConfigParent(f, depth - 1, done));
+	}
+
+	private boolean hasConfigChildCandidates(FrankElement element) {
+		return element.getUnusedConfigChildSetterCandidates().keySet().stream()
+				.anyMatch(m -> configChildDescriptors.containsKey(m.getName()));
 	}
 
 	FrankElement findOrCreateRootFrankElement(String fullClassName) throws FrankDocException {
@@ -221,7 +287,7 @@ public class FrankDocModel {
 	private class FrankElementCreationStrategyRoot extends FrankElementCreationStrategy{
 		@Override
 		FrankElement createFromClass(FrankClass clazz) {
-			return new RootFrankElement(clazz, classRepository, groupFactory, labelValues);
+			return new RootFrankElement(clazz, classRepository, groupFactory, labelValues, symbolTable);
 		}
 
 		@Override
@@ -233,7 +299,7 @@ public class FrankDocModel {
 	private class FrankElementCreationStrategyNonRoot extends FrankElementCreationStrategy {
 		@Override
 		FrankElement createFromClass(FrankClass clazz) {
-			return new FrankElement(clazz, classRepository, groupFactory, labelValues);
+			return new FrankElement(clazz, classRepository, groupFactory, labelValues, symbolTable);
 		}
 
 		@Override
@@ -253,10 +319,13 @@ public class FrankDocModel {
 		FrankElement current = creator.createFromClass(clazz);
 		log.trace("Created [{}] [{}]", current.getClass().getSimpleName(), current.getFullName());
 		allElements.put(clazz.getName(), current);
+		elementSequenceNumbers.put(clazz.getName(), elementsInCreationOrder.size());
+		elementsInCreationOrder.add(current);
 		FrankClass superClass = clazz.getSuperclass();
 		FrankElement parent = superClass == null ? null : creator.recursiveFindOrCreate(superClass.getName());
 		current.setParent(parent);
 		current.setAttributes(createAttributes(clazz, current, classRepository));
+		requestVisit(current);
 		log.trace("Done creating FrankElement for class name [{}]", () -> clazz.getName());
 		return current;
 	}
@@ -284,7 +353,7 @@ public class FrankDocModel {
 			if(getterAttributes.containsKey(attributeName)) {
 				checkForTypeConflict(method, getterAttributes.get(attributeName), attributeOwner);
 			}
-			FrankAttribute attribute = new FrankAttribute(attributeName, attributeOwner);
+			FrankAttribute attribute = new FrankAttribute(symbolTable.canonical(attributeName), attributeOwner);
 			if(method.getParameterTypes()[0].isEnum()) {
 				log.trace("Attribute [{}] has setter that takes enum: [{}]", () -> attribute.getName(), () -> method.getParameterTypes()[0].toString());
 				attribute.setAttributeType(AttributeType.STRING);
@@ -307,10 +376,9 @@ public class FrankDocModel {
 	}
 
 	private void setAttributeFeatures(FrankAttribute attribute, FrankMethod method, FrankClassRepository classRepository) throws FrankDocException {
-		Reference featureReference = new Reference(classRepository);
 		attribute.setDocumented(
 				(Description.getInstance().valueOf(method) != null)
-				|| (featureReference.valueOf(method) != null)
+				|| (referenceFeature.valueOf(method) != null)
 				|| (Default.getInstance().valueOf(method) != null)
 				|| (Mandatory.getInstance().valueOf(method) != null)
 				|| Optional.getInstance().isSetOn(method));
@@ -319,7 +387,7 @@ public class FrankDocModel {
 		log.trace("Attribute: deprecated = [{}], documented = [{}], reintroduced = [{}]",
 				() -> attribute.isDeprecated(), () -> attribute.isDocumented(), () -> attribute.isReintroduced());
 		CreationContext context = new CreationContext();
-		(new AncestorMethodBrowser(classRepository, AncestorMethodBrowser.References.WITH_REFERENCES)).browse(method,
+		(new AncestorMethodBrowser(referenceFeature, AncestorMethodBrowser.References.WITH_REFERENCES)).browse(method,
 				ancestorMethod -> handleAttributeSetterAncestor(attribute, ancestorMethod, context));
 		attribute.setMandatoryStatus(MandatoryStatus.of(context.mandatoryValue, context.optionalValue));
 		log.trace("Mandatory status [{}]", () -> attribute.getMandatoryStatus().toString());
@@ -473,9 +541,8 @@ public class FrankDocModel {
 		}
 	}
 
-	private boolean createConfigChildren(FrankElement parent) throws FrankDocException {
+	private void createConfigChildren(FrankElement parent) throws FrankDocException {
 		log.trace("Creating config children of FrankElement [{}]", () -> parent.getFullName());
-		boolean createdNewConfigChildren = false;
 		List<FrankMethod> frankMethods = parent.getUnusedConfigChildSetterCandidates().keySet().stream()
 				.filter(m -> configChildDescriptors.containsKey(m.getName()))
 				.collect(Collectors.toList());
@@ -492,7 +559,7 @@ public class FrankDocModel {
 			configChild.setAllowMultiple(configChildDescriptor.isAllowMultiple());
 			log.trace("Allow multiple = [{}]", () -> Boolean.valueOf(configChild.isAllowMultiple()).toString());
 			CreationContext context = new CreationContext();
-			(new AncestorMethodBrowser(classRepository, References.WITHOUT_REFERENCES)).browse(frankMethod,
+			(new AncestorMethodBrowser(referenceFeature, References.WITHOUT_REFERENCES)).browse(frankMethod,
 					ancestorMethod -> handleConfigChildSetterAncestor(configChild, ancestorMethod, context));
 			configChild.setMandatoryStatus(MandatoryStatus.of(context.mandatoryValue, context.optionalValue));
 			log.trace("Mandatory status [{}]", configChild.getMandatoryStatus().toString());
@@ -500,11 +567,14 @@ public class FrankDocModel {
 				log.trace("For FrankElement [{}] method [{}], going to search element role", () -> parent.getFullName(), () -> frankMethod.getName());
 				FrankClass elementTypeClass = (FrankClass) frankMethod.getParameterTypes()[0];
 				((ObjectConfigChild) configChild).setElementRole(findOrCreateElementRole(elementTypeClass, configChildDescriptor.getRoleName()));
-				((ObjectConfigChild) configChild).getElementRole().getElementType().getMembers().forEach(f -> f.addConfigParent(configChild));
+				Map<FrankElement, Integer> done = new HashMap<>();
+				for(FrankElement member: ((ObjectConfigChild) configChild).getElementRole().getElementType().getMembers()) {
+					member.addConfigParent(configChild);
+					requestVisitsForNewConfigParent(member, configParentDependencyDepth, done);
+				}
 				log.trace("For FrankElement [{}] method [{}], have the element role", () -> parent.getFullName(), () -> frankMethod.getName());
 			}
 			configChild.setOrder(parent.getUnusedConfigChildSetterCandidates().get(frankMethod));
-			createdNewConfigChildren = true;
 			parent.getConfigChildrenUnderConstruction().add(configChild);
 			parent.getUnusedConfigChildSetterCandidates().remove(frankMethod);
 			if(log.isTraceEnabled() && frankMethod.isMultiplyInheritedPlaceholder()) {
@@ -513,7 +583,6 @@ public class FrankDocModel {
 			log.trace("Done creating config child [{}], the order is [{}]", () -> configChild.toString(), () -> configChild.getOrder());
 		}
 		log.trace("Done creating config children of FrankElement [{}]", () -> parent.getFullName());
-		return createdNewConfigChildren;
 	}
 
 	void handleConfigChildSetterAncestor(ConfigChild configChild, FrankMethod ancestorMethod, CreationContext context) {
@@ -583,7 +652,7 @@ public class FrankDocModel {
 		}
 		FrankDocGroup group = groupFactory.getGroup(clazz);
 		log.trace("Creating ElementType [{}] with group [{}]", () -> clazz.getName(), () -> group.getName());
-		final ElementType result = new ElementType(clazz, group, classRepository);
+		final ElementType result = new ElementType(clazz, group, classRepository, symbolTable);
 		// If a containing FrankElement contains the type being created, we do not
 		// want recursion.
 		allTypes.put(result.getFullName(), result);
@@ -642,6 +711,19 @@ public class FrankDocModel {
 		log.trace("Done calculating highest common interface for every ElementType");
 	}
 
+	/**
+	 * Calculate the XSD element names of the members of every {@link ElementRole} once, after the common
+	 * interface hierarchies they depend on are known. {@link FrankElement#getXsdElementName(ElementRole)} returns
+	 * them without calculating them again.
+	 */
+	void calculateXsdElementNames() {
+		log.trace("Going to calculate the XSD element names of the members of every ElementRole");
+		for(ElementRole role: allElementRoles.values()) {
+			role.getElementType().getMembers().forEach(frankElement -> frankElement.getXsdElementName(role));
+		}
+		log.trace("Done calculating the XSD element names");
+	}
+
 	void setOverriddenFrom() {
 		log.trace("Going to set property overriddenFrom for all config children and all attributes of all FrankElement");
 		Set<String> remainingElements = allElements.values().stream().map(FrankElement::getFullName).collect(Collectors.toSet());
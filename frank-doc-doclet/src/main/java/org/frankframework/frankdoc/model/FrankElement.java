@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -49,6 +50,7 @@ import org.frankframework.frankdoc.wrapper.FrankMethod;
 import org.frankframework.frankdoc.wrapper.FrankType;
 
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -101,6 +103,9 @@ public class FrankElement implements Comparable<FrankElement> {
 
 	private Map<Class<? extends ElementChild>, LinkedHashMap<? extends AbstractKey, ? extends ElementChild>> allChildren;
 	private @Getter List<String> xmlElementNames;
+	// Filled by FrankDocModel.calculateXsdElementNames(), the XSD writers read the names many times
+	private final Map<ElementRole.Key, String> xsdElementNames = new ConcurrentHashMap<>();
+	private final Map<CumulativeChildrenKey, List<? extends ElementChild>> cumulativeChildren = new ConcurrentHashMap<>();
 	private @Getter FrankElementStatistics statistics;
 	private LinkedHashMap<String, ConfigChildSet> configChildSets;
 	private @Getter @Setter String description;
@@ -112,8 +117,8 @@ public class FrankElement implements Comparable<FrankElement> {
 
 	private @Getter List<FrankLabel> labels = new ArrayList<>();
 
-	FrankElement(FrankClass clazz, FrankClassRepository repository, FrankDocGroupFactory groupFactory, LabelValues labelValues) {
-		this(clazz.getName(), clazz.getSimpleName(), clazz.isAbstract());
+	FrankElement(FrankClass clazz, FrankClassRepository repository, FrankDocGroupFactory groupFactory, LabelValues labelValues, SymbolTable symbolTable) {
+		this(symbolTable.canonical(clazz.getName()), symbolTable.canonical(clazz.getSimpleName()), clazz.isAbstract());
 		isDeprecated = Deprecated.getInstance().isSetOn(clazz);
 		configChildSets = new LinkedHashMap<>();
 		this.completeFrankElement(clazz);
@@ -391,16 +396,25 @@ public class FrankElement implements Comparable<FrankElement> {
 	}
 
 	public List<ConfigChild> getCumulativeConfigChildren(Predicate<ElementChild> selector, Predicate<ElementChild> rejector) {
-		return getCumulativeChildren(selector, rejector, ConfigChild.class).stream()
-				.map(c -> (ConfigChild) c).collect(Collectors.toList());
+		return new ArrayList<>(getCumulativeChildren(selector, rejector, ConfigChild.class));
 	}
 
 	public List<FrankAttribute> getCumulativeAttributes(Predicate<ElementChild> selector, Predicate<ElementChild> rejector) {
-		return getCumulativeChildren(selector, rejector, FrankAttribute.class).stream()
-				.map(c -> (FrankAttribute) c).collect(Collectors.toList());
+		return new ArrayList<>(getCumulativeChildren(selector, rejector, FrankAttribute.class));
 	}
 
+	/**
+	 * The result is cached, because the XSD writers and the JSON factory ask for the same cumulative children
+	 * many times. The cached lists of ancestors are reused when the children of their descendants are calculated.
+	 * Can only be called when the model is complete.
+	 */
+	@SuppressWarnings("unchecked")
 	private <T extends ElementChild> List<T> getCumulativeChildren(Predicate<ElementChild> selector, Predicate<ElementChild> rejector, Class<T> kind) {
+		return (List<T>) cumulativeChildren.computeIfAbsent(new CumulativeChildrenKey(selector, rejector, kind),
+				key -> Collections.unmodifiableList(calculateCumulativeChildren(selector, rejector, kind)));
+	}
+
+	private <T extends ElementChild> List<T> calculateCumulativeChildren(Predicate<ElementChild> selector, Predicate<ElementChild> rejector, Class<T> kind) {
 		final List<T> result = new ArrayList<>();
 		new AncestorChildNavigation<T>(new CumulativeChildHandler<T>() {
 			@Override
@@ -426,8 +440,23 @@ public class FrankElement implements Comparable<FrankElement> {
 		return result;
 	}
 
+	// The selectors and rejectors are constants of ElementChild and XsdVersion. Lambdas are equal
+	// only to themselves, so the predicates are compared by identity.
+	@EqualsAndHashCode
+	private static final class CumulativeChildrenKey {
+		private final Predicate<ElementChild> selector;
+		private final Predicate<ElementChild> rejector;
+		private final Class<? extends ElementChild> kind;
+
+		CumulativeChildrenKey(Predicate<ElementChild> selector, Predicate<ElementChild> rejector, Class<? extends ElementChild> kind) {
+			this.selector = selector;
+			this.rejector = rejector;
+			this.kind = kind;
+		}
+	}
+
 	public String getXsdElementName(ElementRole elementRole) {
-		return getXsdElementName(elementRole.getElementType(), elementRole.getRoleName());
+		return xsdElementNames.computeIfAbsent(elementRole.getKey(), key -> getXsdElementName(elementRole.getElementType(), elementRole.getRoleName()));
 	}
 
 	String getXsdElementName(ElementType elementType, String roleName) {
@@ -449,9 +478,8 @@ public class FrankElement implements Comparable<FrankElement> {
 		// here so there is no need to promote (IWrapperPipe, outputWrapper). This way, the outputWrapper config child
 		// only allows elements that implement IWrapperPipe, not all implementations of IPipe.
 		//
-		List<String> removablePostfixes = elementType.getCommonInterfaceHierarchy().stream().map(ElementType::getGroupName).collect(Collectors.toList());
 		String result = simpleName;
-		for(String removablePostfix: removablePostfixes) {
+		for(String removablePostfix: elementType.getRemovablePostfixes()) {
 			if(result.endsWith(removablePostfix)) {
 				result = result.substring(0, result.lastIndexOf(removablePostfix));
 				break;
@@ -511,9 +539,17 @@ public class FrankElement implements Comparable<FrankElement> {
 		return null;
 	}
 
-	public boolean hasOrInheritsPluralConfigChildren(Predicate<ElementChild> selector, Predicate<ElementChild> rejector) {
-		boolean hasPluralConfigChildren = configChildSets.values().stream()
+	/**
+	 * True if one of the {@link ConfigChildSet}-s declared by this element allows multiple {@link ElementRole}-s,
+	 * not considering the ancestors.
+	 */
+	public boolean hasPluralConfigChildren(Predicate<ElementChild> selector, Predicate<ElementChild> rejector) {
+		return configChildSets.values().stream()
 				.anyMatch(c -> c.getFilteredElementRoles(selector, rejector).size() >= 2);
+	}
+
+	public boolean hasOrInheritsPluralConfigChildren(Predicate<ElementChild> selector, Predicate<ElementChild> rejector) {
+		boolean hasPluralConfigChildren = hasPluralConfigChildren(selector, rejector);
 		boolean inheritsPluralConfigChildren = false;
 		FrankElement ancestor = getNextAncestorThatHasOrRejectsConfigChildren(selector, rejector);
 		if(ancestor != null) {
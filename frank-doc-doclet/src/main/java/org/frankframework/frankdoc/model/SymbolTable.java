@@ -0,0 +1,46 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns the names of one {@link FrankDocModel}, like the full names of {@link FrankElement} and {@link ElementType},
+ * attribute names and the role names of {@link ElementRole}. There is only one String instance per name.
+ * {@link ElementRole.Key} holds these instances, so equal keys of the model compare their names by reference.
+ * <p>
+ * The table is owned by the model and is only used while the model is populated, which happens in one thread.
+ */
+final class SymbolTable {
+	private final Map<String, String> names = new HashMap<>();
+
+	/**
+	 * The single String instance that is equal to the argument. Null stays null.
+	 */
+	String canonical(String name) {
+		if(name == null) {
+			return null;
+		}
+		String result = names.putIfAbsent(name, name);
+		return result == null ? name : result;
+	}
+
+	int size() {
+		return names.size();
+	}
+}
@@ -28,7 +28,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 
 @Plugin(name = "ErrorDetectingAppender", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
 public class ErrorDetectingAppender extends AbstractAppender {
-	public static boolean HAVE_ERRORS = false;
+	public static volatile boolean HAVE_ERRORS = false;
 
 	@PluginFactory
 	public static ErrorDetectingAppender createAppender(@PluginAttribute("name") String name) {
@@ -88,16 +88,20 @@ public class XmlBuilder {
 
 	public void addSubElement(XmlBuilder newElement, boolean adoptNamespace) {
 		if (newElement != null) {
-			if (adoptNamespace
-					&& StringUtils.isNotEmpty(element.getNamespaceURI())) {
-				addNamespaceRecursive(newElement.element,
-						element.getNamespace());
+			if (adoptNamespace) {
+				adoptNamespace(newElement.element, element.getNamespace());
 			}
 			element.addContent(newElement.element);
 		}
 	}
 
-	private void addNamespaceRecursive(Element element, Namespace namespace) {
+	static void adoptNamespace(Element element, Namespace namespace) {
+		if (StringUtils.isNotEmpty(namespace.getURI())) {
+			addNamespaceRecursive(element, namespace);
+		}
+	}
+
+	private static void addNamespaceRecursive(Element element, Namespace namespace) {
 		if (StringUtils.isEmpty(element.getNamespaceURI())) {
 			element.setNamespace(namespace);
 			List<Element> childList = element.getChildren();
@@ -130,15 +134,23 @@ public class XmlBuilder {
 		}
 	}
 
+	Element getElement() {
+		return element;
+	}
+
 	public String toXML() {
 		return toXML(false);
 	}
 
 	public String toXML(boolean xmlHeader) {
+		return toXML(xmlHeader, true);
+	}
+
+	public String toXML(boolean xmlHeader, boolean prettyPrint) {
 		Document document = new Document(element.detach());
 		XMLOutputter xmlOutputter = new XMLOutputter();
-		xmlOutputter.setFormat(
-				Format.getPrettyFormat().setOmitDeclaration(!xmlHeader));
+		Format format = prettyPrint ? Format.getPrettyFormat() : Format.getCompactFormat();
+		xmlOutputter.setFormat(format.setOmitDeclaration(!xmlHeader));
 		return xmlOutputter.outputString(document);
 	}
 }
@@ -0,0 +1,141 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.jdom2.Attribute;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.output.Format;
+import org.jdom2.output.support.AbstractXMLOutputProcessor;
+import org.jdom2.output.support.FormatStack;
+import org.jdom2.util.NamespaceStack;
+
+/**
+ * Writes an XML document to a {@link Writer} one child of the root element at a time. The
+ * output is the same as {@link XmlBuilder#toXML(boolean)} with an XML header would produce
+ * if all children were added to the root element, but the document is never held
+ * in memory as a whole, neither as a String nor as a JDOM tree below the root element.
+ * <p>
+ * Use this class as follows. Call {@link #startDocument(XmlBuilder)} with a root element
+ * that has attributes but no content. Then call {@link #writeChild(XmlBuilder)} for each
+ * child of the root element, and finish with {@link #endDocument()}. This class does not
+ * close the {@link Writer}.
+ */
+public class XmlDocumentWriter {
+	private final Writer out;
+	private final Processor processor = new Processor();
+	private final FormatStack fstack;
+	private final NamespaceStack nstack = new NamespaceStack();
+	private Element root;
+	private boolean hasChildren = false;
+
+	public XmlDocumentWriter(Writer out) {
+		this(out, true);
+	}
+
+	/**
+	 * @param prettyPrint When false, the output is the same as {@link XmlBuilder#toXML(boolean, boolean)} without
+	 * pretty printing, which has no indentation and no line breaks between elements.
+	 */
+	public XmlDocumentWriter(Writer out, boolean prettyPrint) {
+		this.out = out;
+		this.fstack = new FormatStack(prettyPrint ? Format.getPrettyFormat() : Format.getCompactFormat());
+	}
+
+	public void startDocument(XmlBuilder rootBuilder) throws IOException {
+		if(root != null) {
+			throw new IllegalStateException("Document was already started");
+		}
+		root = rootBuilder.getElement();
+		if(root.getContentSize() != 0) {
+			throw new IllegalArgumentException(String.format("Root element [%s] should not have content", root.getQualifiedName()));
+		}
+		processor.printDeclaration(out, fstack);
+		processor.printStartTagWithoutClosingBracket(out, fstack, nstack, root);
+		// Below the root element, the indentation is one level deeper.
+		fstack.push();
+	}
+
+	public void writeChild(XmlBuilder childBuilder) throws IOException {
+		if(root == null) {
+			throw new IllegalStateException("Cannot write child before the document is started");
+		}
+		if(! hasChildren) {
+			processor.write(out, ">");
+			hasChildren = true;
+		}
+		Element child = childBuilder.getElement();
+		XmlBuilder.adoptNamespace(child, root.getNamespace());
+		processor.write(out, fstack.getPadBetween());
+		processor.printElement(out, fstack, nstack, child);
+	}
+
+	public void endDocument() throws IOException {
+		if(root == null) {
+			throw new IllegalStateException("Cannot end document that was not started");
+		}
+		if(hasChildren) {
+			processor.write(out, fstack.getPadLast());
+			fstack.pop();
+			processor.write(out, "</");
+			processor.write(out, root.getQualifiedName());
+			processor.write(out, ">");
+		} else {
+			fstack.pop();
+			processor.write(out, " />");
+		}
+		nstack.pop();
+		processor.write(out, fstack.getLineSeparator());
+		out.flush();
+	}
+
+	// Gives access to the protected methods of JDOM that do the actual formatting.
+	private static class Processor extends AbstractXMLOutputProcessor {
+		@Override
+		protected void printDeclaration(Writer out, FormatStack fstack) throws IOException {
+			super.printDeclaration(out, fstack);
+		}
+
+		@Override
+		protected void printElement(Writer out, FormatStack fstack, NamespaceStack nstack, Element element) throws IOException {
+			super.printElement(out, fstack, nstack, element);
+		}
+
+		@Override
+		protected void write(Writer out, String str) throws IOException {
+			super.write(out, str);
+		}
+
+		// Same as the start of AbstractXMLOutputProcessor.printElement(). The namespace stack is left pushed.
+		void printStartTagWithoutClosingBracket(Writer out, FormatStack fstack, NamespaceStack nstack, Element element) throws IOException {
+			nstack.push(element);
+			write(out, "<");
+			write(out, element.getQualifiedName());
+			for(Namespace ns: nstack.addedForward()) {
+				printNamespace(out, fstack, ns);
+			}
+			if(element.hasAttributes()) {
+				for(Attribute attribute: element.getAttributes()) {
+					printAttribute(out, fstack, attribute);
+				}
+			}
+		}
+	}
+}
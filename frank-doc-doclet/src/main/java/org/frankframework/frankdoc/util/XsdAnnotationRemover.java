@@ -0,0 +1,52 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jdom2.Element;
+
+/**
+ * Removes the xs:annotation elements from XSD components. The documentation that is removed this way
+ * is not kept. A lean XSD gets its documentation from the model instead, see DocWriterNew.
+ */
+public final class XsdAnnotationRemover {
+	private static final String ANNOTATION = "annotation";
+
+	private XsdAnnotationRemover() {
+	}
+
+	/**
+	 * @param components The children of the xs:schema element. They are modified.
+	 */
+	public static void removeAnnotations(List<XmlBuilder> components) {
+		for(XmlBuilder component: components) {
+			removeAnnotations(component.getElement());
+		}
+	}
+
+	private static void removeAnnotations(Element element) {
+		for(Element child: new ArrayList<>(element.getChildren())) {
+			if(child.getName().equals(ANNOTATION)) {
+				element.removeContent(child);
+			} else {
+				removeAnnotations(child);
+			}
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/* 
+Copyright 2023 WeAreFrank! 
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+    http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License. 
+*/
+
+package org.frankframework.frankdoc.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.Logger;
+import org.jdom2.Attribute;
+import org.jdom2.Content;
+import org.jdom2.Element;
+import org.jdom2.Text;
+
+/**
+ * Removes named XSD components that are structurally identical to an earlier component of the same
+ * kind, and makes the references to a removed component refer to the component that is kept.
+ * The XSD then allows the same XML documents as before.
+ * <p>
+ * Top-level xs:complexType, xs:simpleType, xs:group and xs:attributeGroup definitions are considered.
+ * Two definitions are identical if they are equal apart from their names. When references are
+ * replaced, other definitions can become identical, so this is repeated until nothing changes.
+ * Definitions that refer to themselves are only merged if they are identical including those references.
+ */
+public final class XsdDeduplicator {
+	private static Logger log = LogUtil.getLogger(XsdDeduplicator.class);
+
+	private static final String ATTRIBUTE_NAME = "name";
+	private static final String ATTRIBUTE_REF = "ref";
+
+	// The XSD symbol spaces of the definitions that are deduplicated. Types share one symbol space.
+	private enum SymbolSpace {
+		TYPE,
+		GROUP,
+		ATTRIBUTE_GROUP;
+
+		static SymbolSpace of(Element definition) {
+			switch(definition.getName()) {
+			case "complexType":
+			case "simpleType":
+				return TYPE;
+			case "group":
+				return GROUP;
+			case "attributeGroup":
+				return ATTRIBUTE_GROUP;
+			default:
+				return null;
+			}
+		}
+	}
+
+	private XsdDeduplicator() {
+	}
+
+	/**
+	 * @param components The children of the xs:schema element, in document order. They are modified.
+	 * @return The components that remain, in the same order.
+	 */
+	public static List<XmlBuilder> deduplicate(List<XmlBuilder> components) {
+		List<XmlBuilder> result = new ArrayList<>(components);
+		int numBefore = result.size();
+		while(true) {
+			Map<SymbolSpace, Map<String, String>> replacements = findReplacements(result);
+			if(replacements.values().stream().allMatch(Map::isEmpty)) {
+				break;
+			}
+			result = result.stream().filter(c -> ! isReplaced(c.getElement(), replacements)).collect(Collectors.toList());
+			result.forEach(c -> replaceReferences(c.getElement(), replacements));
+		}
+		log.trace("Deduplication reduced the number of XSD components from [{}] to [{}]", numBefore, result.size());
+		return result;
+	}
+
+	// Per symbol space, maps the names of duplicate definitions to the name of the first identical definition.
+	private static Map<SymbolSpace, Map<String, String>> findReplacements(List<XmlBuilder> components) {
+		Map<SymbolSpace, Map<String, String>> result = new HashMap<>();
+		Map<SymbolSpace, Map<String, String>> firstNameBySignature = new HashMap<>();
+		for(SymbolSpace symbolSpace: SymbolSpace.values()) {
+			result.put(symbolSpace, new HashMap<>());
+			firstNameBySignature.put(symbolSpace, new HashMap<>());
+		}
+		for(XmlBuilder component: components) {
+			Element definition = component.getElement();
+			SymbolSpace symbolSpace = SymbolSpace.of(definition);
+			String name = definition.getAttributeValue(ATTRIBUTE_NAME);
+			if((symbolSpace == null) || (name == null)) {
+				continue;
+			}
+			StringBuilder signature = new StringBuilder();
+			appendSignature(definition, signature, true);
+			String firstName = firstNameBySignature.get(symbolSpace).putIfAbsent(signature.toString(), name);
+			if(firstName != null) {
+				result.get(symbolSpace).put(name, firstName);
+			}
+		}
+		return result;
+	}
+
+	private static void appendSignature(Element element, StringBuilder signature, boolean isDefinition) {
+		signature.append('<').append(element.getNamespaceURI()).append(':').append(element.getName());
+		List<Attribute> attributes = new ArrayList<>(element.getAttributes());
+		attributes.sort(Comparator.comparing(Attribute::getQualifiedName));
+		for(Attribute attribute: attributes) {
+			if(isDefinition && attribute.getName().equals(ATTRIBUTE_NAME)) {
+				continue;
+			}
+			signature.append(' ').append(attribute.getQualifiedName()).append("=\"").append(attribute.getValue()).append('"');
+		}
+		signature.append('>');
+		for(Content content: element.getContent()) {
+			if(content instanceof Element) {
+				appendSignature((Element) content, signature, false);
+			} else if(content instanceof Text) {
+				signature.append(((Text) content).getText());
+			}
+		}
+		signature.append("</>");
+	}
+
+	private static boolean isReplaced(Element definition, Map<SymbolSpace, Map<String, String>> replacements) {
+		SymbolSpace symbolSpace = SymbolSpace.of(definition);
+		return (symbolSpace != null) && replacements.get(symbolSpace).containsKey(definition.getAttributeValue(ATTRIBUTE_NAME));
+	}
+
+	private static void replaceReferences(Element element, Map<SymbolSpace, Map<String, String>> replacements) {
+		replaceReference(element, "type", replacements.get(SymbolSpace.TYPE));
+		replaceReference(element, "base", replacements.get(SymbolSpace.TYPE));
+		replaceReference(element, "itemType", replacements.get(SymbolSpace.TYPE));
+		replaceReference(element, "memberTypes", replacements.get(SymbolSpace.TYPE));
+		if(element.getName().equals("group")) {
+			replaceReference(element, ATTRIBUTE_REF, replacements.get(SymbolSpace.GROUP));
+		} else if(element.getName().equals("attributeGroup")) {
+			replaceReference(element, ATTRIBUTE_REF, replacements.get(SymbolSpace.ATTRIBUTE_GROUP));
+		}
+		for(Element child: element.getChildren()) {
+			replaceReferences(child, replacements);
+		}
+	}
+
+	// The value can be a whitespace-separated list of names, like xs:union/@memberTypes.
+	private static void replaceReference(Element element, String attributeName, Map<String, String> replacements) {
+		String value = element.getAttributeValue(attributeName);
+		if(value == null) {
+			return;
+		}
+		String replaced = Arrays.stream(value.trim().split("\\s+"))
+				.map(name -> replacements.getOrDefault(name, name))
+				.collect(Collectors.joining(" "));
+		if(! replaced.equals(value)) {
+			element.setAttribute(attributeName, replaced);
+		}
+	}
+}
@@ -18,6 +18,7 @@ package org.frankframework.frankdoc.wrapper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -54,6 +55,8 @@ class FrankClassDoclet implements FrankClass {
 	private @Getter(AccessLevel.PACKAGE) List<MultiplyInheritedMethodPlaceholder> multiplyInheritedMethodPlaceholders = new ArrayList<>();
 	private Map<String, String> fields = new HashMap<>();
 	private Map<String, FrankEnumConstant> enumFields = new HashMap<>();
+	private volatile Map<MethodDoc, FrankMethod> declaredAndInheritedMethods;
+	private volatile FrankMethod[] publicDeclaredAndInheritedMethods;
 
 	FrankClassDoclet(ClassDoc clazz, FrankClassRepository repository) {
 		log.trace("Creating FrankClassDoclet for [{}]", clazz.name());
@@ -220,27 +223,42 @@ class FrankClassDoclet implements FrankClass {
 
 	@Override
 	public FrankMethod[] getDeclaredAndInheritedMethods() {
-		List<FrankMethod> resultList = getDeclaredAndInheritedMethodsAsMap().values().stream()
-				.filter(FrankMethod::isPublic)				
-				.collect(Collectors.toList());
-		FrankMethod[] result = new FrankMethod[resultList.size()];
-		for(int i = 0; i < resultList.size(); ++i) {
-			result[i] = resultList.get(i);
+		FrankMethod[] result = publicDeclaredAndInheritedMethods;
+		if(result == null) {
+			result = getDeclaredAndInheritedMethodsAsMap().values().stream()
+					.filter(FrankMethod::isPublic)
+					.toArray(FrankMethod[]::new);
+			publicDeclaredAndInheritedMethods = result;
 		}
-		return result;
+		return Arrays.copyOf(result, result.length);
 	}
 
+	/**
+	 * The method table is calculated only once. A subclass starts from the table of its
+	 * superclass and only applies its own declared methods. The table is never modified
+	 * after it is published, so it is safe if two threads happen to calculate it at the same time.
+	 */
 	private Map<MethodDoc, FrankMethod> getDeclaredAndInheritedMethodsAsMap() {
+		Map<MethodDoc, FrankMethod> result = declaredAndInheritedMethods;
+		if(result == null) {
+			result = createDeclaredAndInheritedMethodsAsMap();
+			declaredAndInheritedMethods = result;
+		}
+		return result;
+	}
+
+	private Map<MethodDoc, FrankMethod> createDeclaredAndInheritedMethodsAsMap() {
 		final Map<MethodDoc, FrankMethod> result = new HashMap<>();
-		if(getSuperclass() != null) {
-			result.putAll(((FrankClassDoclet) getSuperclass()).getDeclaredAndInheritedMethodsAsMap());
+		FrankClass superclass = getSuperclass();
+		if(superclass != null) {
+			result.putAll(((FrankClassDoclet) superclass).getDeclaredAndInheritedMethodsAsMap());
 		}
 		List<FrankMethod> declaredMethodList = Arrays.asList(getDeclaredMethods());
 		for(FrankMethod declaredMethod: declaredMethodList) {
 			((FrankMethodDoclet) declaredMethod).removeOverriddenFrom(result);
 		}
 		declaredMethodList.forEach(dm -> ((FrankMethodDoclet) dm).addToRepository(result));
-		return result;
+		return Collections.unmodifiableMap(result);
 	}
 
 	@Override
@@ -0,0 +1,78 @@
+package org.frankframework.frankdoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.frankframework.frankdoc.cmd.ConfigIndex;
+import org.frankframework.frankdoc.cmd.FastConfigValidator;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.ValidationResult;
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.wrapper.TestUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigIndexFactoryTest {
+	private static final String EXOTIC_PACKAGE = "org.frankframework.frankdoc.testtarget.exotic.";
+	private static final String SIMPLE_PACKAGE = "org.frankframework.frankdoc.testtarget.examples.simple.";
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	@Test
+	public void whenIndexCreatedFromModelThenSameConfigsValidAsWithXsd() throws Exception {
+		FrankDocModel model = FrankDocModel.populate(TestUtil.resourceAsURL("/doc/exotic-digester-rules.xml"), EXOTIC_PACKAGE + "Master", TestUtil.getFrankClassRepositoryDoclet(EXOTIC_PACKAGE));
+		ConfigIndex index = new ConfigIndexFactory(new XsdSchemaPlan.Factory(model), XsdVersion.STRICT, AttributeTypeStrategy.ALLOW_PROPERTY_REF).create();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.write(out);
+		ConfigIndex readIndex = ConfigIndex.read(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(index.getNumNodes(), readIndex.getNumNodes());
+		FastConfigValidator validator = new FastConfigValidator(readIndex);
+		ValidationResult result = validator.validate(new File(TestUtil.resourceAsURL("/doc/testConfigs/testExotic.xml").toURI()));
+		assertTrue(result.getIssues().toString(), result.isValid());
+		assertFalse(validator.validate(newFile("<Master><Part className=\"x\"><Master/></Part></Master>")).isValid());
+	}
+
+	@Test
+	public void whenIndexAndXsdCreatedFromSameModelThenTheyAgree() throws Exception {
+		FrankDocModel model = FrankDocModel.populate(
+				TestUtil.resourceAsURL("/doc/examples-simple-digester-rules.xml"), SIMPLE_PACKAGE + "Start", TestUtil.getFrankClassRepositoryDoclet(SIMPLE_PACKAGE));
+		XsdSchemaPlan.Factory planFactory = new XsdSchemaPlan.Factory(model);
+		DocWriterNew docWriter = new DocWriterNew(planFactory, AttributeTypeStrategy.ALLOW_PROPERTY_REF, "1.2.3-SNAPSHOT");
+		docWriter.init(SIMPLE_PACKAGE + "Start", XsdVersion.STRICT);
+		File xsd = testFolder.newFile("simple.xsd");
+		Files.write(xsd.toPath(), docWriter.getSchema().getBytes(StandardCharsets.UTF_8));
+		XmlAgainstXsdValidator xsdValidator = new XmlAgainstXsdValidator(XmlAgainstXsdValidator.compileSchema(xsd));
+		FastConfigValidator validator = new FastConfigValidator(new ConfigIndexFactory(planFactory, XsdVersion.STRICT, AttributeTypeStrategy.ALLOW_PROPERTY_REF).create());
+		List<String> configs = Arrays.asList(
+				"<Start attribute=\"x\" abstractParentOfStartAttribute=\"${y}\" active=\"true\"/>",
+				"<Start><DescribedPossibleIRoleNameIChild firstAttribute=\"a\" secondAttribute=\"b\"/><RoleNameTChild/></Start>",
+				"<Start><RoleNameIChild className=\"x.Child\" whatever=\"y\"/></Start>",
+				"<Start other=\"x\"/>",
+				"<Start><DescribedPossibleIRoleNameIChild/></Start>",
+				"<Start><DescribedPossibleIRoleNameIChild firstAttribute=\"a\" unknown=\"b\"/></Start>",
+				"<Start><RoleNameIChild/></Start>",
+				"<Start><RoleNameTChild attribute=\"x\"/></Start>",
+				"<Start><Start/></Start>");
+		for(String config: configs) {
+			File file = newFile(config);
+			assertEquals(config, xsdValidator.validate(file).isValid(), validator.validate(file).isValid());
+		}
+	}
+
+	private File newFile(String xml) throws Exception {
+		File file = testFolder.newFile();
+		Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -15,14 +15,33 @@ limitations under the License.
 */
 package org.frankframework.frankdoc;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeNotNull;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import javax.json.Json;
 import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -136,6 +155,85 @@ public class DocWriterNewAndJsonGenerationExamplesTest {
 		TestUtil.assertEqualsIgnoreCRLF(expectedXsd, actualXsd);
 	}
 
+	@Test
+	public void testStreamedXsdEqualsSchemaString() throws Exception {
+		assumeNotNull(expectedXsdFileName);
+		FrankDocModel model = createModel();
+		DocWriterNew docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.init(startClassName, xsdVersion);
+		String schemaString = docWriter.getSchema();
+		docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.init(startClassName, xsdVersion);
+		ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+		docWriter.writeSchema(streamed);
+		assertArrayEquals(schemaString.getBytes(StandardCharsets.UTF_8), streamed.toByteArray());
+	}
+
+	@Test
+	public void testDeduplicatedXsdIsValidAndNotLarger() throws Exception {
+		assumeNotNull(expectedXsdFileName);
+		FrankDocModel model = createModel();
+		DocWriterNew docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.init(startClassName, xsdVersion);
+		String xsd = docWriter.getSchema();
+		docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.setDeduplicate(true);
+		docWriter.init(startClassName, xsdVersion);
+		String deduplicatedXsd = docWriter.getSchema();
+		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		schemaFactory.newSchema(new StreamSource(new StringReader(deduplicatedXsd)));
+		assertTrue(deduplicatedXsd.length() <= xsd.length());
+		// Without documentation more definitions are identical
+		docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.setDeduplicate(true);
+		docWriter.setLean(true);
+		docWriter.init(startClassName, xsdVersion);
+		schemaFactory.newSchema(new StreamSource(new StringReader(docWriter.getSchema())));
+		// The omitted documentation is keyed by the model, so merging definitions does not change it
+		StringWriter deduplicatedDocumentation = new StringWriter();
+		docWriter.writeOmittedDocumentation(deduplicatedDocumentation);
+		docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.setLean(true);
+		docWriter.init(startClassName, xsdVersion);
+		docWriter.getSchema();
+		StringWriter documentation = new StringWriter();
+		docWriter.writeOmittedDocumentation(documentation);
+		assertEquals(documentation.toString(), deduplicatedDocumentation.toString());
+	}
+
+	@Test
+	public void testLeanXsdHasNoDocumentationAndStreamsTheSame() throws Exception {
+		assumeNotNull(expectedXsdFileName);
+		FrankDocModel model = createModel();
+		DocWriterNew docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.setLean(true);
+		docWriter.init(startClassName, xsdVersion);
+		String leanXsd = docWriter.getSchema();
+		StringWriter omittedDocumentation = new StringWriter();
+		docWriter.writeOmittedDocumentation(omittedDocumentation);
+		docWriter = new DocWriterNew(model, attributeTypeStrategy, "1.2.3-SNAPSHOT");
+		docWriter.setLean(true);
+		docWriter.init(startClassName, xsdVersion);
+		ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+		docWriter.writeSchema(streamed);
+		assertArrayEquals(leanXsd.getBytes(StandardCharsets.UTF_8), streamed.toByteArray());
+		assertFalse(leanXsd.contains("annotation"));
+		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		schemaFactory.newSchema(new StreamSource(new StringReader(leanXsd)));
+		String expectedXsd = TestUtil.getTestFile("/doc/examplesExpected/" + expectedXsdFileName);
+		int numDocumentation = expectedXsd.split("<xs:documentation>", -1).length - 1;
+		JsonObject documentation = Json.createReader(new StringReader(omittedDocumentation.toString())).readObject();
+		// An attribute can be documented more than once in the XSD, but only once in the sidecar
+		int numElementAndAttributeDocumentation = documentation.getJsonObject("elements").values().stream()
+				.map(JsonObject.class::cast)
+				.mapToInt(e -> (e.containsKey("description") ? 1 : 0) + (e.containsKey("attributes") ? e.getJsonObject("attributes").size() : 0))
+				.sum();
+		assertTrue(numElementAndAttributeDocumentation <= numDocumentation);
+		if(numDocumentation == 0) {
+			assertEquals(0, numElementAndAttributeDocumentation);
+		}
+	}
+
 	private FrankDocModel createModel() throws Exception {
 		String[] requiredPackages = getAllRequiredPackages(packageOfClasses);
 		FrankClassRepository classRepository = TestUtil.getFrankClassRepositoryDoclet(requiredPackages);
@@ -167,4 +265,128 @@ public class DocWriterNewAndJsonGenerationExamplesTest {
 		String expectedJson = TestUtil.getTestFile("/doc/examplesExpected/" + expectedJsonFileName);
 		TestUtil.assertJsonEqual("Comparing JSON", expectedJson, actual);
 	}
+
+	@Test
+	public void testStreamedJsonEqualsExpectedJson() throws Exception {
+		assumeNotNull(expectedJsonFileName);
+		FrankDocModel model = createModel();
+		FrankDocJsonFactory jsonFactory = new FrankDocJsonFactory(model, "1.2.3-SNAPSHOT");
+		StringWriter streamed = new StringWriter();
+		jsonFactory.writeJson(streamed);
+		String expectedJson = TestUtil.getTestFile("/doc/examplesExpected/" + expectedJsonFileName);
+		TestUtil.assertEqualsIgnoreCRLF(Utils.jsonPretty(expectedJson), streamed.toString());
+	}
+
+	@Test
+	public void testJsonShardsHoldAllElements() throws Exception {
+		assumeNotNull(expectedJsonFileName);
+		FrankDocModel model = createModel();
+		FrankDocJsonFactory jsonFactory = new FrankDocJsonFactory(model, "1.2.3-SNAPSHOT");
+		JsonObject json = jsonFactory.getJson();
+		StringWriter indexWriter = new StringWriter();
+		jsonFactory.writeJsonIndex(indexWriter);
+		JsonObject index = Json.createReader(new StringReader(indexWriter.toString())).readObject();
+		for(String field: Arrays.asList("metadata", "groups", "types", "enums")) {
+			assertEquals(json.get(field), index.get(field));
+		}
+		Map<String, JsonObject> elementsFromShards = new HashMap<>();
+		for(String shardName: jsonFactory.getShardNames()) {
+			StringWriter shardWriter = new StringWriter();
+			jsonFactory.writeJsonShard(shardName, shardWriter);
+			JsonObject shard = Json.createReader(new StringReader(shardWriter.toString())).readObject();
+			for(JsonObject element: shard.getJsonArray("elements").getValuesAs(JsonObject.class)) {
+				assertNull(elementsFromShards.put(element.getString("fullName"), element));
+			}
+		}
+		List<JsonObject> elements = json.getJsonArray("elements").getValuesAs(JsonObject.class);
+		List<JsonObject> summaries = index.getJsonArray("elements").getValuesAs(JsonObject.class);
+		assertEquals(elements.size(), summaries.size());
+		assertEquals(elements.size(), elementsFromShards.size());
+		for(int i = 0; i < elements.size(); ++i) {
+			JsonObject element = elements.get(i);
+			assertEquals(element.getString("fullName"), summaries.get(i).getString("fullName"));
+			assertTrue(jsonFactory.getShardNames().contains(summaries.get(i).getString("shard")));
+			assertEquals(element, elementsFromShards.get(element.getString("fullName")));
+		}
+	}
+
+	@Test
+	public void testJsonInheritanceEqualsMergingAlongParents() throws Exception {
+		assumeNotNull(expectedJsonFileName);
+		FrankDocModel model = createModel();
+		FrankDocJsonFactory jsonFactory = new FrankDocJsonFactory(model, "1.2.3-SNAPSHOT");
+		jsonFactory.setIncludeInheritance(true);
+		Map<String, JsonObject> elements = new HashMap<>();
+		jsonFactory.getJson().getJsonArray("elements").getValuesAs(JsonObject.class).forEach(e -> elements.put(e.getString("fullName"), e));
+		for(JsonObject element: elements.values()) {
+			assertEquals(element.getString("fullName"), mergeAlongParents(element, elements), applyInheritance(element, elements));
+		}
+	}
+
+	// Like flattenElements() of the webapp. Only the names are kept, and "from <parent>" marks where inherited attributes start.
+	private static List<String> mergeAlongParents(JsonObject element, Map<String, JsonObject> elements) {
+		List<String> attributes = getNames(element, "attributes", "name");
+		List<String> children = getNames(element, "children", "roleName");
+		List<String> parameters = getNames(element, "parameters", "name");
+		List<String> forwards = getNames(element, "forwards", "name");
+		String parametersDescription = element.getString("parametersDescription", null);
+		for(String parent = element.getString("parent", null); parent != null; parent = elements.get(parent).getString("parent", null)) {
+			JsonObject parentElement = elements.get(parent);
+			List<String> parentAttributes = getNames(parentElement, "attributes", "name");
+			if(! parentAttributes.isEmpty()) {
+				attributes.add("from " + parent);
+			}
+			addMissing(attributes, parentAttributes);
+			addMissing(children, getNames(parentElement, "children", "roleName"));
+			addMissing(parameters, getNames(parentElement, "parameters", "name"));
+			addMissing(forwards, getNames(parentElement, "forwards", "name"));
+			if(parametersDescription == null) {
+				parametersDescription = parentElement.getString("parametersDescription", null);
+			}
+		}
+		return Arrays.asList(attributes.toString(), children.toString(), parameters.toString(), forwards.toString(), String.valueOf(parametersDescription));
+	}
+
+	private static List<String> applyInheritance(JsonObject element, Map<String, JsonObject> elements) {
+		List<String> attributes = getNames(element, "attributes", "name");
+		List<String> children = getNames(element, "children", "roleName");
+		List<String> parameters = getNames(element, "parameters", "name");
+		List<String> forwards = getNames(element, "forwards", "name");
+		String parametersDescription = element.getString("parametersDescription", null);
+		JsonObject inheritance = element.getJsonObject("inheritance");
+		if(inheritance != null) {
+			for(JsonObject inherited: getInherited(inheritance, "attributes")) {
+				attributes.add("from " + inherited.getString("from"));
+				attributes.addAll(getNames(inherited));
+			}
+			getInherited(inheritance, "children").forEach(inherited -> children.addAll(getNames(inherited)));
+			getInherited(inheritance, "parameters").forEach(inherited -> parameters.addAll(getNames(inherited)));
+			getInherited(inheritance, "forwards").forEach(inherited -> forwards.addAll(getNames(inherited)));
+			if(inheritance.containsKey("parametersDescriptionFrom")) {
+				parametersDescription = elements.get(inheritance.getString("parametersDescriptionFrom")).getString("parametersDescription");
+			}
+		}
+		return Arrays.asList(attributes.toString(), children.toString(), parameters.toString(), forwards.toString(), String.valueOf(parametersDescription));
+	}
+
+	private static List<String> getNames(JsonObject element, String field, String nameField) {
+		List<String> result = new ArrayList<>();
+		if(element.containsKey(field)) {
+			element.getJsonArray(field).getValuesAs(JsonObject.class).forEach(item -> result.add(item.getString(nameField)));
+		}
+		return result;
+	}
+
+	private static List<String> getNames(JsonObject inherited) {
+		return inherited.getJsonArray("names").getValuesAs(JsonString.class).stream().map(JsonString::getString).collect(Collectors.toList());
+	}
+
+	private static List<JsonObject> getInherited(JsonObject inheritance, String field) {
+		return inheritance.containsKey(field) ? inheritance.getJsonArray(field).getValuesAs(JsonObject.class) : new ArrayList<>();
+	}
+
+	private static void addMissing(List<String> base, List<String> toAdd) {
+		List<String> missing = toAdd.stream().filter(name -> ! base.contains(name)).collect(Collectors.toList());
+		base.addAll(missing);
+	}
 }
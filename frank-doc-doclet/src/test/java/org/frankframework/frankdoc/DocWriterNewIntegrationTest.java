@@ -15,15 +15,22 @@ limitations under the License.
 */
 package org.frankframework.frankdoc;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.io.StringReader;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
 
 import javax.xml.XMLConstants;
 import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
@@ -72,6 +79,21 @@ public class DocWriterNewIntegrationTest {
 		log.info("Validation of XML document against schema [{}] succeeded", outputFileName);
 	}
 
+	@Test
+	public void whenGroupsSelectedThenOnlyTheirElementsListed() throws Exception {
+		final String simplePackage = "org.frankframework.frankdoc.testtarget.examples.simple.";
+		FrankDocModel model = FrankDocModel.populate(
+				TestUtil.resourceAsURL("/doc/examples-simple-digester-rules.xml"), simplePackage + "Start", TestUtil.getFrankClassRepositoryDoclet(simplePackage));
+		DocWriterNew docWriter = new DocWriterNew(model, AttributeTypeStrategy.ALLOW_PROPERTY_REF, "1.2.3-SNAPSHOT");
+		docWriter.init(simplePackage + "Start", XsdVersion.STRICT, new HashSet<>(Arrays.asList("Other")));
+		String xsdString = docWriter.getSchema();
+		// Elements of group Child are only available as generic element option
+		assertFalse(xsdString.contains("DescribedPossibleIRoleNameIChild"));
+		assertTrue(xsdString.contains("\"RoleNameIChild\""));
+		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		schemaFactory.newSchema(new StreamSource(new StringReader(xsdString)));
+	}
+
 	private String generateXsd(
 			XsdVersion version, final String digesterRulesFileName, final String rootClassName, String outputSchemaFileName, AttributeTypeStrategy attributeTypeStrategy) throws IOException {
 		FrankDocModel model = FrankDocModel.populate(TestUtil.resourceAsURL(digesterRulesFileName), rootClassName, classRepository);
@@ -0,0 +1,77 @@
+package org.frankframework.frankdoc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.wrapper.FrankClassRepository;
+import org.frankframework.frankdoc.wrapper.TestUtil;
+
+public class FrankDocSearchIndexTest {
+	private static final String PACKAGE = "org.frankframework.frankdoc.testtarget.examples.simple.";
+	private static final String DIGESTER_RULES_FILE_NAME = "examples-simple-digester-rules.xml";
+
+	private JsonObject searchIndex;
+
+	@Before
+	public void setUp() throws IOException {
+		FrankClassRepository classRepository = TestUtil.getFrankClassRepositoryDoclet(PACKAGE);
+		FrankDocModel model = FrankDocModel.populate(TestUtil.resourceAsURL("doc/" + DIGESTER_RULES_FILE_NAME), PACKAGE + "Start", classRepository);
+		StringWriter writer = new StringWriter();
+		new FrankDocSearchIndexFactory(model).writeJson(writer);
+		searchIndex = Json.createReader(new StringReader(writer.toString())).readObject();
+	}
+
+	@Test
+	public void whenAttributeNameSearchedThenElementsWithThatAttributeFound() {
+		assertEquals(Arrays.asList(PACKAGE + "DescribedPossibleIChild", PACKAGE + "NotDescribedPossibleIChild"), getElements("secondattribute"));
+	}
+
+	@Test
+	public void whenEnumValueSearchedThenElementWithEnumAttributeFound() {
+		assertEquals(Arrays.asList(PACKAGE + "NotDescribedPossibleIChild"), getElements("customlabeltwo"));
+	}
+
+	@Test
+	public void whenDescriptionWordSearchedThenElementsWithThatDescriptionFound() {
+		assertEquals(Arrays.asList(PACKAGE + "DescribedPossibleIChild", PACKAGE + "TChild"), getElements("remaining"));
+	}
+
+	@Test
+	public void moduleElementIsIndexed() {
+		assertEquals(Arrays.asList(Constants.MODULE_ELEMENT_NAME), getElements("wrapper"));
+	}
+
+	@Test
+	public void whenTextTokenizedThenLowerCaseWithoutTagsAndSeparators() {
+		assertEquals(Arrays.asList("skip", "on", "empty", "input"),
+				FrankDocSearchIndexFactory.toTokens("<b>Skip</b> on-empty\ninput").collect(Collectors.toList()));
+	}
+
+	@Test
+	public void whenCamelCaseWordTokenizedThenPartsAreTokensToo() {
+		assertEquals(Arrays.asList("echopipe", "echo", "pipe", "xmlvalidator", "xml", "validator", "base64", "base", "64"),
+				FrankDocSearchIndexFactory.toTokens("EchoPipe XMLValidator base64").collect(Collectors.toList()));
+	}
+
+	private List<String> getElements(String token) {
+		JsonArray elementNames = searchIndex.getJsonArray("elements");
+		return searchIndex.getJsonObject("tokens").getJsonArray(token).getValuesAs(JsonNumber.class).stream()
+				.map(id -> elementNames.getString(id.intValue()))
+				.collect(Collectors.toList());
+	}
+}
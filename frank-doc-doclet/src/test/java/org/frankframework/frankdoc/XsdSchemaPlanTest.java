@@ -0,0 +1,63 @@
+package org.frankframework.frankdoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Set;
+
+import org.frankframework.frankdoc.model.FrankAttribute;
+import org.frankframework.frankdoc.model.FrankDocModel;
+import org.frankframework.frankdoc.wrapper.FrankClassRepository;
+import org.frankframework.frankdoc.wrapper.TestUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class XsdSchemaPlanTest {
+	private static final String EXOTIC_PACKAGE = "org.frankframework.frankdoc.testtarget.exotic.";
+
+	private FrankDocModel model;
+
+	@Before
+	public void setUp() throws Exception {
+		FrankClassRepository classRepository = TestUtil.getFrankClassRepositoryDoclet(EXOTIC_PACKAGE);
+		model = FrankDocModel.populate(TestUtil.resourceAsURL("/doc/exotic-digester-rules.xml"), EXOTIC_PACKAGE + "Master", classRepository);
+	}
+
+	@Test
+	public void whenVersionRequestedTwiceThenSamePlan() {
+		XsdSchemaPlan.Factory factory = new XsdSchemaPlan.Factory(model);
+		XsdSchemaPlan strict = factory.get(XsdVersion.STRICT);
+		assertSame(strict, factory.get(XsdVersion.STRICT));
+		assertNotSame(strict, factory.get(XsdVersion.COMPATIBILITY));
+		assertEquals(2, factory.getNumPlans());
+	}
+
+	@Test
+	public void whenWritersSharePlanThenDecisionsMadeOnce() throws Exception {
+		final String reusePackage = "org.frankframework.frankdoc.testtarget.examples.reuse.attributes.";
+		FrankClassRepository classRepository = TestUtil.getFrankClassRepositoryDoclet(reusePackage);
+		FrankDocModel reuseModel = FrankDocModel.populate(TestUtil.resourceAsURL("/doc/general-test-digester-rules.xml"), reusePackage + "Master", classRepository);
+		XsdSchemaPlan.Factory factory = new XsdSchemaPlan.Factory(reuseModel);
+		DocWriterNew first = new DocWriterNew(factory, AttributeTypeStrategy.ALLOW_PROPERTY_REF, "1.2.3-SNAPSHOT");
+		first.init(reusePackage + "Master", XsdVersion.STRICT);
+		first.getSchema();
+		XsdSchemaDecisions decisions = factory.get(XsdVersion.STRICT).getDecisions(reusePackage + "Master");
+		Set<FrankAttribute> reusedAttributes = decisions.getReusedAttributes();
+		assertFalse(reusedAttributes.isEmpty());
+		int numElementGroups = decisions.getNumElementGroups();
+		assertNotEquals(0, numElementGroups);
+
+		DocWriterNew second = new DocWriterNew(factory, AttributeTypeStrategy.ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE, "1.2.3-SNAPSHOT");
+		second.init(reusePackage + "Master", XsdVersion.STRICT);
+		String sharedXsd = second.getSchema();
+		assertSame(reusedAttributes, decisions.getReusedAttributes());
+		assertEquals(numElementGroups, decisions.getNumElementGroups());
+
+		DocWriterNew alone = new DocWriterNew(reuseModel, AttributeTypeStrategy.ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE, "1.2.3-SNAPSHOT");
+		alone.init(reusePackage + "Master", XsdVersion.STRICT);
+		assertEquals(alone.getSchema(), sharedXsd);
+	}
+}
@@ -0,0 +1,140 @@
+package org.frankframework.frankdoc.cmd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.frankframework.frankdoc.cmd.ConfigIndex.Attribute;
+import org.frankframework.frankdoc.cmd.ConfigIndex.Node;
+import org.frankframework.frankdoc.cmd.ConfigIndex.NodeKind;
+import org.frankframework.frankdoc.cmd.ConfigIndex.ValueType;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.Issue;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.Severity;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.ValidationResult;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FastConfigValidatorTest {
+	@ClassRule
+	public static TemporaryFolder testFolder = new TemporaryFolder();
+
+	private ConfigIndex index;
+	private FastConfigValidator validator;
+
+	@Before
+	public void setUp() {
+		index = new ConfigIndex(false);
+		Node text = index.addNode(NodeKind.TEXT, "Text");
+		Node adapter = index.addNode(NodeKind.ELEMENT, "Adapter");
+		adapter.addAttribute(new Attribute("name", ValueType.STRING, true, null));
+		adapter.addAttribute(new Attribute("size", ValueType.INT, false, null));
+		adapter.addAttribute(new Attribute("mode", ValueType.STRING, false, Arrays.asList("FAST", "SLOW")));
+		adapter.addChild("Description", text);
+		Node pipe = index.addNode(NodeKind.GENERIC, "Pipe");
+		pipe.addAttribute(new Attribute("className", ValueType.STRING, true, null));
+		adapter.addChild("Pipe", pipe);
+		adapter.addChild("EchoPipe", pipe);
+		adapter.addMandatoryChild(Arrays.asList("Pipe", "EchoPipe"));
+		index.addRoot("Adapter", adapter);
+		validator = new FastConfigValidator(index);
+	}
+
+	@Test
+	public void whenConfigMatchesIndexThenValid() throws Exception {
+		ValidationResult result = validate("<Adapter name=\"a\" size=\"${size}\" mode=\"FAST\" active=\"!${skip}\" xmlns:x=\"urn:x\" x:y=\"z\">"
+				+ "<Description>Hello</Description><EchoPipe className=\"x.EchoPipe\" anything=\"goes\"/></Adapter>");
+		assertTrue(getMessages(result).toString(), result.isValid());
+	}
+
+	@Test
+	public void whenConfigDeviatesFromIndexThenAllProblemsReported() throws Exception {
+		ValidationResult result = validate("<Adapter size=\"big\" mode=\"fast\" active=\"maybe\" other=\"x\">\n"
+				+ "<Description attr=\"x\"><Pipe/></Description>\n"
+				+ "<Unknown><Deeper/></Unknown>text</Adapter>");
+		assertFalse(result.isValid());
+		assertEquals(Arrays.asList(
+				"Value [big] of attribute [size] is not an integer",
+				"Value [fast] of attribute [mode] is not one of [FAST, SLOW]",
+				"Value [maybe] of attribute [active] is not a boolean",
+				"Attribute [other] is not allowed on element [Adapter]",
+				"Element [Adapter] lacks mandatory attribute [name]",
+				"Attribute [attr] is not allowed on element [Description]",
+				"Element [Pipe] is not allowed as child of [Description]",
+				"Element [Unknown] is not allowed as child of [Adapter]",
+				"Element [Adapter] cannot have text",
+				"Element [Adapter] lacks a mandatory child, one of [Pipe, EchoPipe]"), getMessages(result));
+		assertEquals(2, result.getIssues().get(5).getLine());
+	}
+
+	@Test
+	public void whenRootUnknownThenInvalid() throws Exception {
+		assertEquals(Arrays.asList("Element [Configuration] is not allowed as root element"), getMessages(validate("<Configuration><Adapter/></Configuration>")));
+	}
+
+	@Test
+	public void whenNotWellFormedThenFatalErrorAndValidatorStillUsable() throws Exception {
+		ValidationResult result = validate("<Adapter name=\"a\">");
+		assertEquals(Severity.FATAL_ERROR, result.getIssues().get(0).getSeverity());
+		assertTrue(validate("<Adapter name=\"a\"><Pipe className=\"x\"/></Adapter>").isValid());
+	}
+
+	@Test
+	public void whenFastOptionGivenWithOrWithoutBatchOptionThenFilesCheckedAgainstIndex() throws Exception {
+		File indexFile = testFolder.newFile();
+		try(OutputStream out = Files.newOutputStream(indexFile.toPath())) {
+			index.write(out);
+		}
+		String valid = newFile("<Adapter name=\"a\"><Pipe className=\"x\"/></Adapter>").getPath();
+		String invalid = newFile("<Adapter/>").getPath();
+		assertEquals(XmlAgainstXsdValidator.EXIT_VALID, XmlAgainstXsdValidator.run(new String[] {"-fast", indexFile.getPath(), valid}));
+		assertEquals(XmlAgainstXsdValidator.EXIT_VALID, XmlAgainstXsdValidator.run(new String[] {"-batch", "-fast", indexFile.getPath(), valid}));
+		assertEquals(XmlAgainstXsdValidator.EXIT_INVALID, XmlAgainstXsdValidator.run(new String[] {"-batch", "-fast", "-threads", "2", indexFile.getPath(), valid, invalid}));
+	}
+
+	@Test(expected = IOException.class)
+	public void whenIndexHasUnknownNodeKindThenIOException() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.write(out);
+		byte[] bytes = out.toByteArray();
+		// Magic as modified UTF-8 with its length, format version, enumValuesIgnoreCase, number of nodes
+		int firstNodeKind = 2 + ConfigIndex.MAGIC.length() + 4 + 1 + 4;
+		bytes[firstNodeKind] = 100;
+		ConfigIndex.read(new ByteArrayInputStream(bytes));
+	}
+
+	@Test(expected = IOException.class)
+	public void whenIndexRefersToUnknownNodeThenIOException() throws Exception {
+		ConfigIndex other = new ConfigIndex(false);
+		other.addRoot("Adapter", index.getNode(1));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		other.write(out);
+		ConfigIndex.read(new ByteArrayInputStream(out.toByteArray()));
+	}
+
+	private ValidationResult validate(String xml) throws Exception {
+		return validator.validate(newFile(xml));
+	}
+
+	private File newFile(String xml) throws Exception {
+		File file = testFolder.newFile();
+		Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static List<String> getMessages(ValidationResult result) {
+		return result.getIssues().stream().map(Issue::getMessage).collect(Collectors.toList());
+	}
+}
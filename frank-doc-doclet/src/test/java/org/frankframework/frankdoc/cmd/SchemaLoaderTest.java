@@ -0,0 +1,63 @@
+package org.frankframework.frankdoc.cmd;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.frankframework.frankdoc.wrapper.TestUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXException;
+
+public class SchemaLoaderTest {
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	private File xsd;
+
+	@Before
+	public void setUp() throws Exception {
+		xsd = new File(testFolder.getRoot(), "config.xsd");
+		Files.copy(new File(TestUtil.resourceAsURL("validator/config.xsd").toURI()).toPath(), xsd.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@Test
+	public void whenXsdCheckedThenMarkerMatches() throws Exception {
+		assertFalse(SchemaLoader.hasMatchingMarker(xsd));
+		SchemaLoader.checkAndMark(xsd);
+		assertTrue(SchemaLoader.markerFileOf(xsd).isFile());
+		assertTrue(SchemaLoader.hasMatchingMarker(xsd));
+		assertNotNull(SchemaLoader.load(xsd));
+	}
+
+	@Test
+	public void whenXsdModifiedAfterCheckThenMarkerDoesNotMatch() throws Exception {
+		SchemaLoader.checkAndMark(xsd);
+		Files.write(xsd.toPath(), "<!-- modified -->\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		assertFalse(SchemaLoader.hasMatchingMarker(xsd));
+		// Falls back to compiling with full checking
+		assertNotNull(SchemaLoader.load(xsd));
+	}
+
+	@Test
+	public void whenXsdInvalidThenNoMarker() throws Exception {
+		SchemaLoader.checkAndMark(xsd);
+		Files.write(xsd.toPath(), "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"A\" type=\"Missing\"/></xs:schema>".getBytes(StandardCharsets.UTF_8));
+		try {
+			SchemaLoader.checkAndMark(xsd);
+			fail("Expected invalid XSD to be rejected");
+		} catch(SAXException e) {
+			// Expected
+		}
+		assertFalse(SchemaLoader.markerFileOf(xsd).exists());
+	}
+}
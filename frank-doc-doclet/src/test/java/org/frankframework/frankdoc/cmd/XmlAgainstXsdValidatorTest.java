@@ -0,0 +1,106 @@
+package org.frankframework.frankdoc.cmd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.Severity;
+import org.frankframework.frankdoc.cmd.XmlAgainstXsdValidator.ValidationResult;
+import org.frankframework.frankdoc.wrapper.TestUtil;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class XmlAgainstXsdValidatorTest {
+	@ClassRule
+	public static TemporaryFolder testFolder = new TemporaryFolder();
+
+	private File xsd;
+	private File configs;
+
+	@Before
+	public void setUp() throws Exception {
+		xsd = new File(TestUtil.resourceAsURL("validator/config.xsd").toURI());
+		configs = new File(TestUtil.resourceAsURL("validator/configs").toURI());
+	}
+
+	@Test
+	public void whenDirectorySearchedThenXmlFilesFoundSorted() throws Exception {
+		List<File> files = XmlAgainstXsdValidator.findXmlFiles(Arrays.asList(configs.getPath()));
+		assertEquals(Arrays.asList("invalid.xml", "alsoValid.xml", "notWellFormed.xml", "valid.xml"),
+				files.stream().map(File::getName).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void whenValidatedInParallelThenResultsInOrderOfFiles() throws Exception {
+		List<File> files = XmlAgainstXsdValidator.findXmlFiles(Arrays.asList(configs.getPath()));
+		XmlAgainstXsdValidator validator = new XmlAgainstXsdValidator(XmlAgainstXsdValidator.compileSchema(xsd));
+		List<ValidationResult> results = validator.validateAll(files, 3);
+		assertEquals(files, results.stream().map(ValidationResult::getFile).collect(Collectors.toList()));
+		assertFalse(results.get(0).isValid());
+		assertEquals(Severity.ERROR, results.get(0).getIssues().get(0).getSeverity());
+		assertEquals(2, results.get(0).getIssues().get(0).getLine());
+		assertTrue(results.get(1).isValid());
+		assertFalse(results.get(2).isValid());
+		assertEquals(Severity.FATAL_ERROR, results.get(2).getIssues().get(0).getSeverity());
+		assertTrue(results.get(3).isValid());
+	}
+
+	@Test
+	public void whenFileValidatedAfterFatalErrorThenValidatorStillWorks() throws Exception {
+		XmlAgainstXsdValidator validator = new XmlAgainstXsdValidator(XmlAgainstXsdValidator.compileSchema(xsd));
+		assertFalse(validator.validate(new File(configs, "notWellFormed.xml")).isValid());
+		ValidationResult result = validator.validate(new File(configs, "valid.xml"));
+		assertTrue(result.isValid());
+		assertTrue(result.getIssues().isEmpty());
+		assertFalse(validator.validate(new File(configs, "doesNotExist.xml")).isValid());
+	}
+
+	@Test
+	public void whenBatchRunThenReportWrittenAndExitCodeAggregated() throws Exception {
+		File report = new File(testFolder.getRoot(), "report.json");
+		int exitCode = XmlAgainstXsdValidator.runBatch(new String[] {
+				"-threads", "2", "-report", report.getPath(), xsd.getPath(), configs.getPath()});
+		assertEquals(XmlAgainstXsdValidator.EXIT_INVALID, exitCode);
+		try(JsonReader reader = Json.createReader(new StringReader(TestUtil.getTestFile(report.toURI().toURL(), StandardCharsets.UTF_8)))) {
+			JsonObject json = reader.readObject();
+			assertEquals(4, json.getInt("files"));
+			assertEquals(2, json.getInt("invalid"));
+			assertEquals("ERROR", json.getJsonArray("results").getJsonObject(0).getJsonArray("issues").getJsonObject(0).getString("severity"));
+		}
+		exitCode = XmlAgainstXsdValidator.runBatch(new String[] {xsd.getPath(), new File(configs, "valid.xml").getPath()});
+		assertEquals(XmlAgainstXsdValidator.EXIT_VALID, exitCode);
+	}
+
+	@Test
+	public void whenBatchArgumentsWrongThenUsageExitCode() {
+		assertEquals(XmlAgainstXsdValidator.EXIT_USAGE, XmlAgainstXsdValidator.runBatch(new String[] {xsd.getPath()}));
+		assertEquals(XmlAgainstXsdValidator.EXIT_USAGE, XmlAgainstXsdValidator.runBatch(new String[] {"-threads", "many", xsd.getPath(), configs.getPath()}));
+	}
+
+	@Test
+	public void reportHasEveryIssue() throws Exception {
+		XmlAgainstXsdValidator validator = new XmlAgainstXsdValidator(XmlAgainstXsdValidator.compileSchema(xsd));
+		ValidationResult result = validator.validate(new File(configs, "invalid.xml"));
+		StringWriter writer = new StringWriter();
+		XmlAgainstXsdValidator.writeReport(xsd, Arrays.asList(result), writer);
+		try(JsonReader reader = Json.createReader(new StringReader(writer.toString()))) {
+			JsonObject json = reader.readObject();
+			assertEquals(result.getIssues().size(), json.getJsonArray("results").getJsonObject(0).getJsonArray("issues").size());
+			assertFalse(json.getJsonArray("results").getJsonObject(0).getBoolean("valid"));
+		}
+	}
+}
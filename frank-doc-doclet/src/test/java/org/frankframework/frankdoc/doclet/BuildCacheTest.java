@@ -0,0 +1,130 @@
+package org.frankframework.frankdoc.doclet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.frankframework.frankdoc.testdoclet.EasyDoclet;
+import org.frankframework.frankdoc.wrapper.FrankDocException;
+import org.frankframework.frankdoc.wrapper.TestUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.javadoc.ClassDoc;
+
+public class BuildCacheTest {
+	private static final String PACKAGE = "org.frankframework.frankdoc.testtarget.simple";
+	private static final List<String> SETTINGS = Arrays.asList("Container", "7.8.0");
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	private ClassDoc[] classes;
+	private File cacheFile;
+	private File outputFile;
+
+	@Before
+	public void setUp() throws IOException {
+		classes = TestUtil.getClassDocs(PACKAGE);
+		cacheFile = new File(testFolder.getRoot(), "frankdoc.cache");
+		outputFile = testFolder.newFile("FrankConfig.xsd");
+		Files.write(outputFile.toPath(), "<schema/>".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void whenNoCacheFileThenNotUpToDate() throws FrankDocException {
+		assertFalse(new BuildCache(cacheFile, classes, SETTINGS).isUpToDate(Arrays.asList(outputFile)));
+	}
+
+	@Test
+	public void whenNothingChangedThenUpToDate() throws FrankDocException {
+		new BuildCache(cacheFile, classes, SETTINGS).write(Arrays.asList(outputFile));
+		assertTrue(new BuildCache(cacheFile, classes, SETTINGS).isUpToDate(Arrays.asList(outputFile)));
+	}
+
+	@Test
+	public void whenSettingsChangedThenNotUpToDate() throws FrankDocException {
+		new BuildCache(cacheFile, classes, SETTINGS).write(Arrays.asList(outputFile));
+		assertFalse(new BuildCache(cacheFile, classes, Arrays.asList("Container", "7.9.0")).isUpToDate(Arrays.asList(outputFile)));
+	}
+
+	@Test
+	public void whenClassRemovedThenNotUpToDate() throws FrankDocException {
+		new BuildCache(cacheFile, classes, SETTINGS).write(Arrays.asList(outputFile));
+		ClassDoc[] fewerClasses = Arrays.copyOf(classes, classes.length - 1);
+		assertFalse(new BuildCache(cacheFile, fewerClasses, SETTINGS).isUpToDate(Arrays.asList(outputFile)));
+	}
+
+	@Test
+	public void whenOutputFileModifiedThenNotUpToDate() throws Exception {
+		new BuildCache(cacheFile, classes, SETTINGS).write(Arrays.asList(outputFile));
+		Files.write(outputFile.toPath(), "<schema></schema>".getBytes(StandardCharsets.UTF_8));
+		assertFalse(new BuildCache(cacheFile, classes, SETTINGS).isUpToDate(Arrays.asList(outputFile)));
+	}
+
+	@Test
+	public void whenOutputFileDeletedThenNotUpToDate() throws Exception {
+		new BuildCache(cacheFile, classes, SETTINGS).write(Arrays.asList(outputFile));
+		assertTrue(outputFile.delete());
+		assertFalse(new BuildCache(cacheFile, classes, SETTINGS).isUpToDate(Arrays.asList(outputFile)));
+	}
+
+	@Test
+	public void whenCacheFileCorruptThenNotUpToDate() throws Exception {
+		Files.write(cacheFile.toPath(), "garbage".getBytes(StandardCharsets.UTF_8));
+		assertFalse(new BuildCache(cacheFile, classes, SETTINGS).isUpToDate(Arrays.asList(outputFile)));
+	}
+
+	@Test
+	public void whenOutputDirectoryMovedThenUpToDate() throws Exception {
+		new BuildCache(cacheFile, classes, SETTINGS).write(Arrays.asList(outputFile));
+		File movedDirectory = new File(testFolder.getRoot().getParentFile(), testFolder.getRoot().getName() + "-moved");
+		Files.move(testFolder.getRoot().toPath(), movedDirectory.toPath());
+		try {
+			File movedCacheFile = new File(movedDirectory, cacheFile.getName());
+			File movedOutputFile = new File(movedDirectory, outputFile.getName());
+			assertTrue(new BuildCache(movedCacheFile, classes, SETTINGS).isUpToDate(Arrays.asList(movedOutputFile)));
+		} finally {
+			Files.move(movedDirectory.toPath(), testFolder.getRoot().toPath());
+		}
+	}
+
+	@Test
+	public void whenConstructorChangedThenClassHashChanged() throws Exception {
+		byte[] original = hashOfSource("public class Changed { public Changed(String name) {} }");
+		assertArrayEquals(original, hashOfSource("public class Changed { public Changed(String name) {} }"));
+		assertHashChanged(original, hashOfSource("public class Changed { public Changed(int name) {} }"));
+		assertHashChanged(original, hashOfSource("public class Changed { public Changed(@Deprecated String name) {} }"));
+	}
+
+	@Test
+	public void whenMethodParameterAnnotationChangedThenClassHashChanged() throws Exception {
+		byte[] original = hashOfSource("public class Changed { public void setName(String name) {} }");
+		assertHashChanged(original, hashOfSource("public class Changed { public void setName(@Deprecated String name) {} }"));
+	}
+
+	private byte[] hashOfSource(String source) throws Exception {
+		File sourceDirectory = testFolder.newFolder();
+		File packageDirectory = new File(sourceDirectory, "changed");
+		assertTrue(packageDirectory.mkdir());
+		Files.write(new File(packageDirectory, "Changed.java").toPath(), ("package changed; " + source).getBytes(StandardCharsets.UTF_8));
+		ClassDoc clazz = new EasyDoclet(sourceDirectory, new String[] {"changed"}).getRootDoc().classNamed("changed.Changed");
+		return BuildCache.hashOf(clazz);
+	}
+
+	private void assertHashChanged(byte[] original, byte[] changed) {
+		if(Arrays.equals(original, changed)) {
+			fail("Expected the class hash to change");
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package org.frankframework.frankdoc.doclet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.frankframework.frankdoc.AttributeTypeStrategy;
+import org.frankframework.frankdoc.XsdVersion;
+import org.frankframework.frankdoc.wrapper.FrankDocException;
+import org.junit.Test;
+
+public class FrankDocletOptionsTest {
+	@Test
+	public void whenThreadsNotSetThenOutputFilesWrittenSequentially() throws FrankDocException {
+		FrankDocletOptions instance = FrankDocletOptions.getInstance(new String[][] {{"-rootClass", "Configuration"}});
+		assertEquals(1, instance.getThreads());
+	}
+
+	@Test
+	public void whenThreadsSetThenValueParsed() throws FrankDocException {
+		FrankDocletOptions instance = FrankDocletOptions.getInstance(new String[][] {{"-threads", "4"}});
+		assertEquals(4, instance.getThreads());
+	}
+
+	@Test(expected = FrankDocException.class)
+	public void whenThreadsIsNotANumberThenError() throws FrankDocException {
+		FrankDocletOptions.getInstance(new String[][] {{"-threads", "many"}});
+	}
+
+	@Test(expected = FrankDocException.class)
+	public void whenThreadsIsZeroThenError() throws FrankDocException {
+		FrankDocletOptions.getInstance(new String[][] {{"-threads", "0"}});
+	}
+
+	@Test
+	public void whenSkipUnchangedOutputSetThenValueParsed() throws FrankDocException {
+		FrankDocletOptions instance = FrankDocletOptions.getInstance(new String[][] {{"-skipUnchangedOutput", "true"}});
+		assertTrue(instance.isSkipUnchangedOutput());
+	}
+
+	@Test(expected = FrankDocException.class)
+	public void whenSkipUnchangedOutputIsNotABooleanThenError() throws FrankDocException {
+		FrankDocletOptions.getInstance(new String[][] {{"-skipUnchangedOutput", "yes"}});
+	}
+
+	@Test
+	public void whenXsdFlavoursSetThenParsed() throws FrankDocException {
+		FrankDocletOptions instance = FrankDocletOptions.getInstance(new String[][] {{"-xsdFlavours",
+				"STRICT,ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE,*,xml/xsd/FrankConfig-ignoreCase.xsd; COMPATIBILITY,ALLOW_PROPERTY_REF,Pipes|Other Group,xml/xsd/FrankConfig-pipes.xsd"}});
+		List<XsdFlavour> flavours = instance.getXsdFlavours();
+		assertEquals(2, flavours.size());
+		assertEquals(XsdVersion.STRICT, flavours.get(0).getVersion());
+		assertEquals(AttributeTypeStrategy.ALLOW_PROPERTY_REF_ENUM_VALUES_IGNORE_CASE, flavours.get(0).getAttributeTypeStrategy());
+		assertNull(flavours.get(0).getGroupNames());
+		assertEquals("xml/xsd/FrankConfig-ignoreCase.xsd", flavours.get(0).getPath());
+		assertEquals(XsdVersion.COMPATIBILITY, flavours.get(1).getVersion());
+		assertEquals(new HashSet<>(Arrays.asList("Pipes", "Other Group")), flavours.get(1).getGroupNames());
+		assertEquals("COMPATIBILITY,ALLOW_PROPERTY_REF,Pipes|Other Group,xml/xsd/FrankConfig-pipes.xsd", flavours.get(1).toString());
+	}
+
+	@Test
+	public void whenXsdFlavourHasDocumentationThenParsed() throws FrankDocException {
+		FrankDocletOptions instance = FrankDocletOptions.getInstance(new String[][] {{"-xsdFlavours",
+				"STRICT,ALLOW_PROPERTY_REF,*,xml/xsd/FrankConfig-runtime.xsd,SIDECAR;STRICT,ALLOW_PROPERTY_REF,*,xml/xsd/FrankConfig-documented.xsd"}});
+		List<XsdFlavour> flavours = instance.getXsdFlavours();
+		assertEquals(XsdFlavour.Documentation.SIDECAR, flavours.get(0).getDocumentation());
+		assertTrue(flavours.get(0).isLean());
+		assertEquals("xml/xsd/FrankConfig-runtime.xsd.documentation.json", flavours.get(0).getSidecarPath());
+		assertEquals("STRICT,ALLOW_PROPERTY_REF,*,xml/xsd/FrankConfig-runtime.xsd,SIDECAR", flavours.get(0).toString());
+		assertEquals(XsdFlavour.Documentation.INLINE, flavours.get(1).getDocumentation());
+		assertFalse(flavours.get(1).isLean());
+		assertNull(flavours.get(1).getSidecarPath());
+		assertEquals("STRICT,ALLOW_PROPERTY_REF,*,xml/xsd/FrankConfig-documented.xsd", flavours.get(1).toString());
+	}
+
+	@Test(expected = FrankDocException.class)
+	public void whenXsdFlavourHasUnknownDocumentationThenError() throws FrankDocException {
+		FrankDocletOptions.getInstance(new String[][] {{"-xsdFlavours", "STRICT,ALLOW_PROPERTY_REF,*,a.xsd,NONE"}});
+	}
+
+	@Test
+	public void whenXsdFlavoursNotSetThenNoFlavours() throws FrankDocException {
+		FrankDocletOptions instance = FrankDocletOptions.getInstance(new String[][] {{"-rootClass", "Configuration"}});
+		assertTrue(instance.getXsdFlavours().isEmpty());
+	}
+
+	@Test(expected = FrankDocException.class)
+	public void whenXsdFlavourHasUnknownVersionThenError() throws FrankDocException {
+		FrankDocletOptions.getInstance(new String[][] {{"-xsdFlavours", "LENIENT,ALLOW_PROPERTY_REF,*,a.xsd"}});
+	}
+
+	@Test(expected = FrankDocException.class)
+	public void whenXsdFlavourLacksFieldThenError() throws FrankDocException {
+		FrankDocletOptions.getInstance(new String[][] {{"-xsdFlavours", "STRICT,ALLOW_PROPERTY_REF,a.xsd"}});
+	}
+
+	@Test
+	public void whenPrecompileXsdsSetThenValueParsed() throws FrankDocException {
+		assertFalse(FrankDocletOptions.getInstance(new String[][] {{"-rootClass", "Configuration"}}).isPrecompileXsds());
+		assertTrue(FrankDocletOptions.getInstance(new String[][] {{"-precompileXsds", "true"}}).isPrecompileXsds());
+	}
+
+	@Test
+	public void whenDeduplicateXsdsSetThenValueParsed() throws FrankDocException {
+		assertFalse(FrankDocletOptions.getInstance(new String[][] {{"-rootClass", "Configuration"}}).isDeduplicateXsds());
+		assertTrue(FrankDocletOptions.getInstance(new String[][] {{"-deduplicateXsds", "true"}}).isDeduplicateXsds());
+	}
+
+	@Test
+	public void whenConfigIndexPathSetThenValueKept() throws FrankDocException {
+		assertNull(FrankDocletOptions.getInstance(new String[][] {{"-rootClass", "Configuration"}}).getConfigIndexPath());
+		assertEquals("xml/FrankConfig.index", FrankDocletOptions.getInstance(new String[][] {{"-configIndexPath", "xml/FrankConfig.index"}}).getConfigIndexPath());
+	}
+
+	@Test
+	public void whenJsonShardsAndSearchIndexSetThenBothParsed() throws FrankDocException {
+		FrankDocletOptions instance = FrankDocletOptions.getInstance(new String[][] {{"-jsonShardsPath", "js/frankdoc"}, {"-jsonSearchIndexPath", "js/frankdoc-search.json"}});
+		assertEquals("js/frankdoc", instance.getJsonShardsPath());
+		assertEquals("js/frankdoc-search.json", instance.getJsonSearchIndexPath());
+	}
+
+	@Test(expected = FrankDocException.class)
+	public void whenJsonShardsSetWithoutSearchIndexThenError() throws FrankDocException {
+		FrankDocletOptions.getInstance(new String[][] {{"-jsonShardsPath", "js/frankdoc"}});
+	}
+}
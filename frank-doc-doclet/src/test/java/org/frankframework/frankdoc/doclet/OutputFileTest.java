@@ -0,0 +1,101 @@
+package org.frankframework.frankdoc.doclet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.frankframework.frankdoc.wrapper.FrankDocException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OutputFileTest {
+	private static final long OLD_TIMESTAMP = 1000000000000L;
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	private File file;
+	private File digestFile;
+
+	@Before
+	public void setUp() {
+		file = new File(testFolder.getRoot(), "frankdoc.json");
+		digestFile = new File(testFolder.getRoot(), "digests/frankdoc.json.sha256");
+	}
+
+	@Test
+	public void whenNoDigestFileThenAlwaysWritten() throws Exception {
+		OutputFile instance = new OutputFile(file, null);
+		assertTrue(instance.write("{}"));
+		assertTrue(file.setLastModified(OLD_TIMESTAMP));
+		assertTrue(instance.write("{}"));
+		assertEquals("{}", read(file));
+		assertFalse(digestFile.exists());
+	}
+
+	@Test
+	public void whenContentUnchangedThenFileLeftAlone() throws Exception {
+		OutputFile instance = new OutputFile(file, digestFile);
+		assertTrue(instance.write("{}"));
+		assertTrue(file.setLastModified(OLD_TIMESTAMP));
+		assertFalse(instance.write("{}"));
+		assertEquals(OLD_TIMESTAMP, file.lastModified());
+	}
+
+	@Test
+	public void whenContentChangedThenWritten() throws Exception {
+		OutputFile instance = new OutputFile(file, digestFile);
+		assertTrue(instance.write("{}"));
+		assertTrue(instance.write("{\"a\": 1}"));
+		assertEquals("{\"a\": 1}", read(file));
+	}
+
+	@Test
+	public void whenFileModifiedByOthersThenWrittenAgain() throws Exception {
+		OutputFile instance = new OutputFile(file, digestFile);
+		assertTrue(instance.write("{}"));
+		Files.write(file.toPath(), "{\"b\": 2}".getBytes(StandardCharsets.UTF_8));
+		assertTrue(instance.write("{}"));
+		assertEquals("{}", read(file));
+	}
+
+	@Test
+	public void whenExistingFileEqualButNoDigestThenFileLeftAlone() throws Exception {
+		Files.write(file.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+		assertTrue(file.setLastModified(OLD_TIMESTAMP));
+		assertFalse(new OutputFile(file, digestFile).write("{}"));
+		assertEquals(OLD_TIMESTAMP, file.lastModified());
+		assertTrue(digestFile.exists());
+	}
+
+	@Test
+	public void whenWritingFailsThenExistingFileKeptAndNoTemporaryFileLeft() throws Exception {
+		OutputFile instance = new OutputFile(file, digestFile);
+		instance.write("{}");
+		try {
+			instance.write(out -> {
+				out.write('{');
+				throw new FrankDocException("Failure in the middle", null);
+			});
+		} catch(FrankDocException e) {
+			// Expected
+		}
+		assertEquals("{}", read(file));
+		String[] remainingFiles = testFolder.getRoot().list();
+		Arrays.sort(remainingFiles);
+		assertArrayEquals(new String[] {"digests", "frankdoc.json"}, remainingFiles);
+	}
+
+	private String read(File f) throws IOException {
+		return new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+	}
+}
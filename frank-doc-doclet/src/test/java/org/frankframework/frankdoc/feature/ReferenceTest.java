@@ -2,6 +2,7 @@ package org.frankframework.frankdoc.feature;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.Arrays;
 
@@ -71,4 +72,11 @@ public class ReferenceTest {
 		assertEquals(REF_TARGET, referenced.getDeclaringClass().getSimpleName());
 		assertEquals("referenceByFfRef", referenced.getName());
 	}
+
+	@Test
+	public void whenReferenceRequestedTwiceThenSameReferencedMethod() {
+		FrankMethod targetMethod = findMethod("referenceByFfRef");
+		FrankMethod referenced = instance.valueOf(targetMethod);
+		assertSame(referenced, instance.valueOf(targetMethod));
+	}
 }
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.frankframework.frankdoc.feature.Reference;
 import org.frankframework.frankdoc.wrapper.FrankClass;
 import org.frankframework.frankdoc.wrapper.FrankClassRepository;
 import org.frankframework.frankdoc.wrapper.FrankMethod;
@@ -24,8 +25,9 @@ public class AncestorMethodBrowserTest {
 	@Before
 	public void setUp() throws Exception {
 		FrankClassRepository repository = TestUtil.getFrankClassRepositoryDoclet(PACKAGE);
-		instanceWithRef = new AncestorMethodBrowser(repository, AncestorMethodBrowser.References.WITH_REFERENCES);
-		instanceNoRef = new AncestorMethodBrowser(repository, AncestorMethodBrowser.References.WITHOUT_REFERENCES);
+		Reference reference = new Reference(repository);
+		instanceWithRef = new AncestorMethodBrowser(reference, AncestorMethodBrowser.References.WITH_REFERENCES);
+		instanceNoRef = new AncestorMethodBrowser(reference, AncestorMethodBrowser.References.WITHOUT_REFERENCES);
 		clazz = repository.findClass(CLASS_NAME);
 	}
 
@@ -30,7 +30,7 @@ public class ElementRoleTest {
 
 	@Before
 	public void setUp() {
-		factory = new ElementRole.Factory();
+		factory = new ElementRole.Factory(new SymbolTable());
 	}
 
 	@Test
@@ -57,6 +57,16 @@ public class ElementRoleTest {
 		Key eqFirst = new Key("type", "role");
 		Key second = new Key("otherType", "role");
 		assertEquals(first, eqFirst);
+		assertEquals(first.hashCode(), eqFirst.hashCode());
 		assertFalse(first.equals(second));
 	}
+
+	@Test
+	public void testKeyNames() {
+		Key key = new Key("org.frankframework.core.IPipe", "pipe");
+		assertEquals("org.frankframework.core.IPipe", key.getElementTypeName());
+		assertEquals("IPipe", key.getElementTypeSimpleName());
+		assertEquals("pipe", key.getRoleName());
+		assertEquals("(IPipe, pipe)", key.toString());
+	}
 }
@@ -18,6 +18,7 @@ package org.frankframework.frankdoc.model;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -71,6 +72,17 @@ public class FrankElementXsdElementNameTest {
 		assertEquals("SomeName", actual);
 	}
 
+	@Test
+	public void xsdElementNamesOfElementRolesAreCalculatedOnce() {
+		for(ElementRole role: model.getAllElementRoles().values()) {
+			for(FrankElement member: role.getElementType().getMembers()) {
+				String xsdElementName = member.getXsdElementName(role);
+				assertEquals(member.getXsdElementName(role.getElementType(), role.getRoleName()), xsdElementName);
+				assertSame(xsdElementName, member.getXsdElementName(role));
+			}
+		}
+	}
+
 	@Test
 	public void frankElementKnowsXmlElementNames() {
 		FrankElement frankElement = model.findFrankElement(PACKAGE + "ListenerParent");
@@ -77,4 +77,16 @@ public class NavigationCumulativeTest {
 				.map(a -> a.getName()).collect(Collectors.toList());
 		assertEquals(childNames, actual);
 	}
+
+	@Test
+	public void whenCumulativeAttributesAreCachedThenCallersGetTheirOwnCopy() throws Exception {
+		String rootClassName = PACKAGE + "." + simpleClassName;
+		FrankClassRepository repository = TestUtil.getFrankClassRepositoryDoclet(PACKAGE);
+		FrankDocModel model = FrankDocModel.populate(TestUtil.resourceAsURL("doc/empty-digester-rules.xml"), rootClassName, repository);
+		FrankElement subject = model.findFrankElement(rootClassName);
+		subject.getCumulativeAttributes(childSelector, childRejector).clear();
+		List<String> actual = subject.getCumulativeAttributes(childSelector, childRejector).stream()
+				.map(a -> a.getName()).collect(Collectors.toList());
+		assertEquals(childNames, actual);
+	}
 }
@@ -0,0 +1,29 @@
+package org.frankframework.frankdoc.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class SymbolTableTest {
+	@Test
+	public void whenEqualNamesCanonicalizedThenSameInstance() {
+		SymbolTable instance = new SymbolTable();
+		String first = instance.canonical(new String("canonicalTestName"));
+		assertSame(first, instance.canonical(new String("canonicalTestName")));
+		assertNull(instance.canonical(null));
+		assertEquals(1, instance.size());
+	}
+
+	@Test
+	public void whenTwoTablesThenTheyAreIndependent() {
+		SymbolTable first = new SymbolTable();
+		SymbolTable second = new SymbolTable();
+		String name = first.canonical(new String("independentTestName"));
+		assertNotSame(name, second.canonical(new String("independentTestName")));
+		assertEquals(1, first.size());
+		assertEquals(1, second.size());
+	}
+}
@@ -0,0 +1,50 @@
+package org.frankframework.frankdoc.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class XsdAnnotationRemoverTest {
+	private static final String XML_SCHEMA_URI = "http://www.w3.org/2001/XMLSchema";
+
+	@Test
+	public void whenAnnotationsRemovedThenNoAnnotationLeft() {
+		XmlBuilder attributeGroup = xs("attributeGroup", "name", "EchoPipeDeclaredAttributeGroup");
+		XmlBuilder attribute = xs("attribute", "name", "mode");
+		attributeGroup.addSubElement(attribute);
+		addDocumentation(attribute, "The mode");
+		XmlBuilder simpleType = xs("simpleType", null, null);
+		attribute.addSubElement(simpleType);
+		XmlBuilder restriction = xs("restriction", "base", "xs:string");
+		simpleType.addSubElement(restriction);
+		XmlBuilder enumeration = xs("enumeration", "value", "FAST");
+		restriction.addSubElement(enumeration);
+		addDocumentation(enumeration, "Go fast");
+		XmlBuilder element = xs("element", "name", "EchoPipe");
+		addDocumentation(element, "Echoes its input");
+
+		XsdAnnotationRemover.removeAnnotations(Arrays.asList(attributeGroup, element));
+		assertFalse(attributeGroup.toXML().contains("annotation"));
+		assertTrue(attributeGroup.toXML().contains("FAST"));
+		assertFalse(element.toXML().contains("annotation"));
+	}
+
+	private static XmlBuilder xs(String tagName, String attributeName, String attributeValue) {
+		XmlBuilder result = new XmlBuilder(tagName, "xs", XML_SCHEMA_URI);
+		if(attributeName != null) {
+			result.addAttribute(attributeName, attributeValue);
+		}
+		return result;
+	}
+
+	private static void addDocumentation(XmlBuilder context, String text) {
+		XmlBuilder annotation = xs("annotation", null, null);
+		XmlBuilder documentation = xs("documentation", null, null);
+		documentation.setValue(text);
+		annotation.addSubElement(documentation);
+		context.addSubElement(annotation);
+	}
+}
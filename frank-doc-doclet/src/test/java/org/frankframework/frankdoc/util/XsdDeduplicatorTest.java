@@ -0,0 +1,114 @@
+package org.frankframework.frankdoc.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class XsdDeduplicatorTest {
+	private static final String XML_SCHEMA_URI = "http://www.w3.org/2001/XMLSchema";
+
+	@Test
+	public void whenDefinitionsIdenticalAfterReplacingReferencesThenAlsoMerged() {
+		List<XmlBuilder> components = Arrays.asList(
+				element("Alpha", "AlphaType"),
+				element("Beta", "BetaType"),
+				typeWithAttributeGroup("AlphaType", "AlphaAttributeGroup"),
+				typeWithAttributeGroup("BetaType", "BetaAttributeGroup"),
+				attributeGroup("AlphaAttributeGroup", "name"),
+				attributeGroup("BetaAttributeGroup", "name"),
+				attributeGroup("GammaAttributeGroup", "other"));
+		List<XmlBuilder> result = XsdDeduplicator.deduplicate(components);
+		assertEquals(Arrays.asList(
+				"<xs:element name=\"Alpha\" type=\"AlphaType\"/>",
+				"<xs:element name=\"Beta\" type=\"AlphaType\"/>",
+				"<xs:complexType name=\"AlphaType\"><xs:attributeGroup ref=\"AlphaAttributeGroup\"/></xs:complexType>",
+				"<xs:attributeGroup name=\"AlphaAttributeGroup\"><xs:attribute name=\"name\"/></xs:attributeGroup>",
+				"<xs:attributeGroup name=\"GammaAttributeGroup\"><xs:attribute name=\"other\"/></xs:attributeGroup>"),
+				result.stream().map(XsdDeduplicatorTest::toXml).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void whenDefinitionsOfDifferentKindThenNotMerged() {
+		XmlBuilder group = new XmlBuilder("group", "xs", XML_SCHEMA_URI);
+		group.addAttribute("name", "Same");
+		XmlBuilder attributeGroup = new XmlBuilder("attributeGroup", "xs", XML_SCHEMA_URI);
+		attributeGroup.addAttribute("name", "Other");
+		XmlBuilder otherGroup = new XmlBuilder("group", "xs", XML_SCHEMA_URI);
+		otherGroup.addAttribute("name", "Different");
+		otherGroup.addSubElement(new XmlBuilder("choice", "xs", XML_SCHEMA_URI));
+		assertEquals(3, XsdDeduplicator.deduplicate(Arrays.asList(group, attributeGroup, otherGroup)).size());
+	}
+
+	@Test
+	public void whenIdenticalEnumTypesReferencedThroughUnionThenMemberTypesReplaced() {
+		List<XmlBuilder> components = Arrays.asList(
+				attributeWithUnion("first", "FirstAttributeValuesType"),
+				attributeWithUnion("second", "SecondAttributeValuesType"),
+				enumType("FirstAttributeValuesType"),
+				enumType("SecondAttributeValuesType"));
+		List<XmlBuilder> result = XsdDeduplicator.deduplicate(components);
+		assertEquals(Arrays.asList(
+				"<xs:attribute name=\"first\"><xs:simpleType><xs:union memberTypes=\"FirstAttributeValuesType variableRef\"/></xs:simpleType></xs:attribute>",
+				"<xs:attribute name=\"second\"><xs:simpleType><xs:union memberTypes=\"FirstAttributeValuesType variableRef\"/></xs:simpleType></xs:attribute>",
+				"<xs:simpleType name=\"FirstAttributeValuesType\"><xs:restriction base=\"xs:string\"><xs:enumeration value=\"ONE\"/><xs:enumeration value=\"TWO\"/></xs:restriction></xs:simpleType>"),
+				result.stream().map(XsdDeduplicatorTest::toXml).collect(Collectors.toList()));
+	}
+
+	private static XmlBuilder element(String name, String type) {
+		XmlBuilder result = new XmlBuilder("element", "xs", XML_SCHEMA_URI);
+		result.addAttribute("name", name);
+		result.addAttribute("type", type);
+		return result;
+	}
+
+	private static XmlBuilder typeWithAttributeGroup(String name, String attributeGroupName) {
+		XmlBuilder result = new XmlBuilder("complexType", "xs", XML_SCHEMA_URI);
+		result.addAttribute("name", name);
+		XmlBuilder ref = new XmlBuilder("attributeGroup", "xs", XML_SCHEMA_URI);
+		ref.addAttribute("ref", attributeGroupName);
+		result.addSubElement(ref);
+		return result;
+	}
+
+	private static XmlBuilder attributeGroup(String name, String attributeName) {
+		XmlBuilder result = new XmlBuilder("attributeGroup", "xs", XML_SCHEMA_URI);
+		result.addAttribute("name", name);
+		XmlBuilder attribute = new XmlBuilder("attribute", "xs", XML_SCHEMA_URI);
+		attribute.addAttribute("name", attributeName);
+		result.addSubElement(attribute);
+		return result;
+	}
+
+	private static String toXml(XmlBuilder builder) {
+		return builder.toXML().replaceAll(" xmlns:xs=\"[^\"]*\"", "").replaceAll(">\\s+<", "><").replace(" />", "/>").trim();
+	}
+
+	private static XmlBuilder attributeWithUnion(String name, String enumTypeName) {
+		XmlBuilder result = new XmlBuilder("attribute", "xs", XML_SCHEMA_URI);
+		result.addAttribute("name", name);
+		XmlBuilder simpleType = new XmlBuilder("simpleType", "xs", XML_SCHEMA_URI);
+		result.addSubElement(simpleType);
+		XmlBuilder union = new XmlBuilder("union", "xs", XML_SCHEMA_URI);
+		union.addAttribute("memberTypes", enumTypeName + " variableRef");
+		simpleType.addSubElement(union);
+		return result;
+	}
+
+	private static XmlBuilder enumType(String name) {
+		XmlBuilder result = new XmlBuilder("simpleType", "xs", XML_SCHEMA_URI);
+		result.addAttribute("name", name);
+		XmlBuilder restriction = new XmlBuilder("restriction", "xs", XML_SCHEMA_URI);
+		restriction.addAttribute("base", "xs:string");
+		result.addSubElement(restriction);
+		for(String value: Arrays.asList("ONE", "TWO")) {
+			XmlBuilder enumeration = new XmlBuilder("enumeration", "xs", XML_SCHEMA_URI);
+			enumeration.addAttribute("value", value);
+			restriction.addSubElement(enumeration);
+		}
+		return result;
+	}
+}
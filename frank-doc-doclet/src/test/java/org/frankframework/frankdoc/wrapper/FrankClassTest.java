@@ -9,6 +9,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -145,6 +146,23 @@ public class FrankClassTest extends TestBase {
 		}
 	}
 
+	@Test
+	public void whenDeclaredAndInheritedMethodsRequestedAgainThenSameMethodsInNewArray() throws FrankDocException {
+		FrankClass child = classRepository.findClass(PACKAGE + "Child");
+		FrankMethod[] first = child.getDeclaredAndInheritedMethods();
+		first[0] = null;
+		FrankMethod[] second = child.getDeclaredAndInheritedMethods();
+		assertNotNull(second[0]);
+		assertEquals(new HashSet<>(Arrays.asList(second)), new HashSet<>(Arrays.asList(child.getDeclaredAndInheritedMethods())));
+		// The method table of the parent was calculated as part of the table of the child.
+		Set<FrankMethod> parentMethods = new HashSet<>(Arrays.asList(child.getSuperclass().getDeclaredAndInheritedMethods()));
+		Set<FrankMethod> childMethods = new HashSet<>(Arrays.asList(second));
+		Set<String> childMethodNames = childMethods.stream().map(FrankMethod::getName).collect(Collectors.toSet());
+		for(FrankMethod parentMethod: parentMethods) {
+			assertTrue(String.format("Method [%s] was lost", parentMethod.getName()), childMethodNames.contains(parentMethod.getName()));
+		}
+	}
+
 	@Test
 	public void whenInterfaceDoesNotExtendOthersThenGetInterfacesReturnsEmptyArray() throws Exception{
 		FrankClass instance = classRepository.findClass(PACKAGE + "MyInterfaceGrandParent");
@@ -16,7 +16,6 @@ import { ElementAttributesComponent } from './views/element-attributes/element-a
 import { AttributeDescriptionComponent } from './views/attribute-description/attribute-description.component';
 import { AsTextPipe } from './pipes/as-text.pipe';
 import { JavadocPipe } from './pipes/javadoc.pipe';
-import { MatchElementPipe } from './pipes/match-element.pipe';
 
 @NgModule({
   declarations: [
@@ -32,7 +31,6 @@ import { MatchElementPipe } from './pipes/match-element.pipe';
     AttributeDescriptionComponent,
     AsTextPipe,
     JavadocPipe,
-    MatchElementPipe,
   ],
   imports: [BrowserModule, FormsModule, HttpClientModule, AppRoutingModule],
   providers: [],
@@ -1,20 +1,199 @@
 import { HttpClient } from '@angular/common/http';
-import { HttpClientTestingModule } from '@angular/common/http/testing';
+import {
+  HttpClientTestingModule,
+  HttpTestingController,
+} from '@angular/common/http/testing';
 import { TestBed } from '@angular/core/testing';
+import { environment } from 'src/environments/environment';
 
 import { AppService } from './app.service';
+import { Element } from './app.types';
+import { USE_WEB_WORKER } from './frankdoc-worker.service';
 
 describe('AppService', () => {
   let service: AppService;
+  let httpTesting: HttpTestingController;
 
   beforeEach(() => {
     TestBed.configureTestingModule({
       imports: [HttpClientTestingModule],
+      providers: [{ provide: USE_WEB_WORKER, useValue: false }],
     });
     service = TestBed.inject(AppService);
+    httpTesting = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => {
+    httpTesting.verify();
   });
 
   it('should be created', () => {
     expect(service).toBeTruthy();
   });
+
+  it('should fall back to frankdoc.json when there is no index', () => {
+    service.init();
+    httpTesting
+      .expectOne(environment.frankDocSearchIndexUrl)
+      .flush('', { status: 404, statusText: 'Not Found' });
+    httpTesting
+      .expectOne(environment.frankDocIndexUrl)
+      .flush('', { status: 404, statusText: 'Not Found' });
+    httpTesting.expectOne(environment.frankDocUrl).flush(
+      JSON.stringify({
+        metadata: { version: '1.2.3' },
+        groups: [],
+        types: [],
+        elements: [{ name: 'Echo', fullName: 'a.Echo', elementNames: [] }],
+        enums: [],
+      })
+    );
+
+    service.frankDoc$.subscribe((state) => {
+      expect(state.version).toBe('1.2.3');
+      expect(state.elements['a.Echo'].name).toBe('Echo');
+    });
+  });
+
+  it('should fall back to frankdoc.json when the index has no search index', () => {
+    service.init();
+    httpTesting
+      .expectOne(environment.frankDocSearchIndexUrl)
+      .flush('', { status: 404, statusText: 'Not Found' });
+    httpTesting.expectOne(environment.frankDocIndexUrl).flush(
+      JSON.stringify({
+        groups: [],
+        types: [],
+        elements: [{ name: 'Echo', fullName: 'a.Echo', shard: 'other' }],
+        enums: [],
+      })
+    );
+    httpTesting.expectOne(environment.frankDocUrl).flush(
+      JSON.stringify({
+        groups: [],
+        types: [],
+        elements: [
+          {
+            name: 'Echo',
+            fullName: 'a.Echo',
+            description: 'Returns its input',
+            elementNames: [],
+          },
+        ],
+        enums: [],
+      })
+    );
+
+    service.frankDoc$.subscribe((state) => {
+      expect(state.elements['a.Echo'].description).toBe('Returns its input');
+    });
+  });
+
+  it('should load the shards of an element and its ancestors once', () => {
+    service.init();
+    httpTesting
+      .expectOne(environment.frankDocSearchIndexUrl)
+      .flush(
+        JSON.stringify({ elements: ['a.EchoPipe'], tokens: { input: [0] } })
+      );
+    httpTesting.expectOne(environment.frankDocIndexUrl).flush(
+      JSON.stringify({
+        metadata: { version: '1.2.3' },
+        groups: [{ name: 'Pipes', types: ['IPipe'] }],
+        types: [{ name: 'IPipe', members: ['a.EchoPipe'] }],
+        elements: [
+          {
+            name: 'AbstractPipe',
+            fullName: 'a.AbstractPipe',
+            shard: 'other',
+          },
+          {
+            name: 'EchoPipe',
+            fullName: 'a.EchoPipe',
+            parent: 'a.AbstractPipe',
+            shard: 'pipes',
+          },
+        ],
+        enums: [],
+      })
+    );
+
+    // The placeholders of the elements in the index are searched with the search index
+    let matched: string[] | undefined;
+    service
+      .matchElements({ name: 'Pipes', types: ['IPipe'] }, 'input')
+      .subscribe((elementNames) => (matched = elementNames));
+    expect(matched).toEqual(['a.EchoPipe']);
+
+    let loaded: Element | undefined;
+    service
+      .loadElement('a.EchoPipe')
+      .subscribe((element) => (loaded = element));
+    httpTesting.expectOne(`${environment.frankDocShardsUrl}/pipes.json`).flush(
+      JSON.stringify({
+        elements: [
+          {
+            name: 'EchoPipe',
+            fullName: 'a.EchoPipe',
+            parent: 'a.AbstractPipe',
+            description: 'Returns its input',
+            elementNames: ['EchoPipe'],
+          },
+        ],
+      })
+    );
+    httpTesting.expectOne(`${environment.frankDocShardsUrl}/other.json`).flush(
+      JSON.stringify({
+        elements: [
+          {
+            name: 'AbstractPipe',
+            fullName: 'a.AbstractPipe',
+            elementNames: [],
+          },
+        ],
+      })
+    );
+    expect(loaded?.description).toBe('Returns its input');
+
+    // Loaded shards are not requested again
+    service.loadElement('a.EchoPipe').subscribe();
+  });
+
+  it('should match the elements of a group by the ones of their parents', () => {
+    service.init();
+    httpTesting
+      .expectOne(environment.frankDocSearchIndexUrl)
+      .flush('', { status: 404, statusText: 'Not Found' });
+    httpTesting
+      .expectOne(environment.frankDocIndexUrl)
+      .flush('', { status: 404, statusText: 'Not Found' });
+    httpTesting.expectOne(environment.frankDocUrl).flush(
+      JSON.stringify({
+        groups: [{ name: 'Pipes', types: ['IPipe'] }],
+        types: [{ name: 'IPipe', members: ['a.EchoPipe', 'a.XsltPipe'] }],
+        elements: [
+          {
+            name: 'AbstractPipe',
+            fullName: 'a.AbstractPipe',
+            description: 'Returns its input',
+            elementNames: [],
+          },
+          {
+            name: 'EchoPipe',
+            fullName: 'a.EchoPipe',
+            parent: 'a.AbstractPipe',
+            elementNames: ['EchoPipe'],
+          },
+          { name: 'XsltPipe', fullName: 'a.XsltPipe', elementNames: [] },
+        ],
+        enums: [],
+      })
+    );
+
+    let matched: string[] | undefined;
+    service
+      .matchElements({ name: 'Pipes', types: ['IPipe'] }, 'input')
+      .subscribe((elementNames) => (matched = elementNames));
+    expect(matched).toEqual(['a.EchoPipe']);
+  });
 });
@@ -2,9 +2,21 @@ import { KeyValue } from '@angular/common';
 import { HttpClient } from '@angular/common/http';
 import { Injectable, isDevMode } from '@angular/core';
 import { environment } from 'src/environments/environment';
-import { BehaviorSubject, Observable, catchError, throwError } from 'rxjs';
-import { AppState, Element, FrankDocState } from './app.types';
-import { FrankDoc, Group } from './frankdoc.types';
+import {
+  BehaviorSubject,
+  Observable,
+  Subscription,
+  catchError,
+  forkJoin,
+  map,
+  of,
+  shareReplay,
+  switchMap,
+  throwError,
+} from 'rxjs';
+import { AppState, Element, ParsedFrankDoc } from './app.types';
+import { Group } from './frankdoc.types';
+import { FrankDocWorkerService } from './frankdoc-worker.service';
 
 @Injectable({
   providedIn: 'root',
@@ -20,13 +32,54 @@ export class AppService {
     showInheritance: environment.showInheritance,
   };
   private frankDocStateSource = new BehaviorSubject<AppState>(this.emptyState);
+  // When the Frank!Doc is sharded, the elements that were not loaded yet and the shards that have them
+  private unloadedElementShards: Record<string, string> = {};
+  private loadedShards: Record<string, Observable<void>> = {};
+  private elementSubscription?: Subscription;
 
   frankDoc$ = this.frankDocStateSource.asObservable();
 
-  constructor(private http: HttpClient) {}
+  constructor(
+    private http: HttpClient,
+    private worker: FrankDocWorkerService
+  ) {}
 
-  private getFrankDoc(): Observable<FrankDoc> {
-    return this.http.get<FrankDoc>(environment.frankDocUrl);
+  // The JSON is fetched as text, so the Web Worker can parse it
+  private getJsonText(url: string): Observable<string> {
+    return this.http.get(url, { responseType: 'text' });
+  }
+
+  private getFrankDoc(): Observable<ParsedFrankDoc> {
+    return this.getJsonText(environment.frankDocUrl).pipe(
+      switchMap((json) => this.worker.request({ type: 'parseFrankDoc', json }))
+    );
+  }
+
+  private getFrankDocIndex(): Observable<ParsedFrankDoc> {
+    return this.getJsonText(environment.frankDocIndexUrl).pipe(
+      switchMap((json) =>
+        this.worker.request({ type: 'parseFrankDocIndex', json })
+      )
+    );
+  }
+
+  // Emits false when there is no search index
+  private getSearchIndex(): Observable<boolean> {
+    return this.getJsonText(environment.frankDocSearchIndexUrl).pipe(
+      switchMap((json) =>
+        this.worker.request({ type: 'parseSearchIndex', json })
+      ),
+      catchError(() => of(false)),
+      shareReplay(1)
+    );
+  }
+
+  private getFrankDocShard(shard: string): Observable<Element[]> {
+    return this.getJsonText(
+      `${environment.frankDocShardsUrl}/${shard}.json`
+    ).pipe(
+      switchMap((json) => this.worker.request({ type: 'parseShard', json }))
+    );
   }
 
   showHideDeprecated(): void {
@@ -38,45 +91,68 @@ export class AppService {
   }
 
   showHideInheritance(): void {
-    const state = this.frankDocStateSource.value;
-    const updatedElement = state.element
-      ? this.getOriginalOrInheritedElement(
-          !state.showInheritance,
-          state.element
-        )
-      : undefined;
-
-    this.frankDocStateSource.next({
-      ...state,
-      element: updatedElement,
-      showInheritance: !state.showInheritance,
-    });
+    const state = this.frankDocStateSource.value,
+      showInheritance = !state.showInheritance;
+    if (state.element) {
+      this.showElement(state.element.fullName, { showInheritance });
+      return;
+    }
+    this.frankDocStateSource.next({ ...state, showInheritance });
   }
 
   setGroupAndElement(group: Group, element?: Element): void {
-    const state = this.frankDocStateSource.value;
     if (element) {
-      if (state.showInheritance) {
-        const updatedElement = this.getOriginalOrInheritedElement(
-          state.showInheritance,
-          element
-        );
-        this.frankDocStateSource.next({
-          ...state,
-          group,
-          element: updatedElement,
-        });
-        return;
-      }
-      this.frankDocStateSource.next({ ...state, group, element: element });
+      this.showElement(element.fullName, { group });
       return;
     }
-    this.frankDocStateSource.next({ ...state, group });
+    this.frankDocStateSource.next({ ...this.frankDocStateSource.value, group });
+  }
+
+  // Only the last requested element is shown, also if an earlier one takes longer to load or flatten
+  private showElement(fullName: string, changes: Partial<AppState>): void {
+    this.elementSubscription?.unsubscribe();
+    this.elementSubscription = this.loadElement(fullName)
+      .pipe(
+        switchMap((element) =>
+          this.getOriginalOrInheritedElement(
+            changes.showInheritance ??
+              this.frankDocStateSource.value.showInheritance,
+            element
+          )
+        )
+      )
+      .subscribe({
+        next: (element) =>
+          this.frankDocStateSource.next({
+            ...this.frankDocStateSource.value,
+            ...changes,
+            element,
+          }),
+        error: (error) => console.error(error),
+      });
   }
 
   init(): void {
-    this.getFrankDoc()
+    const searchIndex$ = this.getSearchIndex();
+    // Without the optional search index, elements are searched by their JSON
+    searchIndex$.subscribe((found) => {
+      if (!found && isDevMode()) console.log('No search index');
+    });
+
+    this.getFrankDocIndex()
       .pipe(
+        // Until their shards are loaded, the elements of a sharded Frank!Doc cannot be searched by their JSON
+        switchMap((parsed) =>
+          searchIndex$.pipe(
+            map((found) => {
+              if (!found)
+                throw new Error('Sharded Frank!Doc needs a search index');
+              return parsed;
+            })
+          )
+        ),
+        // Only large Frank!Docs are sharded, otherwise there is just frankdoc.json
+        catchError(() => this.getFrankDoc()),
         catchError((errorResp) => {
           const loadError =
             errorResp.data && errorResp.data.error
@@ -87,38 +163,78 @@ export class AppService {
           return throwError(() => new Error(loadError));
         })
       )
-      .subscribe((data) => {
-        const distinctTypes = data.types.map((t) => t.name);
-        const newState: AppState = {
-          version:
-            data.metadata && data.metadata.version
-              ? data.metadata.version
-              : null,
-          groups: [{ name: 'All', types: distinctTypes }, ...data.groups],
-          types: data.types.reduce<FrankDocState['types']>((acc, currType) => {
-            acc[currType.name] = currType.members;
-            return acc;
-          }, {}),
-          elements: data.elements.reduce<FrankDocState['elements']>(
-            (acc, currElement) => {
-              acc[currElement.fullName] = currElement;
-              return acc;
-            },
-            {}
-          ),
-          enums: data.enums.reduce<FrankDocState['enums']>((acc, currEnum) => {
-            acc[currEnum.name] = currEnum.values;
-            return acc;
-          }, {}),
+      .subscribe((parsed) => {
+        this.unloadedElementShards = parsed.unloadedElementShards;
+        this.frankDocStateSource.next({
+          ...parsed.state,
+          version: parsed.version,
           showDeprecatedElements: false,
           showInheritance: true,
-        };
-
-        this.frankDocStateSource.next(newState);
+        });
         if (isDevMode()) console.log('State initialized');
       });
   }
 
+  /**
+   * Loads the shards with the element and its ancestors if they were not loaded yet,
+   * and emits the complete element.
+   */
+  loadElement(fullName: string): Observable<Element> {
+    const shards = this.getUnloadedShards(fullName);
+    if (shards.size === 0)
+      return of(this.frankDocStateSource.value.elements[fullName]);
+    return forkJoin([...shards].map((shard) => this.loadShard(shard))).pipe(
+      map(() => this.frankDocStateSource.value.elements[fullName])
+    );
+  }
+
+  private getUnloadedShards(fullName: string): Set<string> {
+    const elements = this.frankDocStateSource.value.elements,
+      shards = new Set<string>();
+    let elementName: string | undefined = fullName;
+    while (elementName) {
+      const shard = this.unloadedElementShards[elementName];
+      if (shard) shards.add(shard);
+      elementName = elements[elementName]?.parent;
+    }
+    return shards;
+  }
+
+  private loadShard(shard: string): Observable<void> {
+    this.loadedShards[shard] ??= this.getFrankDocShard(shard).pipe(
+      map((shardElements) => {
+        const state = this.frankDocStateSource.value,
+          elements = { ...state.elements };
+        for (const element of shardElements) {
+          elements[element.fullName] = element;
+          delete this.unloadedElementShards[element.fullName];
+        }
+        this.frankDocStateSource.next({ ...state, elements });
+      }),
+      catchError((errorResp) => {
+        delete this.loadedShards[shard]; // allow a retry
+        this.frankDocStateSource.next({
+          ...this.frankDocStateSource.value,
+          loadError: `Unable to load Frank!Doc shard ${shard}.`,
+        });
+        return throwError(() => errorResp);
+      }),
+      shareReplay(1)
+    );
+    return this.loadedShards[shard];
+  }
+
+  /**
+   * Full names of the elements of the group that match the search text, searched by the Web Worker.
+   */
+  matchElements(group: Group, searchText?: string): Observable<string[]> {
+    return this.worker.request({
+      type: 'match',
+      groupMembers: this.getGroupElements(group.types),
+      searchText,
+    });
+  }
+
   getGroupElements(groupTypes: string[]): string[] {
     const allTypes = this.frankDocStateSource.value.types;
     const elementNames = groupTypes.flatMap((type) => allTypes[type]);
@@ -140,55 +256,12 @@ export class AppService {
   getOriginalOrInheritedElement(
     showInheritance: boolean,
     element: Element
-  ): Element {
+  ): Observable<Element> {
     const state = this.frankDocStateSource.value;
     return showInheritance
-      ? this.flattenElements(element) // Merge inherited elements
-      : state.elements[element.fullName]; // Update the element to it's original state
-  }
-
-  flattenElements(element: Element): Element {
-    if (!element.parent) return element;
-
-    const allElements = this.frankDocStateSource.value.elements;
-    const flatElement: Element = { ...element };
-    const parent = allElements[flatElement.parent!];
-
-    //Add separator where attributes inherit from
-    if (parent.attributes && parent.attributes.length > 0) {
-      flatElement.attributes = [...(flatElement.attributes ?? [])]; // attributes was shallowcopied, so we need to spread it in order to use push properly
-      flatElement.attributes.push({ name: '', from: parent });
-    }
-
-    flatElement.attributes =
-      this.copyOf(flatElement.attributes, parent.attributes, 'name') ?? [];
-    flatElement.children =
-      this.copyOf(flatElement.children, parent.children, 'roleName') ?? [];
-    flatElement.parameters =
-      this.copyOf(flatElement.parameters, parent.parameters, 'name') ?? [];
-    flatElement.forwards =
-      this.copyOf(flatElement.forwards, parent.forwards, 'name') ?? [];
-
-    flatElement.parametersDescription ??= parent.parametersDescription;
-    flatElement.parent = parent.parent;
-
-    return this.flattenElements(flatElement);
-  }
-
-  copyOf<T>(
-    baseAttributes: T[] | undefined,
-    mergeAttributes: T[] | undefined,
-    fieldName: keyof T
-  ): T[] | null {
-    if (baseAttributes && !mergeAttributes) return baseAttributes;
-    else if (mergeAttributes && !baseAttributes) return mergeAttributes;
-    else if (!baseAttributes && !mergeAttributes) return null;
-
-    const filteredMergeAttributes = mergeAttributes!.filter(
-      (attribute) =>
-        !baseAttributes!.some((ba) => ba[fieldName] === attribute[fieldName])
-    );
-    return [...baseAttributes!, ...filteredMergeAttributes];
+      ? // Merge inherited elements
+        this.worker.request({ type: 'flatten', fullName: element.fullName })
+      : of(state.elements[element.fullName]); // Update the element to it's original state
   }
 
   orderBy<K, V>(fieldName: keyof V) {
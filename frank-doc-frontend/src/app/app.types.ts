@@ -21,6 +21,13 @@ export interface AppState extends FrankDocState {
   element?: Element;
 }
 
+export interface ParsedFrankDoc {
+  state: FrankDocState;
+  version: string | null;
+  // When the Frank!Doc is sharded, the elements that were not loaded yet and the shards that have them
+  unloadedElementShards: Record<string, string>;
+}
+
 export interface Types {
   [index: string]: string[];
 }
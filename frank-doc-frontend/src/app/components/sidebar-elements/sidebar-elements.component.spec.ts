@@ -1,6 +1,11 @@
 import { HttpClientTestingModule } from '@angular/common/http/testing';
+import { SimpleChange } from '@angular/core';
 import { ComponentFixture, TestBed } from '@angular/core/testing';
-import { MatchElementPipe } from 'src/app/pipes/match-element.pipe';
+import { RouterTestingModule } from '@angular/router/testing';
+import { of } from 'rxjs';
+import { AppService } from 'src/app/app.service';
+import { Elements } from 'src/app/app.types';
+import { USE_WEB_WORKER } from 'src/app/frankdoc-worker.service';
 
 import { SidebarElementsComponent } from './sidebar-elements.component';
 
@@ -10,8 +15,9 @@ describe('SidebarElementsComponent', () => {
 
   beforeEach(async () => {
     await TestBed.configureTestingModule({
-      imports: [HttpClientTestingModule],
-      declarations: [SidebarElementsComponent, MatchElementPipe],
+      imports: [HttpClientTestingModule, RouterTestingModule],
+      providers: [{ provide: USE_WEB_WORKER, useValue: false }],
+      declarations: [SidebarElementsComponent],
     }).compileComponents();
 
     fixture = TestBed.createComponent(SidebarElementsComponent);
@@ -22,4 +28,33 @@ describe('SidebarElementsComponent', () => {
   it('should create', () => {
     expect(component).toBeTruthy();
   });
+
+  it('should only render the elements around the visible ones', () => {
+    const elements: Elements = {};
+    for (let index = 0; index < 5000; index++) {
+      const name = `Pipe${String(index).padStart(4, '0')}`;
+      elements[`a.${name}`] = {
+        name,
+        fullName: `a.${name}`,
+        elementNames: [],
+      };
+    }
+    spyOn(TestBed.inject(AppService), 'matchElements').and.returnValue(
+      of(Object.keys(elements))
+    );
+    component.elements = elements;
+    component.group = { name: 'All', types: [] };
+    component.ngOnChanges({
+      elements: new SimpleChange(undefined, elements, true),
+    });
+    fixture.detectChanges();
+
+    const items: HTMLElement[] = Array.from(
+      fixture.nativeElement.querySelectorAll('li')
+    );
+    expect(component.listedElements.length).toBe(5000);
+    expect(items.length).toBe(component.renderEnd);
+    expect(items.length).toBeLessThan(5000);
+    expect(items[0].textContent?.trim()).toBe('Pipe0000');
+  });
 });
@@ -1,15 +1,29 @@
-import { KeyValue } from '@angular/common';
-import { Component, Input } from '@angular/core';
+import {
+  Component,
+  ElementRef,
+  Input,
+  NgZone,
+  OnChanges,
+  OnDestroy,
+  OnInit,
+  SimpleChanges,
+} from '@angular/core';
+import { Subscription } from 'rxjs';
 import { AppService } from 'src/app/app.service';
 import { Elements } from 'src/app/app.types';
 import { Group, Element } from 'src/app/frankdoc.types';
 
+// Height in pixels of an element link, see `.sidebar__elements a` in legacy.scss
+export const ELEMENT_HEIGHT = 23;
+// Rendered above and below the visible elements, so keyboard focus can move there
+const OVERSCAN = 10;
+
 @Component({
   selector: 'sidebar-elements',
   templateUrl: './sidebar-elements.component.html',
   styleUrls: ['./sidebar-elements.component.scss'],
 })
-export class SidebarElementsComponent {
+export class SidebarElementsComponent implements OnInit, OnChanges, OnDestroy {
   @Input() elements!: Elements;
   @Input() showDeprecatedElements!: boolean;
   @Input() showInheritance!: boolean;
@@ -17,10 +31,99 @@ export class SidebarElementsComponent {
   @Input() group?: Group;
   @Input() element?: Element;
 
-  constructor(private appService: AppService) {}
+  elementHeight = ELEMENT_HEIGHT;
+  matchedElements: Elements = {};
+  // Sorted by name, only the ones from renderStart to renderEnd are rendered
+  listedElements: Element[] = [];
+  renderStart = 0;
+  renderEnd = 0;
+
+  private matchSubscription?: Subscription;
+  private removeScrollListener?: () => void;
+
+  constructor(
+    private appService: AppService,
+    private host: ElementRef<HTMLElement>,
+    private ngZone: NgZone
+  ) {}
+
+  ngOnInit(): void {
+    // Scrolling only needs change detection when other elements have to be rendered
+    this.ngZone.runOutsideAngular(() => {
+      const onScroll = (): void => {
+        const renderStart = this.renderStart,
+          renderEnd = this.renderEnd;
+        this.updateRenderedRange();
+        if (this.renderStart !== renderStart || this.renderEnd !== renderEnd)
+          this.ngZone.run(() => {});
+      };
+      this.host.nativeElement.addEventListener('scroll', onScroll, {
+        passive: true,
+      });
+      this.removeScrollListener = (): void =>
+        this.host.nativeElement.removeEventListener('scroll', onScroll);
+    });
+  }
+
+  ngOnChanges(changes: SimpleChanges): void {
+    if (changes['elements'] || changes['search'] || changes['group'])
+      this.matchElements();
+    else if (changes['showDeprecatedElements']) this.listElements();
+  }
+
+  // Matched by the Web Worker, a new search discards the previous result
+  matchElements(): void {
+    this.matchSubscription?.unsubscribe();
+    const group = this.group;
+    if (!group) {
+      this.matchedElements = {}; //Cannot filter elements if no group has been selected
+      this.listElements();
+      return;
+    }
+    this.matchSubscription = this.appService
+      .matchElements(group, this.search)
+      .subscribe((elementNames) => {
+        this.matchedElements = elementNames.reduce<Elements>(
+          (acc, elementName) => {
+            const element = this.elements[elementName];
+            if (element) acc[elementName] = element;
+            return acc;
+          },
+          {}
+        );
+        this.listElements();
+      });
+  }
+
+  trackByFullName = (index: number, element: Element): string =>
+    element.fullName;
+
+  private listElements(): void {
+    this.listedElements = Object.entries(this.matchedElements)
+      .map(([key, value]) => ({ key, value }))
+      .sort(this.appService.orderBy<string, Element>('name'))
+      .map((keyValue) => keyValue.value)
+      .filter(
+        (element) => !element.deprecated || this.showDeprecatedElements
+      );
+    this.updateRenderedRange();
+  }
+
+  private updateRenderedRange(): void {
+    const firstVisible = Math.floor(
+        this.host.nativeElement.scrollTop / ELEMENT_HEIGHT
+      ),
+      // The list is never higher than the window
+      visibleCount = Math.ceil(window.innerHeight / ELEMENT_HEIGHT);
+    this.renderStart = Math.max(0, firstVisible - OVERSCAN);
+    this.renderEnd = Math.min(
+      this.listedElements.length,
+      firstVisible + visibleCount + OVERSCAN
+    );
+  }
 
-  orderBy = <K, V>(
-    fieldName: keyof V
-  ): ((keyValueA: KeyValue<K, V>, keyValueB: KeyValue<K, V>) => number) =>
-    this.appService.orderBy<K, V>(fieldName);
+  ngOnDestroy(): void {
+    this.matchSubscription?.unsubscribe();
+    this.removeScrollListener?.();
+  }
 }
@@ -0,0 +1,97 @@
+import { TestBed } from '@angular/core/testing';
+
+import {
+  FrankDocWorkerService,
+  USE_WEB_WORKER,
+} from './frankdoc-worker.service';
+import { FrankDoc } from './frankdoc.types';
+
+class FakeWorker extends EventTarget {
+  postMessage = jasmine.createSpy('postMessage');
+  terminate = jasmine.createSpy('terminate');
+}
+
+const frankDoc = {
+  groups: [],
+  types: [],
+  elements: [
+    {
+      name: 'Adapter',
+      fullName: 'org.frankframework.core.Adapter',
+      elementNames: ['Adapter'],
+    },
+  ],
+  enums: [],
+} as unknown as FrankDoc;
+
+describe('FrankDocWorkerService', () => {
+  let worker: FakeWorker;
+  let service: FrankDocWorkerService;
+
+  beforeEach(() => {
+    worker = new FakeWorker();
+    spyOn(window, 'Worker').and.returnValue(worker as unknown as Worker);
+    spyOn(console, 'error');
+    TestBed.configureTestingModule({
+      providers: [{ provide: USE_WEB_WORKER, useValue: true }],
+    });
+    service = TestBed.inject(FrankDocWorkerService);
+  });
+
+  it('should pass the response of the worker to the subscriber', () => {
+    let result: string[] | undefined;
+    service
+      .request({ type: 'match', groupMembers: [] })
+      .subscribe((r) => (result = r));
+    const { id } = worker.postMessage.calls.mostRecent().args[0];
+    worker.dispatchEvent(
+      new MessageEvent('message', { data: { id, result: ['x'] } })
+    );
+    expect(result).toEqual(['x']);
+  });
+
+  it('should fail pending requests and continue in the main thread when the worker fails', () => {
+    const json = JSON.stringify(frankDoc);
+    service.request({ type: 'parseFrankDoc', json }).subscribe();
+    const parseId = worker.postMessage.calls.mostRecent().args[0].id;
+    worker.dispatchEvent(
+      new MessageEvent('message', { data: { id: parseId, result: {} } })
+    );
+
+    let error: Error | undefined;
+    service
+      .request({ type: 'match', groupMembers: [] })
+      .subscribe({ error: (e) => (error = e) });
+    worker.dispatchEvent(
+      new ErrorEvent('error', { message: 'out of memory' })
+    );
+
+    expect(error?.message).toContain('out of memory');
+    expect(worker.terminate).toHaveBeenCalled();
+    const adapter = 'org.frankframework.core.Adapter';
+    let names: string[] | undefined;
+    service
+      .request({
+        type: 'match',
+        groupMembers: [adapter],
+        searchText: 'adapter',
+      })
+      .subscribe((r) => (names = r));
+    expect(names).toEqual([adapter]);
+    expect(worker.postMessage).toHaveBeenCalledTimes(2);
+  });
+
+  it('should continue in the main thread when a message of the worker cannot be read', () => {
+    let error: Error | undefined;
+    service
+      .request({ type: 'match', groupMembers: [] })
+      .subscribe({ error: (e) => (error = e) });
+    worker.dispatchEvent(new MessageEvent('messageerror'));
+    expect(error).toBeDefined();
+    let names: string[] | undefined;
+    service
+      .request({ type: 'match', groupMembers: [] })
+      .subscribe((r) => (names = r));
+    expect(names).toEqual([]);
+  });
+});
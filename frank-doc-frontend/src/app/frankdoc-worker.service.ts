@@ -0,0 +1,136 @@
+import { Inject, Injectable, InjectionToken, OnDestroy } from '@angular/core';
+import { Observable, Subscriber, defer, of } from 'rxjs';
+import { FrankDocWorkerHandler } from './frankdoc.state';
+import {
+  WorkerRequest,
+  WorkerRequestType,
+  WorkerRequests,
+  WorkerResponse,
+  WorkerResults,
+} from './worker.types';
+
+export const USE_WEB_WORKER = new InjectionToken<boolean>('USE_WEB_WORKER', {
+  providedIn: 'root',
+  factory: () => typeof Worker !== 'undefined',
+});
+
+/** The requests that fill the state of the {@link FrankDocWorkerHandler}. */
+const STATE_REQUEST_TYPES: WorkerRequestType[] = [
+  'parseFrankDoc',
+  'parseFrankDocIndex',
+  'parseShard',
+  'parseSearchIndex',
+];
+
+type PendingRequest = {
+  subscriber: Subscriber<unknown>;
+  request: WorkerRequest;
+};
+
+/**
+ * Parses, flattens and searches the Frank!Doc in a Web Worker, so the components stay responsive.
+ * Without Web Worker, the same is done in the main thread.
+ *
+ * When the Web Worker fails, the pending requests fail and the next requests are handled in the main
+ * thread. The state requests that the Web Worker did handle are repeated there, so the elements
+ * that were parsed before can still be flattened and searched.
+ */
+@Injectable({
+  providedIn: 'root',
+})
+export class FrankDocWorkerService implements OnDestroy {
+  private worker?: Worker;
+  private handler?: FrankDocWorkerHandler;
+  private nextId = 0;
+  private pending = new Map<number, PendingRequest>();
+  private handledStateRequests: WorkerRequest[] = [];
+
+  constructor(@Inject(USE_WEB_WORKER) useWebWorker: boolean) {
+    if (useWebWorker) {
+      try {
+        this.worker = new Worker(new URL('./frankdoc.worker', import.meta.url));
+        this.worker.addEventListener(
+          'message',
+          ({ data }: MessageEvent<WorkerResponse>) => this.handleResponse(data)
+        );
+        this.worker.addEventListener('error', (event) =>
+          this.fallBackToMainThread(event.message || 'Web Worker failed')
+        );
+        this.worker.addEventListener('messageerror', () =>
+          this.fallBackToMainThread('Could not read message of Web Worker')
+        );
+      } catch (error) {
+        this.fallBackToMainThread(String(error));
+      }
+    } else {
+      this.handler = new FrankDocWorkerHandler();
+    }
+  }
+
+  request<T extends WorkerRequestType>(
+    request: { type: T } & WorkerRequests[T]
+  ): Observable<WorkerResults[T]> {
+    return defer(() => {
+      const worker = this.worker;
+      if (!worker)
+        return of(
+          this.handler!.handle(request as WorkerRequest) as WorkerResults[T]
+        );
+      return new Observable<WorkerResults[T]>((subscriber) => {
+        const id = this.nextId++;
+        this.pending.set(id, {
+          subscriber: subscriber as Subscriber<unknown>,
+          request: request as WorkerRequest,
+        });
+        worker.postMessage({ id, request });
+        return () => this.pending.delete(id);
+      });
+    });
+  }
+
+  private handleResponse(response: WorkerResponse): void {
+    const pendingRequest = this.pending.get(response.id);
+    if (!pendingRequest) return; // unsubscribed before the worker was done
+    this.pending.delete(response.id);
+    const { subscriber, request } = pendingRequest;
+    if (response.error === undefined) {
+      this.rememberStateRequest(request);
+      subscriber.next(response.result);
+      subscriber.complete();
+    } else {
+      subscriber.error(new Error(response.error));
+    }
+  }
+
+  private rememberStateRequest(request: WorkerRequest): void {
+    if (!STATE_REQUEST_TYPES.includes(request.type)) return;
+    // These replace all elements the handler had before
+    if (
+      request.type === 'parseFrankDoc' ||
+      request.type === 'parseFrankDocIndex'
+    )
+      this.handledStateRequests = [];
+    this.handledStateRequests.push(request);
+  }
+
+  private fallBackToMainThread(reason: string): void {
+    if (this.handler) return;
+    console.error(
+      'Frank!Doc Web Worker failed, continuing in the main thread: ' + reason
+    );
+    this.worker?.terminate();
+    this.worker = undefined;
+    this.handler = new FrankDocWorkerHandler();
+    for (const request of this.handledStateRequests)
+      this.handler.handle(request);
+    this.handledStateRequests = [];
+    const pending = [...this.pending.values()];
+    this.pending.clear();
+    for (const { subscriber } of pending)
+      subscriber.error(new Error('Web Worker failed: ' + reason));
+  }
+
+  ngOnDestroy(): void {
+    this.worker?.terminate();
+  }
+}
@@ -0,0 +1,120 @@
+import { Element, Elements } from './app.types';
+import {
+  FrankDocWorkerHandler,
+  flattenElement,
+  matchElements,
+  searchElements,
+} from './frankdoc.state';
+import { SearchIndex } from './frankdoc.types';
+
+describe('FrankDocState', () => {
+  const parent: Element = {
+      name: 'AbstractPipe',
+      fullName: 'a.AbstractPipe',
+      elementNames: [],
+      attributes: [{ name: 'name' }, { name: 'active' }],
+      forwards: [{ name: 'success' }],
+    },
+    child: Element = {
+      name: 'EchoPipe',
+      fullName: 'a.EchoPipe',
+      parent: 'a.AbstractPipe',
+      elementNames: ['EchoPipe'],
+      attributes: [{ name: 'name', description: 'Overridden' }],
+    },
+    elements: Elements = {
+      'a.AbstractPipe': parent,
+      'a.EchoPipe': child,
+    };
+
+  it('should flatten an element the same way with an inheritance index', () => {
+    const merged = flattenElement(elements, child),
+      indexed = flattenElement(elements, {
+        ...child,
+        inheritance: {
+          attributes: [{ from: 'a.AbstractPipe', names: ['active'] }],
+          forwards: [{ from: 'a.AbstractPipe', names: ['success'] }],
+        },
+      });
+    expect(indexed.attributes).toEqual(merged.attributes);
+    expect(indexed.forwards).toEqual(merged.forwards);
+    expect(indexed.children).toEqual(merged.children);
+    expect(indexed.parent).toBeUndefined();
+  });
+
+  it('should search elements with the search index', () => {
+    const searchIndex: SearchIndex = {
+        elements: ['a.EchoPipe', 'a.FixedResultPipe'],
+        tokens: { echo: [0], fixed: [1], input: [0, 1], returns: [0, 1] },
+      },
+      searchTokens = Object.keys(searchIndex.tokens);
+
+    expect(searchElements(searchIndex, searchTokens, 'Returns inp')).toEqual(
+      new Set(['a.EchoPipe', 'a.FixedResultPipe'])
+    );
+    expect(searchElements(searchIndex, searchTokens, 'echo input')).toEqual(
+      new Set(['a.EchoPipe'])
+    );
+    expect(searchElements(searchIndex, searchTokens, 'xml')).toEqual(
+      new Set()
+    );
+    // Only the start of a token is matched
+    expect(searchElements(searchIndex, searchTokens, 'put')).toEqual(
+      new Set()
+    );
+  });
+
+  it('should search the tokens of the search index in sorted order', () => {
+    const handler = new FrankDocWorkerHandler(),
+      searchIndex: SearchIndex = {
+        elements: ['a.EchoPipe', 'a.XmlSwitch'],
+        tokens: { xmlswitch: [1], echopipe: [0], pipe: [0], echo: [0] },
+      };
+    handler.handle({
+      type: 'parseShard',
+      json: JSON.stringify({
+        elements: [
+          { name: 'EchoPipe', fullName: 'a.EchoPipe', elementNames: [] },
+          { name: 'XmlSwitch', fullName: 'a.XmlSwitch', elementNames: [] },
+        ],
+      }),
+    });
+    handler.handle({
+      type: 'parseSearchIndex',
+      json: JSON.stringify(searchIndex),
+    });
+    expect(
+      handler.handle({
+        type: 'match',
+        groupMembers: ['a.EchoPipe', 'a.XmlSwitch'],
+        searchText: 'pip',
+      })
+    ).toEqual(['a.EchoPipe']);
+  });
+
+  it('should match an element when its parent matches', () => {
+    const groupMembers = ['a.EchoPipe'];
+    expect(matchElements(elements, groupMembers, 'active')).toEqual([
+      'a.EchoPipe',
+    ]);
+    expect(matchElements(elements, groupMembers, 'xml')).toEqual([]);
+    expect(
+      matchElements(elements, groupMembers, 'xml', new Set(['a.AbstractPipe']))
+    ).toEqual(['a.EchoPipe']);
+  });
+
+  it('should keep shards that were parsed to flatten their elements', () => {
+    const handler = new FrankDocWorkerHandler();
+    handler.handle({
+      type: 'parseShard',
+      json: JSON.stringify({ elements: [parent, child] }),
+    });
+    const flatElement = handler.handle({
+      type: 'flatten',
+      fullName: 'a.EchoPipe',
+    }) as Element;
+    expect(flatElement.attributes?.map((attribute) => attribute.name)).toEqual(
+      ['name', '', 'active']
+    );
+  });
+});
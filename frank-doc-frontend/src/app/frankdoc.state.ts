@@ -0,0 +1,321 @@
+import { Element, Elements, FrankDocState, ParsedFrankDoc } from './app.types';
+import { FrankDoc, FrankDocIndex, SearchIndex } from './frankdoc.types';
+import {
+  WorkerRequest,
+  WorkerRequestType,
+  WorkerResults,
+} from './worker.types';
+
+/**
+ * Keeps a copy of the elements to flatten and search them. It runs in the Web Worker,
+ * or in the main thread when Web Workers are not available.
+ */
+export class FrankDocWorkerHandler {
+  private elements: Elements = {};
+  private searchIndex?: SearchIndex;
+  private searchTokens: string[] = [];
+
+  handle(request: WorkerRequest): WorkerResults[WorkerRequestType] {
+    switch (request.type) {
+      case 'parseFrankDoc': {
+        return this.setElements(parseFrankDoc(JSON.parse(request.json)));
+      }
+      case 'parseFrankDocIndex': {
+        return this.setElements(parseFrankDocIndex(JSON.parse(request.json)));
+      }
+      case 'parseShard': {
+        const elements: Element[] = JSON.parse(request.json).elements;
+        for (const element of elements)
+          this.elements[element.fullName] = element;
+        return elements;
+      }
+      case 'parseSearchIndex': {
+        const searchIndex: SearchIndex = JSON.parse(request.json);
+        this.searchIndex = searchIndex;
+        this.searchTokens = Object.keys(searchIndex.tokens).sort();
+        return true;
+      }
+      case 'flatten': {
+        return flattenElement(this.elements, this.elements[request.fullName]);
+      }
+      case 'match': {
+        const searchMatches =
+          this.searchIndex && request.searchText
+            ? searchElements(
+                this.searchIndex,
+                this.searchTokens,
+                request.searchText
+              )
+            : null;
+        return matchElements(
+          this.elements,
+          request.groupMembers,
+          request.searchText,
+          searchMatches
+        );
+      }
+    }
+  }
+
+  private setElements(parsed: ParsedFrankDoc): ParsedFrankDoc {
+    this.elements = { ...parsed.state.elements };
+    return parsed;
+  }
+}
+
+export function parseFrankDoc(data: FrankDoc): ParsedFrankDoc {
+  const elements = data.elements.reduce<FrankDocState['elements']>(
+    (acc, currElement) => {
+      acc[currElement.fullName] = currElement;
+      return acc;
+    },
+    {}
+  );
+  return {
+    state: createState(data, elements),
+    version: getVersion(data),
+    unloadedElementShards: {},
+  };
+}
+
+export function parseFrankDocIndex(index: FrankDocIndex): ParsedFrankDoc {
+  const unloadedElementShards: Record<string, string> = {};
+  // Until their shards are loaded, the elements only have the properties needed to list them.
+  // They are searched with the search index, which is required when the Frank!Doc is sharded.
+  const elements = index.elements.reduce<FrankDocState['elements']>(
+    (acc, summary) => {
+      acc[summary.fullName] = {
+        name: summary.name,
+        fullName: summary.fullName,
+        deprecated: summary.deprecated,
+        parent: summary.parent,
+        elementNames: [],
+      };
+      unloadedElementShards[summary.fullName] = summary.shard;
+      return acc;
+    },
+    {}
+  );
+  return {
+    state: createState(index, elements),
+    version: getVersion(index),
+    unloadedElementShards,
+  };
+}
+
+function getVersion(data: FrankDoc | FrankDocIndex): string | null {
+  return data.metadata && data.metadata.version ? data.metadata.version : null;
+}
+
+function createState(
+  data: FrankDoc | FrankDocIndex,
+  elements: Elements
+): FrankDocState {
+  const distinctTypes = data.types.map((t) => t.name);
+  return {
+    groups: [{ name: 'All', types: distinctTypes }, ...data.groups],
+    types: data.types.reduce<FrankDocState['types']>((acc, currType) => {
+      acc[currType.name] = currType.members;
+      return acc;
+    }, {}),
+    elements,
+    enums: data.enums.reduce<FrankDocState['enums']>((acc, currEnum) => {
+      acc[currEnum.name] = currEnum.values;
+      return acc;
+    }, {}),
+  };
+}
+
+export function flattenElement(elements: Elements, element: Element): Element {
+  if (element.inheritance) return applyInheritance(elements, element);
+  if (!element.parent) return element;
+
+  const flatElement: Element = { ...element };
+  const parent = elements[flatElement.parent!];
+
+  //Add separator where attributes inherit from
+  if (parent.attributes && parent.attributes.length > 0) {
+    flatElement.attributes = [...(flatElement.attributes ?? [])]; // attributes was shallowcopied, so we need to spread it in order to use push properly
+    flatElement.attributes.push({ name: '', from: parent });
+  }
+
+  flatElement.attributes =
+    copyOf(flatElement.attributes, parent.attributes, 'name') ?? [];
+  flatElement.children =
+    copyOf(flatElement.children, parent.children, 'roleName') ?? [];
+  flatElement.parameters =
+    copyOf(flatElement.parameters, parent.parameters, 'name') ?? [];
+  flatElement.forwards =
+    copyOf(flatElement.forwards, parent.forwards, 'name') ?? [];
+
+  flatElement.parametersDescription ??= parent.parametersDescription;
+  flatElement.parent = parent.parent;
+
+  return flattenElement(elements, flatElement);
+}
+
+// Same result as merging along the parents, but the doclet already worked out which items are inherited
+function applyInheritance(elements: Elements, element: Element): Element {
+  const inheritance = element.inheritance!,
+    flatElement: Element = { ...element, parent: undefined };
+
+  flatElement.attributes = [...(element.attributes ?? [])];
+  for (const inherited of inheritance.attributes ?? []) {
+    const ancestor = elements[inherited.from];
+    flatElement.attributes.push(
+      { name: '', from: ancestor },
+      ...pick(ancestor.attributes, inherited.names, 'name')
+    );
+  }
+  flatElement.children = [
+    ...(element.children ?? []),
+    ...(inheritance.children ?? []).flatMap((inherited) =>
+      pick(elements[inherited.from].children, inherited.names, 'roleName')
+    ),
+  ];
+  flatElement.parameters = [
+    ...(element.parameters ?? []),
+    ...(inheritance.parameters ?? []).flatMap((inherited) =>
+      pick(elements[inherited.from].parameters, inherited.names, 'name')
+    ),
+  ];
+  flatElement.forwards = [
+    ...(element.forwards ?? []),
+    ...(inheritance.forwards ?? []).flatMap((inherited) =>
+      pick(elements[inherited.from].forwards, inherited.names, 'name')
+    ),
+  ];
+  if (inheritance.parametersDescriptionFrom)
+    flatElement.parametersDescription ??=
+      elements[inheritance.parametersDescriptionFrom].parametersDescription;
+
+  return flatElement;
+}
+
+function pick<T>(
+  items: T[] | undefined,
+  names: string[],
+  fieldName: keyof T
+): T[] {
+  const nameSet = new Set<unknown>(names);
+  return (items ?? []).filter((item) => nameSet.has(item[fieldName]));
+}
+
+export function copyOf<T>(
+  baseAttributes: T[] | undefined,
+  mergeAttributes: T[] | undefined,
+  fieldName: keyof T
+): T[] | null {
+  if (baseAttributes && !mergeAttributes) return baseAttributes;
+  else if (mergeAttributes && !baseAttributes) return mergeAttributes;
+  else if (!baseAttributes && !mergeAttributes) return null;
+
+  const baseFieldValues = new Set(
+    baseAttributes!.map((attribute) => attribute[fieldName])
+  );
+  const filteredMergeAttributes = mergeAttributes!.filter(
+    (attribute) => !baseFieldValues.has(attribute[fieldName])
+  );
+  return [...baseAttributes!, ...filteredMergeAttributes];
+}
+
+/**
+ * Full names of the elements that have, for every word of the search text, a token that starts with that word.
+ * The words can match different tokens, so "echo input" finds an element with "echo" in its name and "input" in
+ * its description. The search index also has the parts of camel case words as tokens, so "pipe" finds "EchoPipe".
+ *
+ * @param searchTokens The tokens of the search index, sorted.
+ */
+export function searchElements(
+  searchIndex: SearchIndex,
+  searchTokens: string[],
+  searchText: string
+): Set<string> {
+  const words = searchText
+    .toLowerCase()
+    .split(/[^\p{L}\p{N}]+/u)
+    .filter((word) => word !== '');
+  let matchedIds: Set<number> | undefined;
+  for (const word of words) {
+    const wordIds = new Set<number>();
+    for (
+      let index = findFirstToken(searchTokens, word);
+      index < searchTokens.length && searchTokens[index].startsWith(word);
+      index++
+    ) {
+      for (const id of searchIndex.tokens[searchTokens[index]])
+        wordIds.add(id);
+    }
+    matchedIds = matchedIds
+      ? new Set([...matchedIds].filter((id) => wordIds.has(id)))
+      : wordIds;
+  }
+  return new Set([...(matchedIds ?? [])].map((id) => searchIndex.elements[id]));
+}
+
+/**
+ * The index of the first token that is not smaller than the word, found by binary search.
+ */
+function findFirstToken(sortedTokens: string[], word: string): number {
+  let low = 0;
+  let high = sortedTokens.length;
+  while (low < high) {
+    const middle = (low + high) >>> 1;
+    if (sortedTokens[middle] < word) low = middle + 1;
+    else high = middle;
+  }
+  return low;
+}
+
+/**
+ * The group members that match the search text. An element matches if the element itself or one of its
+ * ancestors has the search text. Without search matches from the search index, the JSON of the elements is searched.
+ */
+export function matchElements(
+  elements: Elements,
+  groupMembers: string[],
+  searchText?: string,
+  searchMatches?: Set<string> | null
+): string[] {
+  const searchTerm =
+    searchText && searchText != '' ? searchText.toLowerCase() : undefined;
+  if (!searchTerm) return groupMembers;
+  const isMatch = searchMatches
+    ? (elementName: string) => searchMatches.has(elementName)
+    : (elementName: string) =>
+        elementToJSON(elements[elementName]).includes(searchTerm);
+  const matchCache: Record<string, boolean> = {};
+  return groupMembers.filter((elementName) =>
+    isMatchOrHasMatchingParent(elements, elementName, isMatch, matchCache)
+  );
+}
+
+function isMatchOrHasMatchingParent(
+  elements: Elements,
+  elementName: string,
+  isMatch: (elementName: string) => boolean,
+  matchCache: Record<string, boolean>
+): boolean {
+  // caches the result for the element and the parents that were visited
+  const visited: string[] = [];
+  let name: string | undefined = elementName,
+    result = false;
+  while (name && elements[name]) {
+    if (name in matchCache) {
+      result = matchCache[name];
+      break;
+    }
+    visited.push(name);
+    if (isMatch(name)) {
+      result = true;
+      break;
+    }
+    name = elements[name].parent;
+  }
+  for (const visitedName of visited) matchCache[visitedName] = result;
+  return result;
+}
+
+function elementToJSON(element: Element): string {
+  return JSON.stringify(element).replace(/"/g, '').toLowerCase();
+}
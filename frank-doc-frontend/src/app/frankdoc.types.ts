@@ -6,6 +6,26 @@ export interface FrankDoc {
   enums: Enum[];
 }
 
+export interface FrankDocIndex {
+  metadata: Metadata;
+  groups: Group[];
+  types: TypeElement[];
+  elements: ElementSummary[];
+  enums: Enum[];
+}
+
+export interface FrankDocShard {
+  elements: Element[];
+}
+
+export interface ElementSummary {
+  name: string;
+  fullName: string;
+  deprecated?: boolean;
+  parent?: string;
+  shard: string;
+}
+
 export interface Element {
   name: string;
   fullName: string;
@@ -19,6 +39,20 @@ export interface Element {
   deprecated?: boolean;
   parameters?: ParsedTag[];
   parametersDescription?: string;
+  inheritance?: Inheritance;
+}
+
+export interface Inheritance {
+  attributes?: Inherited[];
+  children?: Inherited[];
+  parameters?: Inherited[];
+  forwards?: Inherited[];
+  parametersDescriptionFrom?: string;
+}
+
+export interface Inherited {
+  from: string;
+  names: string[];
 }
 
 export interface Attribute {
@@ -75,3 +109,8 @@ export interface TypeElement {
   name: string;
   members: string[];
 }
+
+export interface SearchIndex {
+  elements: string[];
+  tokens: Record<string, number[]>;
+}
@@ -0,0 +1,16 @@
+/// <reference lib="webworker" />
+
+import { FrankDocWorkerHandler } from './frankdoc.state';
+import { WorkerMessage, WorkerResponse } from './worker.types';
+
+const handler = new FrankDocWorkerHandler();
+
+addEventListener('message', ({ data }: MessageEvent<WorkerMessage>) => {
+  let response: WorkerResponse;
+  try {
+    response = { id: data.id, result: handler.handle(data.request) };
+  } catch (error) {
+    response = { id: data.id, error: String(error) };
+  }
+  postMessage(response);
+});
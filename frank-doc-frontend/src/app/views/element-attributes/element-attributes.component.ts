@@ -1,19 +1,87 @@
-import { Component, Input } from '@angular/core';
+import {
+  AfterViewInit,
+  ChangeDetectorRef,
+  Component,
+  ElementRef,
+  Input,
+  NgZone,
+  OnChanges,
+  OnDestroy,
+  SimpleChanges,
+  ViewChild,
+} from '@angular/core';
 import { AppService } from 'src/app/app.service';
 import { Attribute, Elements } from 'src/app/app.types';
 
+// Attribute rows have different heights, so more rows are rendered when the end of the table comes near
+const RENDER_BATCH_SIZE = 50;
+
 @Component({
   selector: 'element-attributes',
   templateUrl: './element-attributes.component.html',
   styleUrls: ['./element-attributes.component.scss'],
 })
-export class ElementAttributesComponent {
+export class ElementAttributesComponent
+  implements OnChanges, AfterViewInit, OnDestroy
+{
   @Input() elements!: Elements;
   @Input() attributes!: Attribute[];
   @Input() showDeprecatedElements!: boolean;
 
-  constructor(private appService: AppService) {}
+  @ViewChild('renderMore') renderMore?: ElementRef<HTMLElement>;
+
+  renderedCount = RENDER_BATCH_SIZE;
+
+  private observer?: IntersectionObserver;
+
+  constructor(
+    private appService: AppService,
+    private changeDetector: ChangeDetectorRef,
+    private ngZone: NgZone
+  ) {}
 
   javaDocUrlOf = (fullName: string): string | null =>
     this.appService.javaDocUrlOf(fullName);
+
+  ngOnChanges(changes: SimpleChanges): void {
+    if (!changes['attributes']) return;
+    this.renderedCount =
+      typeof IntersectionObserver === 'undefined'
+        ? Number.POSITIVE_INFINITY
+        : RENDER_BATCH_SIZE;
+    this.observeRenderMore();
+  }
+
+  ngAfterViewInit(): void {
+    const renderMore = this.renderMore?.nativeElement;
+    if (!renderMore || typeof IntersectionObserver === 'undefined') return;
+    this.observer = new IntersectionObserver(
+      (entries) => {
+        if (
+          !entries.some((entry) => entry.isIntersecting) ||
+          this.renderedCount >= (this.attributes?.length ?? 0)
+        )
+          return;
+        this.ngZone.run(() => {
+          this.renderedCount += RENDER_BATCH_SIZE;
+          this.changeDetector.detectChanges();
+        });
+        this.observeRenderMore();
+      },
+      { rootMargin: '500px' }
+    );
+    this.observer.observe(renderMore);
+  }
+
+  // Observing again reports the intersection again if the rendered rows do not fill the window
+  private observeRenderMore(): void {
+    const renderMore = this.renderMore?.nativeElement;
+    if (!this.observer || !renderMore) return;
+    this.observer.unobserve(renderMore);
+    this.observer.observe(renderMore);
+  }
+
+  ngOnDestroy(): void {
+    this.observer?.disconnect();
+  }
 }
@@ -0,0 +1,40 @@
+import { Element, ParsedFrankDoc } from './app.types';
+
+/**
+ * The requests that the Frank!Doc Web Worker handles. JSON is passed as text, so that
+ * parsing it does not block the main thread.
+ */
+export interface WorkerRequests {
+  parseFrankDoc: { json: string };
+  parseFrankDocIndex: { json: string };
+  parseShard: { json: string };
+  parseSearchIndex: { json: string };
+  flatten: { fullName: string };
+  match: { groupMembers: string[]; searchText?: string };
+}
+
+export interface WorkerResults {
+  parseFrankDoc: ParsedFrankDoc;
+  parseFrankDocIndex: ParsedFrankDoc;
+  parseShard: Element[];
+  parseSearchIndex: boolean;
+  flatten: Element;
+  match: string[];
+}
+
+export type WorkerRequestType = keyof WorkerRequests;
+
+export type WorkerRequest<T extends WorkerRequestType = WorkerRequestType> = {
+  [K in T]: { type: K } & WorkerRequests[K];
+}[T];
+
+export interface WorkerMessage {
+  id: number;
+  request: WorkerRequest;
+}
+
+export interface WorkerResponse {
+  id: number;
+  result?: WorkerResults[WorkerRequestType];
+  error?: string;
+}
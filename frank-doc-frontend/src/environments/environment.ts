@@ -4,4 +4,7 @@ export const environment = {
   xsdUrl: '/xml/xsd/FrankConfig.xsd',
   javadocBaseUrl: 'https://javadoc.frankframework.org',
   frankDocUrl: '/js/frankdoc.json',
+  frankDocIndexUrl: '/js/frankdoc/index.json',
+  frankDocShardsUrl: '/js/frankdoc/elements',
+  frankDocSearchIndexUrl: '/js/frankdoc-search.json',
 };